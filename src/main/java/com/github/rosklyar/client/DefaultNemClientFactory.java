@@ -2,29 +2,54 @@ package com.github.rosklyar.client;
 
 import com.github.rosklyar.client.account.AccountClient;
 import com.github.rosklyar.client.account.FeignAccountClient;
+import com.github.rosklyar.client.balance.LatencyAwareBalancer;
 import com.github.rosklyar.client.blockchain.BlockchainClient;
 import com.github.rosklyar.client.blockchain.FeignBlockchainClient;
+import com.github.rosklyar.client.bulkhead.Bulkheads;
+import com.github.rosklyar.client.json.JsonBytesDecoder;
+import com.github.rosklyar.client.json.NemObjectMapper;
 import com.github.rosklyar.client.mosaic.FeignMosaicClient;
 import com.github.rosklyar.client.mosaic.MosaicClient;
 import com.github.rosklyar.client.node.FeignNodeClient;
+import com.github.rosklyar.client.node.NetworkClock;
 import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.NodeNetworkClock;
+import com.github.rosklyar.client.retry.Retries;
 import com.github.rosklyar.client.status.FeignStatusClient;
+import com.github.rosklyar.client.stream.FeignStreamingClient;
+import com.github.rosklyar.client.stream.StreamingClient;
 import com.github.rosklyar.client.status.StatusClient;
 import com.github.rosklyar.client.transaction.FeignTransactionClient;
 import com.github.rosklyar.client.transaction.SecureTransactionClient;
 import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.broadcast.BroadcastOutcome;
+import com.github.rosklyar.client.transaction.broadcast.BroadcastTransactionClient;
 import com.github.rosklyar.client.transaction.encode.*;
 import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
 import com.github.rosklyar.client.transaction.fee.FeeCalculator;
+import com.github.rosklyar.client.transaction.limit.AdaptiveAnnounceClient;
+import com.github.rosklyar.client.transaction.limit.AnnounceLimiter;
+import com.github.rosklyar.client.transaction.preflight.PreflightValidator;
 import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
 import com.github.rosklyar.client.transaction.version.Network;
 import com.github.rosklyar.client.transaction.version.VersionProvider;
+import com.github.rosklyar.client.transport.AsyncHttpTransport;
+import com.github.rosklyar.client.transport.HttpTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
 import feign.Feign;
-import feign.jackson.JacksonDecoder;
+import feign.Request;
+import feign.Retryer;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
 import feign.jackson.JacksonEncoder;
 import feign.ribbon.RibbonClient;
 
-import static feign.hystrix.HystrixFeign.builder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import static java.lang.String.format;
 
 public class DefaultNemClientFactory implements NemClientFactory {
@@ -32,88 +57,130 @@ public class DefaultNemClientFactory implements NemClientFactory {
     public final static Network MAIN = new Network(0x68, "NAMESPACEWH4MKFMBCVFERDPOOP4FK7MTBXDPZZA", "NBMOSAICOD4F54EE5CDMR23CCBGOAM2XSIUX6TRS");
     public final static Network TEST = new Network(0x98, "TAMESPACEWH4MKFMBCVFERDPOOP4FK7MTDJEYP35", "TBMOSAICOD4F54EE5CDMR23CCBGOAM2XSJBR5OLC");
 
+
+    private final Client client;
+    private final Request.Options options;
+    private final AnnounceLimiter announceLimiter;
+    private final ObjectMapper objectMapper;
+    private final Encoder encoder;
+    private final Decoder decoder;
+    private final Bulkheads bulkheads;
+    private final LatencyAwareBalancer balancer;
+    private final Retries retries;
+
+    public DefaultNemClientFactory() {
+        this(NemClientFactoryConfig.builder().build());
+    }
+
+    public DefaultNemClientFactory(NemClientFactoryConfig config) {
+        this.client = config.client;
+        this.options = config.options;
+        this.announceLimiter = config.announceLimiter;
+        this.objectMapper = config.objectMapper;
+        this.encoder = new JacksonEncoder(objectMapper);
+        this.decoder = new JsonBytesDecoder(objectMapper);
+        this.bulkheads = config.bulkheads;
+        this.balancer = config.balancer;
+        this.retries = config.retries;
+    }
+
     @Override
     public StatusClient createStatusClient(String configurationPrefix) {
         return builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignStatusClient.class, format("http://%s", configurationPrefix));
     }
 
     @Override
     public StatusClient simpleStatusClient(String url) {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignStatusClient.class, url);
     }
 
     @Override
     public AccountClient createAccountClient(String configurationPrefix) {
         return builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignAccountClient.class, format("http://%s", configurationPrefix));
     }
 
     @Override
     public AccountClient simpleAccountClient(String url) {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignAccountClient.class, url);
     }
 
     @Override
     public BlockchainClient createBlockchainClient(String configurationPrefix) {
         return builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignBlockchainClient.class, format("http://%s", configurationPrefix));
     }
 
     @Override
     public BlockchainClient simpleBlockchainClient(String url) {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignBlockchainClient.class, url);
     }
 
     @Override
     public NodeClient createNodeClient(String configurationPrefix) {
         return builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignNodeClient.class, format("http://%s", configurationPrefix));
     }
 
     @Override
     public NodeClient simpleNodeClient(String url) {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignNodeClient.class, url);
     }
 
     @Override
     public MosaicClient createMosaicClient(String configurationPrefix) {
         return builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignMosaicClient.class, format("http://%s", configurationPrefix));
     }
 
     @Override
     public MosaicClient simpleMosaicClient(String url) {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignMosaicClient.class, url);
     }
 
@@ -123,31 +190,109 @@ public class DefaultNemClientFactory implements NemClientFactory {
                                                      MosaicClient mosaicClient,
                                                      AccountClient accountClient,
                                                      NodeClient nodeClient) {
-        FeignTransactionClient feignTransactionClient = builder()
-                .client(RibbonClient.create())
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
-                .target(FeignTransactionClient.class, format("http://%s", configurationPrefix));
-        HexConverter hexConverter = new DefaultHexConverter();
-        ByteSerializer byteSerializer = new DefaultByteSerializer(hexConverter);
-        TransactionEncoder transactionEncoder = new ByteArrayTransactionEncoder(byteSerializer, hexConverter);
-        VersionProvider versionProvider = new DefaultVersionProvider();
         FeeCalculator feeCalculator = new DefaultFeeCalculator(mosaicClient, accountClient);
-        return new SecureTransactionClient(network, feignTransactionClient, transactionEncoder, hexConverter, versionProvider, feeCalculator, nodeClient);
+        return transactionClient(createFeignTransactionClient(configurationPrefix), network, feeCalculator, new NodeNetworkClock(nodeClient, 0), null);
     }
 
     @Override
     public TransactionClient simpleTransactionClient(String url, Network network) {
-        FeignTransactionClient feignTransactionClient = Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+        return simpleTransactionClient(simpleFeignTransactionClient(url), url, network);
+    }
+
+    /**
+     * Signs transactions and announces them through {@code broadcastClient}, which the caller closes when done.
+     *
+     * @param url node the fee calculator and the network clock read from
+     */
+    public TransactionClient broadcastTransactionClient(BroadcastTransactionClient broadcastClient, String url, Network network) {
+        return simpleTransactionClient(broadcastClient, url, network);
+    }
+
+    public BroadcastTransactionClient createBroadcastClient(List<String> urls, int fanout, long stragglerTimeoutMillis, Consumer<BroadcastOutcome> diagnostics) {
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        urls.forEach(url -> nodes.put(url, simpleFeignTransactionClient(url)));
+        return new BroadcastTransactionClient(nodes, fanout, stragglerTimeoutMillis, diagnostics);
+    }
+
+    public StreamingClient createStreamingClient(String configurationPrefix) {
+        FeignStreamingClient feignStreamingClient = builder()
+                .client(retries.client(ribbonClient(client())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
+                .target(FeignStreamingClient.class, format("http://%s", configurationPrefix));
+        return new StreamingClient(feignStreamingClient, objectMapper);
+    }
+
+    public StreamingClient simpleStreamingClient(String url) {
+        FeignStreamingClient feignStreamingClient = simpleBuilder()
+                .client(retries.client(client()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
+                .target(FeignStreamingClient.class, url);
+        return new StreamingClient(feignStreamingClient, objectMapper);
+    }
+
+    FeignTransactionClient createFeignTransactionClient(String configurationPrefix) {
+        return builder()
+                .client(retries.client(ribbonClient(announceClient())))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
+                .target(FeignTransactionClient.class, format("http://%s", configurationPrefix));
+    }
+
+    FeignTransactionClient simpleFeignTransactionClient(String url) {
+        return simpleBuilder()
+                .client(retries.client(announceClient()))
+                .options(options())
+                .encoder(encoder)
+                .decoder(decoder)
                 .target(FeignTransactionClient.class, url);
+    }
 
+    TransactionClient transactionClient(FeignTransactionClient feignTransactionClient,
+                                        Network network,
+                                        FeeCalculator feeCalculator,
+                                        NetworkClock networkClock,
+                                        PreflightValidator preflightValidator) {
         HexConverter hexConverter = new DefaultHexConverter();
         ByteSerializer byteSerializer = new DefaultByteSerializer(hexConverter);
         TransactionEncoder transactionEncoder = new ByteArrayTransactionEncoder(byteSerializer, hexConverter);
         VersionProvider versionProvider = new DefaultVersionProvider();
+        return new SecureTransactionClient(network, feignTransactionClient, transactionEncoder, hexConverter, versionProvider, feeCalculator, networkClock, preflightValidator);
+    }
+
+    private TransactionClient simpleTransactionClient(FeignTransactionClient feignTransactionClient, String url, Network network) {
         FeeCalculator feeCalculator = new DefaultFeeCalculator(simpleMosaicClient(url), simpleAccountClient(url));
-        return new SecureTransactionClient(network, feignTransactionClient, transactionEncoder, hexConverter, versionProvider, feeCalculator, simpleNodeClient(url));
+        return transactionClient(feignTransactionClient, network, feeCalculator, new NodeNetworkClock(simpleNodeClient(url), 0), null);
+    }
+
+    private Feign.Builder builder() {
+        return simpleBuilder().invocationHandlerFactory(bulkheads);
+    }
+
+    private Feign.Builder simpleBuilder() {
+        return Feign.builder().retryer(Retryer.NEVER_RETRY);
+    }
+
+    private Client ribbonClient(Client delegate) {
+        if (balancer == null) {
+            return RibbonClient.builder().delegate(delegate).build();
+        }
+        return RibbonClient.builder().delegate(balancer.client(delegate)).lbClientFactory(balancer).build();
+    }
+
+    private Client client() {
+        return client;
+    }
+
+    private Client announceClient() {
+        return announceLimiter == null ? client() : new AdaptiveAnnounceClient(client(), announceLimiter, objectMapper);
+    }
+
+    private Request.Options options() {
+        return options;
     }
 }
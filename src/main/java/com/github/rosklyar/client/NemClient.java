@@ -0,0 +1,269 @@
+package com.github.rosklyar.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.balance.ChainFreshnessMonitor;
+import com.github.rosklyar.client.balance.LatencyAwareBalancer;
+import com.github.rosklyar.client.balance.NodePool;
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.bulkhead.Bulkheads;
+import com.github.rosklyar.client.cache.ChainHead;
+import com.github.rosklyar.client.cache.ResponseCache;
+import com.github.rosklyar.client.hedge.HedgeBudget;
+import com.github.rosklyar.client.hedge.Hedger;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import com.github.rosklyar.client.mosaic.MosaicClient;
+import com.github.rosklyar.client.node.NetworkClock;
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.NodeNetworkClock;
+import com.github.rosklyar.client.retry.Retries;
+import com.github.rosklyar.client.retry.RetryPolicy;
+import com.github.rosklyar.client.status.StatusClient;
+import com.github.rosklyar.client.stream.StreamingClient;
+import com.github.rosklyar.client.transaction.FeignTransactionClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.preflight.AccountBalanceCache;
+import com.github.rosklyar.client.transaction.preflight.PreflightValidator;
+import com.github.rosklyar.client.transport.HttpTransport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * All NEM clients built once from a {@link NemClientConfig}. The clients share one pooled {@link HttpTransport}, one
+ * {@link ObjectMapper}, one {@link NetworkClock}, one {@link AccountBalanceCache}, the {@link Bulkheads} isolating
+ * announces and heavy reads, one retry budget and optionally one {@link ResponseCache}; {@link #close()} releases them.
+ * <p>
+ * With {@link NemClientConfig#url} set every client talks to that node, otherwise the clients are balanced by Ribbon
+ * using the configured prefixes, by latency across the configured and discovered nodes with
+ * {@link NemClientConfig#latencyAwareBalancing}, or by latency across the best nodes of a {@link NodePool} grown from
+ * {@link NemClientConfig#seeds}, leaving out nodes more than {@link NemClientConfig#maxChainLagBlocks} behind. Balanced
+ * clients can hedge their latency-critical reads within {@link NemClientConfig#hedgeBudgetPercent} of extra calls.
+ */
+public class NemClient implements Closeable {
+
+    private final HttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final Bulkheads bulkheads;
+    private final Retries retries;
+    private final NodePool nodePool;
+    private final ChainFreshnessMonitor freshness;
+    private final LatencyAwareBalancer balancer;
+    private final HedgeBudget hedgeBudget;
+    private final Hedger<AccountClient> accountHedger;
+    private final Hedger<BlockchainClient> blockchainHedger;
+    private final StatusClient status;
+    private final AccountClient account;
+    private final BlockchainClient blockchain;
+    private final NodeClient node;
+    private final MosaicClient mosaic;
+    private final StreamingClient stream;
+    private final NetworkClock networkClock;
+    private final AccountBalanceCache balanceCache;
+    private final ChainHead chainHead;
+    private final ResponseCache responseCache;
+    private final TransactionClient transaction;
+
+    private NemClient(NemClientConfig config) {
+        this.transport = new HttpTransport(config.transport);
+        this.objectMapper = NemObjectMapper.create();
+        this.bulkheads = new Bulkheads(config.bulkheads);
+        this.retries = new Retries(config.retryPolicy);
+        boolean simple = config.url != null;
+        // probes measure nodes as they are, a retry would hide their failures
+        Retries noRetries = new Retries(RetryPolicy.builder().maxAttempts(1).build());
+        DefaultNemClientFactory discovery = new DefaultNemClientFactory(NemClientFactoryConfig.builder()
+                .transport(transport)
+                .objectMapper(objectMapper)
+                .bulkheads(bulkheads)
+                .retries(noRetries)
+                .build());
+        if (!simple && config.seeds != null) {
+            this.nodePool = new NodePool(config.seeds, discovery::simpleNodeClient, discovery::simpleStatusClient, config.nodePoolSize)
+                    .start(config.nodePoolRefreshMillis);
+            this.freshness = new ChainFreshnessMonitor(nodePool, discovery::simpleBlockchainClient, config.maxChainLagBlocks)
+                    .start(config.chainFreshnessCheckMillis);
+            this.balancer = new LatencyAwareBalancer(nodePool);
+        } else {
+            this.nodePool = null;
+            this.freshness = null;
+            this.balancer = !simple && config.latencyAwareBalancing ? new LatencyAwareBalancer(discovery::simpleNodeClient) : null;
+        }
+        DefaultNemClientFactory factory = new DefaultNemClientFactory(NemClientFactoryConfig.builder()
+                .transport(transport)
+                .announceLimiter(config.announceLimiter)
+                .objectMapper(objectMapper)
+                .bulkheads(bulkheads)
+                .balancer(balancer)
+                .retries(retries)
+                .build());
+        StatusClient status = simple ? factory.simpleStatusClient(config.url) : factory.createStatusClient(config.statusApi);
+        AccountClient account = simple ? factory.simpleAccountClient(config.url) : factory.createAccountClient(config.accountApi);
+        BlockchainClient blockchain = simple ? factory.simpleBlockchainClient(config.url) : factory.createBlockchainClient(config.blockchainApi);
+        NodeClient node = simple ? factory.simpleNodeClient(config.url) : factory.createNodeClient(config.nodeApi);
+        MosaicClient mosaic = simple ? factory.simpleMosaicClient(config.url) : factory.createMosaicClient(config.mosaicApi);
+        if (!simple && config.hedgeBudgetPercent > 0) {
+            this.hedgeBudget = new HedgeBudget(config.hedgeBudgetPercent / 100, Hedger.DEFAULT_BURST);
+            this.accountHedger = Hedger.of(AccountClient.class, account, account, hedgeBudget, "getFromAddress", "status", "unconfirmedTransactions");
+            this.blockchainHedger = Hedger.of(BlockchainClient.class, blockchain, blockchain, hedgeBudget, "height");
+            account = accountHedger.client();
+            blockchain = blockchainHedger.client();
+        } else {
+            this.hedgeBudget = null;
+            this.accountHedger = null;
+            this.blockchainHedger = null;
+        }
+        if (config.responseCacheSize > 0) {
+            this.chainHead = new ChainHead(blockchain).start(config.chainHeadPollMillis);
+            this.responseCache = new ResponseCache(config.responseCacheSize, chainHead);
+            status = responseCache.wrap(StatusClient.class, status);
+            account = responseCache.wrap(AccountClient.class, account);
+            blockchain = responseCache.wrap(BlockchainClient.class, blockchain);
+            node = responseCache.wrap(NodeClient.class, node);
+            mosaic = responseCache.wrap(MosaicClient.class, mosaic);
+        } else {
+            this.chainHead = null;
+            this.responseCache = null;
+        }
+        this.status = status;
+        this.account = account;
+        this.blockchain = blockchain;
+        this.node = node;
+        this.mosaic = mosaic;
+        this.stream = simple ? factory.simpleStreamingClient(config.url) : factory.createStreamingClient(config.streamApi);
+        this.networkClock = new NodeNetworkClock(node, config.clockResyncMillis);
+        this.balanceCache = new AccountBalanceCache(account, config.balanceCacheTimeToLiveMillis);
+        FeignTransactionClient feignTransactionClient = simple ?
+                factory.simpleFeignTransactionClient(config.url) :
+                factory.createFeignTransactionClient(config.transactionApi);
+        PreflightValidator preflightValidator = config.preflight ?
+                new PreflightValidator(config.network, networkClock, balanceCache, config.maxFee) :
+                null;
+        this.transaction = factory.transactionClient(feignTransactionClient, config.network, new DefaultFeeCalculator(mosaic, account), networkClock, preflightValidator);
+    }
+
+    public static NemClient create(NemClientConfig config) {
+        return new NemClient(config);
+    }
+
+    public StatusClient status() {
+        return status;
+    }
+
+    public AccountClient account() {
+        return account;
+    }
+
+    public BlockchainClient blockchain() {
+        return blockchain;
+    }
+
+    public NodeClient node() {
+        return node;
+    }
+
+    public MosaicClient mosaic() {
+        return mosaic;
+    }
+
+    public StreamingClient stream() {
+        return stream;
+    }
+
+    public TransactionClient transaction() {
+        return transaction;
+    }
+
+    public NetworkClock networkClock() {
+        return networkClock;
+    }
+
+    public AccountBalanceCache balanceCache() {
+        return balanceCache;
+    }
+
+    /**
+     * @return the response cache shared by the read clients, or null when {@link NemClientConfig#responseCacheSize} is 0.
+     */
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+
+    public Bulkheads bulkheads() {
+        return bulkheads;
+    }
+
+    public Retries retries() {
+        return retries;
+    }
+
+    /**
+     * @return the latency-aware balancer with its per-node stats, or null unless
+     * {@link NemClientConfig#latencyAwareBalancing} or {@link NemClientConfig#seeds} is set and no url is.
+     */
+    public LatencyAwareBalancer balancer() {
+        return balancer;
+    }
+
+    /**
+     * @return the budget shared by the hedged reads, or null unless {@link NemClientConfig#hedgeBudgetPercent} is set
+     * and no url is.
+     */
+    public HedgeBudget hedgeBudget() {
+        return hedgeBudget;
+    }
+
+    /**
+     * @return wins, waste and hedge delays of the account reads, or null when hedging is off.
+     */
+    public Hedger<AccountClient> accountHedger() {
+        return accountHedger;
+    }
+
+    /**
+     * @return wins, waste and hedge delay of {@link BlockchainClient#height()}, or null when hedging is off.
+     */
+    public Hedger<BlockchainClient> blockchainHedger() {
+        return blockchainHedger;
+    }
+
+    /**
+     * @return the pool grown from {@link NemClientConfig#seeds}, or null without seeds.
+     */
+    public NodePool nodePool() {
+        return nodePool;
+    }
+
+    /**
+     * @return the monitor quarantining lagging nodes of {@link #nodePool()}, or null without seeds.
+     */
+    public ChainFreshnessMonitor freshness() {
+        return freshness;
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public HttpTransport transport() {
+        return transport;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (chainHead != null) {
+            chainHead.close();
+        }
+        if (balancer != null) {
+            balancer.close();
+        }
+        if (freshness != null) {
+            freshness.close();
+        }
+        if (nodePool != null) {
+            nodePool.close();
+        }
+        transport.close();
+    }
+}
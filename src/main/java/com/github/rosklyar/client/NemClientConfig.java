@@ -0,0 +1,66 @@
+package com.github.rosklyar.client;
+
+import com.github.rosklyar.client.bulkhead.BulkheadPolicies;
+import com.github.rosklyar.client.bulkhead.BulkheadPolicy;
+import com.github.rosklyar.client.retry.RetryPolicy;
+import com.github.rosklyar.client.transaction.limit.AnnounceLimiter;
+import com.github.rosklyar.client.transaction.version.Network;
+import com.github.rosklyar.client.transport.HttpTransportConfig;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+@EqualsAndHashCode
+@ToString
+@Builder
+public class NemClientConfig {
+
+    public final String url;
+    @Builder.Default
+    public final String statusApi = "statusApi";
+    @Builder.Default
+    public final String accountApi = "accountApi";
+    @Builder.Default
+    public final String blockchainApi = "blockchainApi";
+    @Builder.Default
+    public final String nodeApi = "nodeApi";
+    @Builder.Default
+    public final String mosaicApi = "mosaicApi";
+    @Builder.Default
+    public final String transactionApi = "transactionApi";
+    @Builder.Default
+    public final String streamApi = "streamApi";
+    @Builder.Default
+    public final Network network = DefaultNemClientFactory.MAIN;
+    @Builder.Default
+    public final HttpTransportConfig transport = HttpTransportConfig.builder().build();
+    public final AnnounceLimiter announceLimiter;
+    @Builder.Default
+    public final long clockResyncMillis = 60_000;
+    @Builder.Default
+    public final long balanceCacheTimeToLiveMillis = 10_000;
+    public final boolean preflight;
+    public final boolean latencyAwareBalancing;
+    public final List<String> seeds;
+    @Builder.Default
+    public final int nodePoolSize = 10;
+    @Builder.Default
+    public final long nodePoolRefreshMillis = 60_000;
+    @Builder.Default
+    public final long maxChainLagBlocks = 5;
+    @Builder.Default
+    public final long chainFreshnessCheckMillis = 30_000;
+    public final double hedgeBudgetPercent;
+    public final long responseCacheSize;
+    @Builder.Default
+    public final long chainHeadPollMillis = 15_000;
+    @Builder.Default
+    public final Map<String, BulkheadPolicy> bulkheads = BulkheadPolicies.defaults();
+    @Builder.Default
+    public final RetryPolicy retryPolicy = RetryPolicy.builder().build();
+    @Builder.Default
+    public final long maxFee = 10_000_000;
+}
@@ -0,0 +1,58 @@
+package com.github.rosklyar.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.balance.LatencyAwareBalancer;
+import com.github.rosklyar.client.bulkhead.Bulkheads;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import com.github.rosklyar.client.retry.Retries;
+import com.github.rosklyar.client.transaction.limit.AnnounceLimiter;
+import com.github.rosklyar.client.transport.AsyncHttpTransport;
+import com.github.rosklyar.client.transport.HttpTransport;
+import feign.Client;
+import feign.Request;
+import lombok.Builder;
+
+/**
+ * What a {@link DefaultNemClientFactory} builds its clients from. Fields left unset get Feign's default HTTP client
+ * and request options, a shared {@link NemObjectMapper}, no announce limiter, no latency-aware balancer, and the
+ * default {@link Bulkheads} and {@link Retries}.
+ * <p>
+ * These defaults are not those of the factory before it was configurable. Feign's {@link feign.Retryer} is off and
+ * {@link Retries} retries GET requests only, so announces are no longer resent; the Ribbon clients run in
+ * {@link Bulkheads} instead of plain {@code HystrixFeign} commands, which changes their Hystrix command keys and
+ * thread pools; and responses are decoded by {@link com.github.rosklyar.client.json.JsonBytesDecoder} with the
+ * configured mapper instead of a {@code JacksonDecoder} per client.
+ */
+@Builder
+public class NemClientFactoryConfig {
+
+    @Builder.Default
+    public final Client client = new Client.Default(null, null);
+    @Builder.Default
+    public final Request.Options options = new Request.Options();
+    public final AnnounceLimiter announceLimiter;
+    @Builder.Default
+    public final ObjectMapper objectMapper = NemObjectMapper.create();
+    @Builder.Default
+    public final Bulkheads bulkheads = new Bulkheads();
+    /**
+     * Routes the Ribbon clients by latency; null for Ribbon's own configuration.
+     */
+    public final LatencyAwareBalancer balancer;
+    /**
+     * Retries the GET requests of every client, instead of Feign's {@link feign.Retryer}.
+     */
+    @Builder.Default
+    public final Retries retries = new Retries();
+
+    public static class NemClientFactoryConfigBuilder {
+
+        public NemClientFactoryConfigBuilder transport(HttpTransport transport) {
+            return client(transport.client()).options(transport.options());
+        }
+
+        public NemClientFactoryConfigBuilder transport(AsyncHttpTransport transport) {
+            return client(transport.client()).options(transport.options());
+        }
+    }
+}
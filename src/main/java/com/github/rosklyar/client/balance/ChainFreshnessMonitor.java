@@ -0,0 +1,120 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps nodes that are behind the chain out of a {@link NodePool}.
+ * <p>
+ * Every check reads {@link BlockchainClient#height()} of each candidate of the pool and compares it with a reference
+ * height taken from that round alone: the highest height at least half of the answering nodes have reached. A single
+ * node reporting a height far ahead, or a height from an abandoned fork, therefore cannot push every honest node into
+ * quarantine. Nodes lagging more than {@code maxLagBlocks} blocks behind the reference are quarantined in the pool and
+ * readmitted once they are back within the limit. Nodes that do not answer keep their last state; the pool itself
+ * drops dead nodes.
+ */
+public class ChainFreshnessMonitor implements Closeable {
+
+    private final NodePool pool;
+    private final Function<String, BlockchainClient> blockchainClients;
+    private final long maxLagBlocks;
+    private final AtomicLong referenceHeight = new AtomicLong();
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-chain-freshness");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChainFreshnessMonitor(NodePool pool,
+                                 Function<String, BlockchainClient> blockchainClients,
+                                 long maxLagBlocks) {
+        this.pool = pool;
+        this.blockchainClients = blockchainClients;
+        this.maxLagBlocks = maxLagBlocks;
+    }
+
+    public ChainFreshnessMonitor start(long checkIntervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::checkSafely, 0, checkIntervalMillis, MILLISECONDS);
+        return this;
+    }
+
+    public synchronized void check() {
+        List<String> candidates = pool.candidates();
+        Map<String, Long> heights = new HashMap<>();
+        for (String url : candidates) {
+            try {
+                heights.put(url, blockchainClients.apply(url).height().height);
+            } catch (RuntimeException e) {
+                // keep the last state of a node that does not answer
+            }
+        }
+        if (heights.isEmpty()) {
+            return;
+        }
+        long reference = quorumHeight(heights.values());
+        referenceHeight.set(reference);
+        heights.forEach((url, height) -> {
+            long lag = Math.max(0, reference - height);
+            lags.put(url, lag);
+            if (lag > maxLagBlocks) {
+                pool.quarantine(url);
+            } else {
+                pool.readmit(url);
+            }
+        });
+    }
+
+    /**
+     * @return the reference height of the last check that got an answer, 0 before that
+     */
+    public long referenceHeight() {
+        return referenceHeight.get();
+    }
+
+    /**
+     * @return blocks the node was behind at its last check, 0 for nodes not checked yet
+     */
+    public long lag(String url) {
+        Long lag = lags.get(url);
+        return lag == null ? 0 : lag;
+    }
+
+    public Map<String, Long> lags() {
+        return new TreeMap<>(lags);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static long quorumHeight(Collection<Long> heights) {
+        List<Long> sorted = new ArrayList<>(heights);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            // check again next time
+        }
+    }
+}
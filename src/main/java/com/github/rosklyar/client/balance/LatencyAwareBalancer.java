@@ -0,0 +1,81 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.node.NodeClient;
+import com.netflix.client.ClientFactory;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DummyPing;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import com.netflix.loadbalancer.Server;
+import feign.Client;
+import feign.ribbon.LBClient;
+import feign.ribbon.LBClientFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Ribbon load balancers routing by latency instead of round robin. Each Ribbon client name (the configuration prefix)
+ * gets a {@link DynamicServerListLoadBalancer} over a {@link NisServerList} refreshed every
+ * {@code <client>.ribbon.ServerListRefreshInterval}, choosing with {@link LatencyAwareRule}. All of them share one
+ * {@link NodeStats}, filled by the clients returned from {@link #client(Client)}. Built from a {@link NodePool}, the
+ * balancers route over the pool's best nodes instead of the configured and discovered ones.
+ */
+public class LatencyAwareBalancer implements LBClientFactory, Closeable {
+
+    private final NodeStats stats = new NodeStats();
+    private final Function<String, NodeClient> nodeClients;
+    private final NodePool pool;
+    private final Map<String, LBClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, DynamicServerListLoadBalancer<Server>> loadBalancers = new ConcurrentHashMap<>();
+
+    public LatencyAwareBalancer() {
+        this(null, null);
+    }
+
+    /**
+     * @param nodeClients node client for a node URL, used to discover peers; null to balance over the seeds only
+     */
+    public LatencyAwareBalancer(Function<String, NodeClient> nodeClients) {
+        this(nodeClients, null);
+    }
+
+    public LatencyAwareBalancer(NodePool pool) {
+        this(null, pool);
+    }
+
+    private LatencyAwareBalancer(Function<String, NodeClient> nodeClients, NodePool pool) {
+        this.nodeClients = nodeClients;
+        this.pool = pool;
+    }
+
+    @Override
+    public LBClient create(String clientName) {
+        return clients.computeIfAbsent(clientName, name -> {
+            IClientConfig config = ClientFactory.getNamedConfig(name);
+            NisServerList serverList = pool == null ? new NisServerList(nodeClients) : new NisServerList(pool);
+            serverList.initWithNiwsConfig(config);
+            DynamicServerListLoadBalancer<Server> loadBalancer =
+                    new DynamicServerListLoadBalancer<>(config, new LatencyAwareRule(stats), new DummyPing(), serverList, null);
+            loadBalancers.put(name, loadBalancer);
+            return LBClient.create(loadBalancer, config);
+        });
+    }
+
+    /**
+     * @return {@code delegate} recording latencies into {@link #stats()}; to be used as the Ribbon delegate
+     */
+    public Client client(Client delegate) {
+        return new LatencyRecordingClient(delegate, stats);
+    }
+
+    public NodeStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        loadBalancers.values().forEach(DynamicServerListLoadBalancer::shutdown);
+    }
+}
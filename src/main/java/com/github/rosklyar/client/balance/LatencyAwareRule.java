@@ -0,0 +1,46 @@
+package com.github.rosklyar.client.balance;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.Server;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices: picks two reachable servers at random and routes to the one with the lower
+ * {@link NodeStats#cost(String) cost}. The slowest node is never chosen while there is another one, yet load still
+ * spreads over all good nodes instead of piling onto the single fastest.
+ */
+public class LatencyAwareRule extends AbstractLoadBalancerRule {
+
+    private final NodeStats stats;
+
+    public LatencyAwareRule(NodeStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Server choose(Object key) {
+        List<Server> servers = getLoadBalancer().getServerList(true);
+        if (servers.isEmpty()) {
+            return null;
+        }
+        if (servers.size() == 1) {
+            return servers.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(servers.size());
+        int second = random.nextInt(servers.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Server a = servers.get(first);
+        Server b = servers.get(second);
+        return stats.cost(a.getId()) <= stats.cost(b.getId()) ? a : b;
+    }
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.rosklyar.client.balance;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Feeds {@link NodeStats} with the time to response headers of every request, keyed by {@code host:port} like Ribbon
+ * servers. Connection errors and 5xx responses count as failures.
+ */
+class LatencyRecordingClient implements Client {
+
+    private final Client delegate;
+    private final NodeStats stats;
+
+    LatencyRecordingClient(Client delegate, NodeStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        URI uri = URI.create(request.url());
+        String node = uri.getHost() + ":" + (uri.getPort() == -1 ? 80 : uri.getPort());
+        stats.started(node);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = delegate.execute(request, options);
+            failed = response.status() >= 500;
+            return response;
+        } finally {
+            stats.completed(node, System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.domain.Node;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractServerList;
+import com.netflix.loadbalancer.ConfigurationBasedServerList;
+import com.netflix.loadbalancer.Server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ribbon server list seeded from {@code <client>.ribbon.listOfServers} and extended with the active peers reported by
+ * the nodes themselves ({@link NodeClient#active()}, or the active part of {@link NodeClient#peersList()} when that
+ * fails). Every refresh asks known nodes in random order until one answers; without an answer the seeds and the peers
+ * found last time are kept.
+ * <p>
+ * Backed by a {@link NodePool} instead, the list is the pool's current best nodes.
+ */
+public class NisServerList extends AbstractServerList<Server> {
+
+    private static final String HTTP = "http";
+
+    private final ConfigurationBasedServerList seeds = new ConfigurationBasedServerList();
+    private final Function<String, NodeClient> nodeClients;
+    private final NodePool pool;
+    private volatile List<Server> discovered = Collections.emptyList();
+
+    /**
+     * @param nodeClients node client for a node URL, or null to use the seeds only
+     */
+    public NisServerList(Function<String, NodeClient> nodeClients) {
+        this(nodeClients, null);
+    }
+
+    public NisServerList(NodePool pool) {
+        this(null, pool);
+    }
+
+    private NisServerList(Function<String, NodeClient> nodeClients, NodePool pool) {
+        this.nodeClients = nodeClients;
+        this.pool = pool;
+    }
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+        seeds.initWithNiwsConfig(clientConfig);
+    }
+
+    @Override
+    public List<Server> getInitialListOfServers() {
+        return getUpdatedListOfServers();
+    }
+
+    @Override
+    public List<Server> getUpdatedListOfServers() {
+        if (pool != null) {
+            return pool.urls().stream().map(NisServerList::server).collect(Collectors.toList());
+        }
+        List<Server> known = merge(seeds.getUpdatedListOfServers(), discovered);
+        if (nodeClients == null) {
+            return known;
+        }
+        List<Server> candidates = new ArrayList<>(known);
+        Collections.shuffle(candidates);
+        for (Server candidate : candidates) {
+            try {
+                discovered = activePeers(nodeClients.apply("http://" + candidate.getId()));
+                return merge(known, discovered);
+            } catch (RuntimeException e) {
+                // try the next one
+            }
+        }
+        return known;
+    }
+
+    private static List<Server> activePeers(NodeClient nodeClient) {
+        List<Node> nodes;
+        try {
+            nodes = nodeClient.active().data;
+        } catch (RuntimeException e) {
+            nodes = nodeClient.peersList().active;
+        }
+        List<Server> servers = new ArrayList<>();
+        if (nodes != null) {
+            for (Node node : nodes) {
+                if (node.endpoint != null && HTTP.equals(node.endpoint.protocol) && node.endpoint.port > 0) {
+                    servers.add(new Server(node.endpoint.host, node.endpoint.port));
+                }
+            }
+        }
+        return servers;
+    }
+
+    private static Server server(String url) {
+        URI uri = URI.create(url);
+        return new Server(uri.getHost(), uri.getPort() == -1 ? 80 : uri.getPort());
+    }
+
+    private static List<Server> merge(List<Server> first, List<Server> second) {
+        Map<String, Server> servers = new LinkedHashMap<>();
+        first.forEach(server -> servers.putIfAbsent(server.getId(), server));
+        second.forEach(server -> servers.putIfAbsent(server.getId(), server));
+        return new ArrayList<>(servers.values());
+    }
+}
@@ -0,0 +1,330 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.domain.Node;
+import com.github.rosklyar.client.node.domain.NodeExperience;
+import com.github.rosklyar.client.status.StatusClient;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Live, ordered set of the best NIS nodes, bootstrapped from a few seed URLs.
+ * <p>
+ * Every refresh asks a few responsive nodes for their active peers ({@link NodeClient#active()}, or the active part of
+ * {@link NodeClient#peersList()}) and for their {@link NodeClient#experiences()}, then probes every known node with
+ * {@link StatusClient#heartbeat()} and {@link NodeClient#info()}. Nodes that do not answer, report a failed heartbeat
+ * or run on another network than the seeds are left out; the others are ranked by heartbeat latency divided by the
+ * success ratio the peers report for them, doubled for nodes running an older version than the newest one seen. Until
+ * the first refresh the pool consists of the seeds. {@link #quarantine(String) Quarantined} nodes are skipped until
+ * they are {@link #readmit(String) readmitted}, the next ranked nodes taking their places.
+ */
+public class NodePool implements Closeable {
+
+    private static final int DISCOVERY_FANOUT = 3;
+    private static final int MAX_KNOWN = 200;
+    private static final int MAX_MISSED_PROBES = 3;
+    private static final int PROBE_THREADS = 8;
+    private static final double OUTDATED_PENALTY = 2;
+    private static final double MIN_SUCCESS_RATIO = 0.01;
+    private static final String HTTP = "http";
+
+    private final List<String> seeds;
+    private final Function<String, NodeClient> nodeClients;
+    private final Function<String, StatusClient> statusClients;
+    private final int size;
+    private final LongSupplier nanoTime;
+    private final Executor probes;
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> missedProbes = new ConcurrentHashMap<>();
+    private final Set<String> quarantined = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-node-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile List<PooledNode> ranked = Collections.emptyList();
+
+    public NodePool(List<String> seeds, Function<String, NodeClient> nodeClients, Function<String, StatusClient> statusClients, int size) {
+        this(seeds, nodeClients, statusClients, size, System::nanoTime, newFixedThreadPool(PROBE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "nem-node-pool-probe");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    NodePool(List<String> seeds,
+             Function<String, NodeClient> nodeClients,
+             Function<String, StatusClient> statusClients,
+             int size,
+             LongSupplier nanoTime,
+             Executor probes) {
+        this.seeds = new ArrayList<>(seeds);
+        this.nodeClients = nodeClients;
+        this.statusClients = statusClients;
+        this.size = size;
+        this.nanoTime = nanoTime;
+        this.probes = probes;
+        this.known.addAll(seeds);
+    }
+
+    public NodePool start(long refreshIntervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, refreshIntervalMillis, MILLISECONDS);
+        return this;
+    }
+
+    public synchronized void refresh() {
+        Map<String, long[]> experiences = discover();
+        List<Probe> healthy = probeAll().stream()
+                .filter(probe -> probe.healthy)
+                .collect(Collectors.toList());
+        Long network = seedNetwork(healthy);
+        List<Probe> sameNetwork = healthy.stream()
+                .filter(probe -> network == null || probe.networkId == network)
+                .collect(Collectors.toList());
+        String newestVersion = sameNetwork.stream()
+                .map(probe -> probe.version)
+                .max(NodePool::compareVersions)
+                .orElse(null);
+        ranked = sameNetwork.stream()
+                .map(probe -> rank(probe, experiences.get(probe.url), newestVersion))
+                .sorted(Comparator.comparingDouble(node -> node.cost))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the best nodes, best first
+     */
+    public List<PooledNode> nodes() {
+        return ranked.stream()
+                .filter(node -> !quarantined.contains(node.url))
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return URLs of the best nodes, best first; while no node is ranked or all of them are quarantined, the seeds
+     * that are not quarantined, or all seeds if every one is
+     */
+    public List<String> urls() {
+        List<String> urls = nodes().stream().map(node -> node.url).collect(Collectors.toList());
+        if (!urls.isEmpty()) {
+            return urls;
+        }
+        List<String> freshSeeds = seeds.stream().filter(seed -> !quarantined.contains(seed)).collect(Collectors.toList());
+        return freshSeeds.isEmpty() ? seeds : freshSeeds;
+    }
+
+    /**
+     * @return URLs of all healthy nodes, quarantined ones included, or the seeds while no node has been ranked
+     */
+    public List<String> candidates() {
+        List<PooledNode> nodes = ranked;
+        return nodes.isEmpty() ? seeds : nodes.stream().map(node -> node.url).collect(Collectors.toList());
+    }
+
+    public void quarantine(String url) {
+        quarantined.add(url);
+    }
+
+    public void readmit(String url) {
+        quarantined.remove(url);
+    }
+
+    public Set<String> quarantined() {
+        return Collections.unmodifiableSet(quarantined);
+    }
+
+    public String url() {
+        return urls().get(0);
+    }
+
+    public int knownCount() {
+        return known.size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (probes instanceof ExecutorService) {
+            ((ExecutorService) probes).shutdownNow();
+        }
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // keep the current ranking until the next refresh
+        }
+    }
+
+    private Map<String, long[]> discover() {
+        Set<String> sources = new LinkedHashSet<>(urls());
+        sources.addAll(seeds);
+        Map<String, long[]> experiences = new HashMap<>();
+        int asked = 0;
+        for (String source : sources) {
+            if (asked == DISCOVERY_FANOUT) {
+                break;
+            }
+            try {
+                NodeClient nodeClient = nodeClients.apply(source);
+                activePeers(nodeClient).forEach(this::learn);
+                List<NodeExperience> reported = nodeClient.experiences().data;
+                if (reported != null) {
+                    reported.forEach(nodeExperience -> addExperience(experiences, nodeExperience));
+                }
+                asked++;
+            } catch (RuntimeException e) {
+                // ask the next one
+            }
+        }
+        return experiences;
+    }
+
+    private static List<Node> activePeers(NodeClient nodeClient) {
+        List<Node> nodes;
+        try {
+            nodes = nodeClient.active().data;
+        } catch (RuntimeException e) {
+            nodes = nodeClient.peersList().active;
+        }
+        return nodes == null ? Collections.emptyList() : nodes;
+    }
+
+    private void learn(Node node) {
+        String url = url(node);
+        if (url != null && known.size() < MAX_KNOWN) {
+            known.add(url);
+        }
+    }
+
+    private static void addExperience(Map<String, long[]> experiences, NodeExperience nodeExperience) {
+        String url = nodeExperience.node == null ? null : url(nodeExperience.node);
+        if (url == null || nodeExperience.experience == null) {
+            return;
+        }
+        long[] counts = experiences.computeIfAbsent(url, key -> new long[2]);
+        counts[0] += nodeExperience.experience.s;
+        counts[1] += nodeExperience.experience.f;
+    }
+
+    private static String url(Node node) {
+        if (node.endpoint == null || !HTTP.equals(node.endpoint.protocol) || node.endpoint.port <= 0) {
+            return null;
+        }
+        return "http://" + node.endpoint.host + ":" + node.endpoint.port;
+    }
+
+    private List<Probe> probeAll() {
+        List<CompletableFuture<Probe>> futures = known.stream()
+                .map(url -> CompletableFuture.supplyAsync(() -> probe(url), probes))
+                .collect(Collectors.toList());
+        List<Probe> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        for (Probe probe : results) {
+            if (probe.healthy) {
+                missedProbes.remove(probe.url);
+            } else if (missedProbes.merge(probe.url, 1, Integer::sum) >= MAX_MISSED_PROBES && !seeds.contains(probe.url)) {
+                missedProbes.remove(probe.url);
+                known.remove(probe.url);
+            }
+        }
+        return results;
+    }
+
+    private Probe probe(String url) {
+        try {
+            long start = nanoTime.getAsLong();
+            int code = statusClients.apply(url).heartbeat().code;
+            double latencyMillis = (nanoTime.getAsLong() - start) / 1_000_000.0;
+            Node info = nodeClients.apply(url).info();
+            if (code != 1 || info == null || info.metaData == null) {
+                return Probe.unhealthy(url);
+            }
+            return new Probe(url, true, latencyMillis, info.metaData.version, info.metaData.networkId);
+        } catch (RuntimeException e) {
+            return Probe.unhealthy(url);
+        }
+    }
+
+    private Long seedNetwork(List<Probe> healthy) {
+        for (String seed : seeds) {
+            for (Probe probe : healthy) {
+                if (probe.url.equals(seed)) {
+                    return probe.networkId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static PooledNode rank(Probe probe, long[] experience, String newestVersion) {
+        // Laplace smoothing: a node nobody has experience with counts as half successful
+        double successRatio = experience == null ? 0.5 : (experience[0] + 1.0) / (experience[0] + experience[1] + 2.0);
+        double cost = probe.latencyMillis / Math.max(successRatio, MIN_SUCCESS_RATIO);
+        if (compareVersions(probe.version, newestVersion) < 0) {
+            cost *= OUTDATED_PENALTY;
+        }
+        return new PooledNode(probe.url, probe.latencyMillis, probe.version, successRatio, cost);
+    }
+
+    /**
+     * Compares the numeric parts of NIS versions such as {@code 0.6.95-BETA}; null is the oldest.
+     */
+    static int compareVersions(String first, String second) {
+        if (first == null || second == null) {
+            return first == null ? (second == null ? 0 : -1) : 1;
+        }
+        String[] a = first.split("[^0-9]+");
+        String[] b = second.split("[^0-9]+");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            long x = i < a.length && !a[i].isEmpty() ? Long.parseLong(a[i]) : 0;
+            long y = i < b.length && !b[i].isEmpty() ? Long.parseLong(b[i]) : 0;
+            if (x != y) {
+                return Long.compare(x, y);
+            }
+        }
+        return 0;
+    }
+
+    private static class Probe {
+        private final String url;
+        private final boolean healthy;
+        private final double latencyMillis;
+        private final String version;
+        private final long networkId;
+
+        private Probe(String url, boolean healthy, double latencyMillis, String version, long networkId) {
+            this.url = url;
+            this.healthy = healthy;
+            this.latencyMillis = latencyMillis;
+            this.version = version;
+            this.networkId = networkId;
+        }
+
+        private static Probe unhealthy(String url) {
+            return new Probe(url, false, 0, null, 0);
+        }
+    }
+}
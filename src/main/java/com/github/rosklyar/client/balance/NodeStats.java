@@ -0,0 +1,114 @@
+package com.github.rosklyar.client.balance;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially weighted moving averages of latency and error rate per node ({@code "host:port"}), shared by all
+ * clients of a {@link LatencyAwareBalancer}.
+ * <p>
+ * The {@link #cost(String) cost} of a node is its average latency scaled by the requests it is serving and divided by
+ * its success rate; failures count as at least one second, so a node failing fast does not look fast. It decays towards zero while the node receives no responses, so a node that was slow or failing
+ * is tried again after a while instead of being avoided forever; a node never measured costs nothing.
+ */
+public class NodeStats {
+
+    private static final double ALPHA = 0.2;
+    private static final double MIN_SUCCESS_RATE = 0.01;
+    private static final long IDLE_DECAY_NANOS = 10_000_000_000L;
+    private static final long FAILURE_NANOS = 1_000_000_000L;
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private final LongSupplier nanoTime;
+
+    public NodeStats() {
+        this(System::nanoTime);
+    }
+
+    NodeStats(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public void started(String node) {
+        host(node).inFlight.increment();
+    }
+
+    public void completed(String node, long latencyNanos, boolean failed) {
+        Host host = host(node);
+        host.inFlight.decrement();
+        host.update(latencyNanos, failed, nanoTime.getAsLong());
+    }
+
+    public double cost(String node) {
+        Host host = hosts.get(node);
+        return host == null ? 0 : host.cost(nanoTime.getAsLong());
+    }
+
+    public Host host(String node) {
+        return hosts.computeIfAbsent(node, key -> new Host());
+    }
+
+    public Map<String, Host> hosts() {
+        return new TreeMap<>(hosts);
+    }
+
+    public static class Host {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+        private double latencyNanos;
+        private double errorRate;
+        private long updatedNanos;
+        private boolean measured;
+
+        public long requests() {
+            return requests.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public long inFlight() {
+            return inFlight.sum();
+        }
+
+        public synchronized double latencyMillis() {
+            return latencyNanos / 1_000_000;
+        }
+
+        public synchronized double errorRate() {
+            return errorRate;
+        }
+
+        private synchronized void update(long elapsedNanos, boolean failed, long now) {
+            requests.increment();
+            long sampleNanos = elapsedNanos;
+            if (failed) {
+                failures.increment();
+                sampleNanos = Math.max(elapsedNanos, FAILURE_NANOS);
+            }
+            if (measured) {
+                latencyNanos += ALPHA * (sampleNanos - latencyNanos);
+                errorRate += ALPHA * ((failed ? 1 : 0) - errorRate);
+            } else {
+                latencyNanos = sampleNanos;
+                errorRate = failed ? 1 : 0;
+                measured = true;
+            }
+            updatedNanos = now;
+        }
+
+        private synchronized double cost(long now) {
+            if (!measured) {
+                return 0;
+            }
+            double decay = Math.exp(-(double) Math.max(0, now - updatedNanos) / IDLE_DECAY_NANOS);
+            return decay * latencyNanos * (inFlight.sum() + 1) / Math.max(1 - errorRate, MIN_SUCCESS_RATE);
+        }
+    }
+}
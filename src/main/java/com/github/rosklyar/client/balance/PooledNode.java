@@ -0,0 +1,26 @@
+package com.github.rosklyar.client.balance;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A healthy node ranked by {@link NodePool}; lower cost is better.
+ */
+@EqualsAndHashCode
+@ToString
+public class PooledNode {
+
+    public final String url;
+    public final double latencyMillis;
+    public final String version;
+    public final double successRatio;
+    public final double cost;
+
+    public PooledNode(String url, double latencyMillis, String version, double successRatio, double cost) {
+        this.url = url;
+        this.latencyMillis = latencyMillis;
+        this.version = version;
+        this.successRatio = successRatio;
+        this.cost = cost;
+    }
+}
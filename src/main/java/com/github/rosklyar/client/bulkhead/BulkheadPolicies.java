@@ -0,0 +1,51 @@
+package com.github.rosklyar.client.bulkhead;
+
+import com.github.rosklyar.client.transport.HttpTransportConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Default bulkheads keyed by method name or by {@code name/parameterCount} where overloads differ. Announces get a
+ * pool of their own and account history scans share a small one, so neither can starve the other reads, which stay
+ * in the pool of their client.
+ * <p>
+ * Announces time out only after the default transport gave up on leasing a connection, connecting and reading the
+ * answer: a command timeout abandons a request that may still reach the node, and the outcome of an abandoned announce
+ * is unknown. Clients with a slower transport should raise the announce timeout to match.
+ */
+public class BulkheadPolicies {
+
+    public static final String ANNOUNCE_POOL = "nem-announce";
+    public static final String HEAVY_READ_POOL = "nem-heavy-reads";
+
+    private static final HttpTransportConfig TRANSPORT = HttpTransportConfig.builder().build();
+
+    private static final BulkheadPolicy ANNOUNCE = BulkheadPolicy.builder()
+            .threadPool(ANNOUNCE_POOL)
+            .coreSize(10)
+            .timeoutMillis(TRANSPORT.poolTimeoutMillis + TRANSPORT.connectTimeoutMillis + TRANSPORT.readTimeoutMillis)
+            .build();
+    private static final BulkheadPolicy HEAVY_READ = BulkheadPolicy.builder()
+            .threadPool(HEAVY_READ_POOL)
+            .coreSize(4)
+            .maxQueueSize(16)
+            .timeoutMillis(30_000)
+            .staleFallback(true)
+            .build();
+
+    public static Map<String, BulkheadPolicy> defaults() {
+        Map<String, BulkheadPolicy> policies = new HashMap<>();
+        policies.put("prepare", ANNOUNCE);
+        policies.put("history", HEAVY_READ);
+        policies.put("allTransactions", HEAVY_READ);
+        policies.put("incomingTransactions", HEAVY_READ);
+        policies.put("outgoingTransactions", HEAVY_READ);
+        policies.put("allDecodedTransactions", HEAVY_READ);
+        policies.put("incomingDecodedTransactions", HEAVY_READ);
+        policies.put("outgoingDecodedTransactions", HEAVY_READ);
+        policies.put("harvests", HEAVY_READ);
+        policies.put("blocksAfter", HEAVY_READ);
+        return policies;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.rosklyar.client.bulkhead;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Hystrix isolation of one client method. Zero values keep the Hystrix defaults, which can still be changed with
+ * {@code hystrix.*} properties; a {@code null} thread pool means the pool shared by the whole client.
+ * <p>
+ * Thread pool sizes are applied when the pool is first used, so methods sharing a pool should agree on them.
+ */
+@EqualsAndHashCode
+@ToString
+@Builder
+public class BulkheadPolicy {
+
+    public final String threadPool;
+    public final int coreSize;
+    public final int maxQueueSize;
+    public final int timeoutMillis;
+    public final boolean staleFallback;
+}
@@ -0,0 +1,164 @@
+package com.github.rosklyar.client.bulkhead;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rosklyar.client.proxy.CallKey;
+import com.netflix.hystrix.HystrixCommand;
+import com.netflix.hystrix.HystrixCommandGroupKey;
+import com.netflix.hystrix.HystrixCommandKey;
+import com.netflix.hystrix.HystrixCommandProperties;
+import com.netflix.hystrix.HystrixThreadPoolKey;
+import com.netflix.hystrix.HystrixThreadPoolProperties;
+import feign.Feign;
+import feign.InvocationHandlerFactory;
+import feign.Response;
+import feign.Target;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.rosklyar.client.proxy.Proxies.invokeObjectMethod;
+
+/**
+ * Runs every Feign call in a Hystrix command configured per method by a {@link BulkheadPolicy}, keyed by method name
+ * or by {@code name/parameterCount} where overloads differ. Commands are grouped by target like
+ * {@code HystrixFeign} does, but each command is keyed by target and Feign config key (such as
+ * {@code http://accountApi/FeignAccountClient#history(String,long,long,int)}), so methods of the same name on
+ * different clients do not share a circuit breaker. Hystrix fixes the properties of a command key when it is first
+ * used.
+ * <p>
+ * Methods with {@link BulkheadPolicy#staleFallback} remember their last successful result per arguments and return
+ * it when the call fails, times out or is rejected by a full pool; without one the Hystrix exception is thrown.
+ */
+public class Bulkheads implements InvocationHandlerFactory {
+
+    private static final long DEFAULT_STALE_SIZE = 1_000;
+    private static final BulkheadPolicy SHARED = BulkheadPolicy.builder().build();
+
+    private final Map<String, BulkheadPolicy> policies;
+    private final Cache<List<Object>, Object> stale;
+    private final Map<String, LongAdder> fallbacks = new ConcurrentHashMap<>();
+
+    public Bulkheads() {
+        this(BulkheadPolicies.defaults());
+    }
+
+    public Bulkheads(Map<String, BulkheadPolicy> policies) {
+        this(policies, DEFAULT_STALE_SIZE);
+    }
+
+    public Bulkheads(Map<String, BulkheadPolicy> policies, long staleSize) {
+        this.policies = new HashMap<>(policies);
+        this.stale = Caffeine.newBuilder().maximumSize(staleSize).build();
+    }
+
+    @Override
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+        Map<Method, HystrixCommand.Setter> setters = new HashMap<>();
+        dispatch.keySet().forEach(method -> setters.put(method, setter(target, method)));
+        return (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args, "Bulkheads(" + target + ")");
+            }
+            return new BulkheadCommand(setters.get(method), target, method, args, dispatch.get(method)).execute();
+        };
+    }
+
+    /**
+     * Stale results served for {@code method} (its Feign config key) so far.
+     */
+    public long fallbacks(String method) {
+        LongAdder count = fallbacks.get(method);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> fallbacks() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        fallbacks.forEach((method, count) -> snapshot.put(method, count.sum()));
+        return snapshot;
+    }
+
+    private HystrixCommand.Setter setter(Target target, Method method) {
+        BulkheadPolicy policy = policy(method);
+        HystrixCommandProperties.Setter commandProperties = HystrixCommandProperties.Setter();
+        if (policy.timeoutMillis > 0) {
+            commandProperties.withExecutionTimeoutInMilliseconds(policy.timeoutMillis);
+        }
+        HystrixThreadPoolProperties.Setter threadPoolProperties = HystrixThreadPoolProperties.Setter();
+        if (policy.coreSize > 0) {
+            threadPoolProperties.withCoreSize(policy.coreSize);
+        }
+        if (policy.maxQueueSize > 0) {
+            threadPoolProperties.withMaxQueueSize(policy.maxQueueSize).withQueueSizeRejectionThreshold(policy.maxQueueSize);
+        }
+        HystrixCommand.Setter setter = HystrixCommand.Setter
+                .withGroupKey(HystrixCommandGroupKey.Factory.asKey(target.name()))
+                .andCommandKey(HystrixCommandKey.Factory.asKey(target.name() + "/" + Feign.configKey(target.type(), method)))
+                .andCommandPropertiesDefaults(commandProperties)
+                .andThreadPoolPropertiesDefaults(threadPoolProperties);
+        return policy.threadPool == null ? setter : setter.andThreadPoolKey(HystrixThreadPoolKey.Factory.asKey(policy.threadPool));
+    }
+
+    private BulkheadPolicy policy(Method method) {
+        BulkheadPolicy policy = policies.get(method.getName() + "/" + method.getParameterCount());
+        if (policy == null) {
+            policy = policies.get(method.getName());
+        }
+        return policy == null ? SHARED : policy;
+    }
+
+    private boolean keepsStale(Method method) {
+        return policy(method).staleFallback && method.getReturnType() != void.class && method.getReturnType() != Response.class;
+    }
+
+    private class BulkheadCommand extends HystrixCommand<Object> {
+
+        private final Method method;
+        private final Object[] args;
+        private final MethodHandler handler;
+        private final List<Object> staleKey;
+
+        private BulkheadCommand(Setter setter, Target target, Method method, Object[] args, MethodHandler handler) {
+            super(setter);
+            this.method = method;
+            this.args = args;
+            this.handler = handler;
+            this.staleKey = keepsStale(method) ?
+                    Arrays.asList(target.url(), new CallKey(method, args)) :
+                    null;
+        }
+
+        @Override
+        protected Object run() throws Exception {
+            Object result;
+            try {
+                result = handler.invoke(args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new Error(t);
+            }
+            if (staleKey != null && result != null) {
+                stale.put(staleKey, result);
+            }
+            return result;
+        }
+
+        @Override
+        protected Object getFallback() {
+            Object result = staleKey == null ? null : stale.getIfPresent(staleKey);
+            if (result == null) {
+                return super.getFallback();
+            }
+            fallbacks.computeIfAbsent(Feign.configKey(method.getDeclaringClass(), method), key -> new LongAdder()).increment();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.rosklyar.client.cache;
+
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.rosklyar.client.cache.CachePolicy.finalized;
+import static com.github.rosklyar.client.cache.CachePolicy.forever;
+import static com.github.rosklyar.client.cache.CachePolicy.newBlock;
+import static com.github.rosklyar.client.cache.CachePolicy.ttl;
+
+/**
+ * Default policies for the NIS read methods, keyed by method name or by {@code name/parameterCount} where overloads
+ * differ. Methods not listed here, such as unconfirmed transactions or the node's current time, are not cached.
+ */
+public class CachePolicies {
+
+    /**
+     * NIS does not roll back more than this many blocks.
+     */
+    public static final int FINALITY_DEPTH = 360;
+
+    private static final int BLOCKS_AFTER_PAGE = 10;
+    private static final long FAST = 5_000;
+    private static final long SLOW = 300_000;
+
+    public static Map<String, CachePolicy> defaults() {
+        Map<String, CachePolicy> policies = new HashMap<>();
+        // never changes
+        policies.put("namespace", forever());
+        policies.put("incomingTransactions/2", forever());
+        policies.put("outgoingTransactions/2", forever());
+        policies.put("allTransactions/2", forever());
+        policies.put("block", finalized(FINALITY_DEPTH, args -> ((BlockHeight) args[0]).height));
+        policies.put("blocksAfter", finalized(FINALITY_DEPTH, args -> ((BlockHeight) args[0]).height + BLOCKS_AFTER_PAGE));
+        policies.put("history", finalized(FINALITY_DEPTH, args -> (long) args[2]));
+        // changes with every block
+        policies.put("status/1", newBlock());
+        policies.put("getFromAddress", newBlock());
+        policies.put("getFromPublicKey", newBlock());
+        policies.put("getForwarded", newBlock());
+        policies.put("getForwardedFromPublicKey", newBlock());
+        policies.put("incomingTransactions/1", newBlock());
+        policies.put("outgoingTransactions/1", newBlock());
+        policies.put("allTransactions/1", newBlock());
+        policies.put("harvests", newBlock());
+        policies.put("ownedMosaics", newBlock());
+        policies.put("height", ttl(FAST));
+        policies.put("score", ttl(FAST));
+        policies.put("lastBlock", ttl(FAST));
+        policies.put("maxChainHeight", ttl(FAST));
+        policies.put("status/0", ttl(FAST));
+        policies.put("heartbeat", ttl(FAST));
+        // changes slowly
+        policies.put("importances", ttl(SLOW));
+        policies.put("namespaces", ttl(SLOW));
+        policies.put("mosaics", ttl(SLOW));
+        policies.put("info", ttl(SLOW));
+        policies.put("peersList", ttl(SLOW));
+        policies.put("active", ttl(SLOW));
+        policies.put("activeBroadcasts", ttl(SLOW));
+        policies.put("experiences", ttl(SLOW));
+        return policies;
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.rosklyar.client.cache;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * How long the result of a client method may be served from {@link ResponseCache}.
+ */
+public class CachePolicy {
+
+    enum Kind {
+        NONE, FOREVER, TTL, NEW_BLOCK, FINALIZED
+    }
+
+    private static final CachePolicy NONE = new CachePolicy(Kind.NONE, 0, 0, null);
+    private static final CachePolicy FOREVER = new CachePolicy(Kind.FOREVER, 0, 0, null);
+    private static final CachePolicy NEW_BLOCK = new CachePolicy(Kind.NEW_BLOCK, 0, 0, null);
+
+    final Kind kind;
+    final long ttlNanos;
+    final int depth;
+    final ToLongFunction<Object[]> heightOf;
+
+    private CachePolicy(Kind kind, long ttlNanos, int depth, ToLongFunction<Object[]> heightOf) {
+        this.kind = kind;
+        this.ttlNanos = ttlNanos;
+        this.depth = depth;
+        this.heightOf = heightOf;
+    }
+
+    public static CachePolicy none() {
+        return NONE;
+    }
+
+    public static CachePolicy forever() {
+        return FOREVER;
+    }
+
+    public static CachePolicy ttl(long millis) {
+        return new CachePolicy(Kind.TTL, millis * 1_000_000, 0, null);
+    }
+
+    /**
+     * Valid until the chain height changes.
+     */
+    public static CachePolicy newBlock() {
+        return NEW_BLOCK;
+    }
+
+    /**
+     * Forever once the height the call refers to is at least {@code depth} blocks deep, until the next block before.
+     */
+    public static CachePolicy finalized(int depth, ToLongFunction<Object[]> heightOf) {
+        return new CachePolicy(Kind.FINALIZED, 0, depth, heightOf);
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.TTL ? "TTL(" + ttlNanos / 1_000_000 + "ms)" : kind.name();
+    }
+}
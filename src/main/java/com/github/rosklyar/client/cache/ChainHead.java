@@ -0,0 +1,61 @@
+package com.github.rosklyar.client.cache;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+
+import java.io.Closeable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Latest known chain height, polled from a node in the background and/or fed by whoever already watches the chain.
+ * The height never goes backwards.
+ */
+public class ChainHead implements LongSupplier, Closeable {
+
+    private final AtomicLong height = new AtomicLong();
+    private final BlockchainClient blockchainClient;
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-chain-head");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChainHead(BlockchainClient blockchainClient) {
+        this.blockchainClient = blockchainClient;
+    }
+
+    public ChainHead start(long pollIntervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMillis, MILLISECONDS);
+        return this;
+    }
+
+    public void update(long observedHeight) {
+        height.accumulateAndGet(observedHeight, Math::max);
+    }
+
+    public long height() {
+        return height.get();
+    }
+
+    @Override
+    public long getAsLong() {
+        return height.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            update(blockchainClient.height().height);
+        } catch (RuntimeException e) {
+            // keep the last known height until the node answers again
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.rosklyar.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.rosklyar.client.proxy.CallKey;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.github.rosklyar.client.proxy.Proxies.call;
+import static com.github.rosklyar.client.proxy.Proxies.invokeObjectMethod;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Size-bounded (W-TinyLFU) cache of client responses shared by all clients wrapped with {@link #wrap(Class, Object)},
+ * with a {@link CachePolicy} per method name or {@code name/parameterCount}.
+ * <p>
+ * {@link CachePolicy#newBlock()} and {@link CachePolicy#finalized} entries are checked against the chain height from
+ * {@code chainHeight}; while the height is unknown (zero) such results are not cached. Entries that are only valid
+ * until the next block expire after one block interval, so they do not hold cache space once the chain has moved on.
+ * Failed calls and {@code null} results are never cached. Calls made inside {@link #uncached(Supplier)} go to the node and refresh the cache.
+ */
+public class ResponseCache {
+
+    private static final ThreadLocal<Boolean> BYPASS = new ThreadLocal<>();
+    private static final long BLOCK_INTERVAL_NANOS = SECONDS.toNanos(60);
+
+    private final Map<String, CachePolicy> policies;
+    private final LongSupplier chainHeight;
+    private final Cache<CallKey, Entry> cache;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public ResponseCache(long maximumSize, LongSupplier chainHeight) {
+        this(maximumSize, CachePolicies.defaults(), chainHeight);
+    }
+
+    public ResponseCache(long maximumSize, Map<String, CachePolicy> policies, LongSupplier chainHeight) {
+        this(maximumSize, policies, chainHeight, Ticker.systemTicker());
+    }
+
+    ResponseCache(long maximumSize, Map<String, CachePolicy> policies, LongSupplier chainHeight, Ticker ticker) {
+        this.policies = new HashMap<>(policies);
+        this.chainHeight = chainHeight == null ? () -> 0 : chainHeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public <T> T wrap(Class<T> type, T delegate) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args, "ResponseCache(" + delegate + ")");
+            }
+            return get(method, args, delegate);
+        }));
+    }
+
+    /**
+     * Runs {@code call} with every cached client going to the node; fresh results still replace cached ones.
+     */
+    public static <R> R uncached(Supplier<R> call) {
+        Boolean previous = BYPASS.get();
+        BYPASS.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            BYPASS.set(previous);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public long hits(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.hits.sum();
+    }
+
+    public long misses(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.misses.sum();
+    }
+
+    public Map<String, Double> hitRates() {
+        Map<String, Double> rates = new TreeMap<>();
+        counters.forEach((method, methodCounters) -> {
+            long hits = methodCounters.hits.sum();
+            long total = hits + methodCounters.misses.sum();
+            rates.put(method, total == 0 ? 0 : (double) hits / total);
+        });
+        return rates;
+    }
+
+    /**
+     * Eviction and load statistics of the underlying cache.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private Object get(Method method, Object[] args, Object delegate) throws Throwable {
+        long height = chainHeight.getAsLong();
+        CachePolicy.Kind kind = kind(method, args, height);
+        if (kind == CachePolicy.Kind.NONE) {
+            return call(delegate, method, args);
+        }
+        Counters methodCounters = counters.computeIfAbsent(method.getName(), name -> new Counters());
+        CallKey key = new CallKey(method, args);
+        if (BYPASS.get() == null) {
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null && (entry.kind != CachePolicy.Kind.NEW_BLOCK || entry.height == height)) {
+                methodCounters.hits.increment();
+                return entry.value;
+            }
+        }
+        methodCounters.misses.increment();
+        Object value = call(delegate, method, args);
+        if (value != null) {
+            cache.put(key, new Entry(value, kind, height, policy(method).ttlNanos));
+        }
+        return value;
+    }
+
+    private CachePolicy.Kind kind(Method method, Object[] args, long height) {
+        if (method.getReturnType() == void.class) {
+            return CachePolicy.Kind.NONE;
+        }
+        CachePolicy policy = policy(method);
+        switch (policy.kind) {
+            case NEW_BLOCK:
+                return height == 0 ? CachePolicy.Kind.NONE : CachePolicy.Kind.NEW_BLOCK;
+            case FINALIZED:
+                if (height == 0) {
+                    return CachePolicy.Kind.NONE;
+                }
+                return policy.heightOf.applyAsLong(args) <= height - policy.depth ? CachePolicy.Kind.FOREVER : CachePolicy.Kind.NEW_BLOCK;
+            default:
+                return policy.kind;
+        }
+    }
+
+    private CachePolicy policy(Method method) {
+        CachePolicy policy = policies.get(method.getName() + "/" + method.getParameterCount());
+        if (policy == null) {
+            policy = policies.get(method.getName());
+        }
+        return policy == null ? CachePolicy.none() : policy;
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final CachePolicy.Kind kind;
+        private final long height;
+        private final long ttlNanos;
+
+        private Entry(Object value, CachePolicy.Kind kind, long height, long ttlNanos) {
+            this.value = value;
+            this.kind = kind;
+            this.height = height;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    private static class EntryExpiry implements Expiry<CallKey, Entry> {
+
+        @Override
+        public long expireAfterCreate(CallKey key, Entry entry, long currentTime) {
+            switch (entry.kind) {
+                case TTL:
+                    return entry.ttlNanos;
+                case NEW_BLOCK:
+                    return BLOCK_INTERVAL_NANOS;
+                default:
+                    return Long.MAX_VALUE;
+            }
+        }
+
+        @Override
+        public long expireAfterUpdate(CallKey key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CallKey key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
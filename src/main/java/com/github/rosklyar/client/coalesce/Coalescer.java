@@ -0,0 +1,144 @@
+package com.github.rosklyar.client.coalesce;
+
+import com.github.rosklyar.client.proxy.CallKey;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.rosklyar.client.proxy.Proxies.call;
+import static com.github.rosklyar.client.proxy.Proxies.invokeObjectMethod;
+import static java.util.Arrays.asList;
+
+/**
+ * Single-flight decorator for the read-only client interfaces: concurrent calls of the same method with equal
+ * arguments share one call of the delegate and receive the same decoded result (or the same exception).
+ * Nothing is cached; a call arriving after the shared one completed goes to the delegate again.
+ * <p>
+ * Methods returning {@code void} (lock, unlock, boot) and {@code generate} are never coalesced. Arguments are keyed
+ * by {@code equals}, arrays by content, so calls whose arguments lack value equality are simply not shared.
+ */
+public class Coalescer<T> {
+
+    private static final Set<String> NEVER = Collections.singleton("generate");
+
+    private final T client;
+    private final Set<String> enabled;
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private Coalescer(Class<T> type, T delegate, Set<String> enabled) {
+        this.enabled = enabled;
+        this.client = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new Handler(delegate)));
+    }
+
+    /**
+     * Coalesces every read method of {@code type}.
+     */
+    public static <T> Coalescer<T> of(Class<T> type, T delegate) {
+        Set<String> enabled = new HashSet<>();
+        for (Method method : type.getMethods()) {
+            if (coalescible(method)) {
+                enabled.add(method.getName());
+            }
+        }
+        return new Coalescer<>(type, delegate, enabled);
+    }
+
+    /**
+     * Coalesces only the named read methods of {@code type}, all overloads included.
+     */
+    public static <T> Coalescer<T> of(Class<T> type, T delegate, String... methods) {
+        Set<String> enabled = new HashSet<>();
+        for (Method method : type.getMethods()) {
+            if (coalescible(method) && asList(methods).contains(method.getName())) {
+                enabled.add(method.getName());
+            }
+        }
+        return new Coalescer<>(type, delegate, enabled);
+    }
+
+    public T client() {
+        return client;
+    }
+
+    public long calls(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.calls.sum();
+    }
+
+    public long coalesced(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.coalesced.sum();
+    }
+
+    public Map<String, Long> coalesced() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((method, methodCounters) -> snapshot.put(method, methodCounters.coalesced.sum()));
+        return snapshot;
+    }
+
+    private static boolean coalescible(Method method) {
+        return method.getReturnType() != void.class && !NEVER.contains(method.getName());
+    }
+
+    private class Handler implements InvocationHandler {
+
+        private final T delegate;
+
+        private Handler(T delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args, "Coalescer(" + delegate + ")");
+            }
+            if (!enabled.contains(method.getName())) {
+                return call(delegate, method, args);
+            }
+            Counters methodCounters = counters.computeIfAbsent(method.getName(), name -> new Counters());
+            methodCounters.calls.increment();
+            CallKey key = new CallKey(method, args);
+            CompletableFuture<Object> shared = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                methodCounters.coalesced.increment();
+                return await(existing);
+            }
+            try {
+                Object result = call(delegate, method, args);
+                shared.complete(result);
+                return result;
+            } catch (Throwable e) {
+                shared.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, shared);
+            }
+        }
+
+        private Object await(CompletableFuture<Object> shared) throws Throwable {
+            try {
+                return shared.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
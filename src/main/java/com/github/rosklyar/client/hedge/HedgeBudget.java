@@ -0,0 +1,49 @@
+package com.github.rosklyar.client.hedge;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket limiting hedges to a fraction of the calls: every hedgeable call adds {@code ratio} of a token, every
+ * hedge takes a whole one, and at most {@code burst} tokens are saved up. One budget may be shared by several
+ * {@link Hedger}s.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private double tokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.burst = burst;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        synchronized (this) {
+            acquired = tokens >= 1;
+            if (acquired) {
+                tokens -= 1;
+            }
+        }
+        (acquired ? granted : exhausted).increment();
+        return acquired;
+    }
+
+    public long granted() {
+        return granted.sum();
+    }
+
+    /**
+     * @return hedges not sent because the budget was used up
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+}
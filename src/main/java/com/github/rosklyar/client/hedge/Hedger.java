@@ -0,0 +1,270 @@
+package com.github.rosklyar.client.hedge;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.rosklyar.client.proxy.Proxies.call;
+import static com.github.rosklyar.client.proxy.Proxies.invokeObjectMethod;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Hedging decorator for latency-critical reads: when a call has not completed within the 95th percentile latency of
+ * its method, a duplicate goes to the {@code hedge} client and whichever succeeds first is returned.
+ * <p>
+ * The hedger does not know which node served the primary call. With one balanced client as both primary and hedge,
+ * the duplicate goes wherever the balancer routes it, and that can be the node the primary is still waiting on. The
+ * {@link com.github.rosklyar.client.balance.LatencyAwareRule} counts the primary's request in that node's cost, which
+ * makes another node more likely but not certain, least of all with two or three nodes. A hedge client bound to
+ * other nodes is the only way to keep the duplicate off the primary's node.
+ * <p>
+ * Hedges are paid from a {@link HedgeBudget}, so they add at most its ratio of extra load. A method is not hedged
+ * until {@link LatencyWindow#MIN_SAMPLES} calls were measured; until then calls run on the calling thread. Measured
+ * calls run their attempts on a shared pool of at most {@link #MAX_ATTEMPT_THREADS} threads, so the caller can take
+ * the hedge's answer while the primary is still blocked; when the pool is busy the call runs on the calling thread
+ * without a hedge. A call whose attempts all fail throws the failure of the last one. Losing attempts are left to
+ * finish so their latency still counts.
+ */
+public class Hedger<T> {
+
+    public static final List<String> DEFAULT_METHODS = Arrays.asList("getFromAddress", "status", "unconfirmedTransactions", "height");
+    public static final double DEFAULT_BUDGET_RATIO = 0.05;
+    public static final int DEFAULT_BURST = 10;
+    public static final int MAX_ATTEMPT_THREADS = 128;
+
+    // waiting less than this costs more in duplicate load than it can save in latency
+    private static final long MIN_DELAY_NANOS = 1_000_000;
+
+    private static final ExecutorService ATTEMPTS = new ThreadPoolExecutor(0, MAX_ATTEMPT_THREADS, 60, SECONDS, new SynchronousQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "nem-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final T client;
+    private final Set<String> enabled;
+    private final HedgeBudget budget;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private Hedger(Class<T> type, T primary, T hedge, HedgeBudget budget, List<String> methods) {
+        this.enabled = new HashSet<>();
+        for (Method method : type.getMethods()) {
+            if (method.getReturnType() != void.class && methods.contains(method.getName())) {
+                enabled.add(method.getName());
+            }
+        }
+        this.budget = budget;
+        this.client = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new Handler(primary, hedge)));
+    }
+
+    /**
+     * Hedges the {@link #DEFAULT_METHODS} of {@code type} through the same client, with a budget of
+     * {@link #DEFAULT_BUDGET_RATIO}. The hedge may reach the same node as the primary call.
+     */
+    public static <T> Hedger<T> of(Class<T> type, T delegate) {
+        return new Hedger<>(type, delegate, delegate, new HedgeBudget(DEFAULT_BUDGET_RATIO, DEFAULT_BURST), DEFAULT_METHODS);
+    }
+
+    /**
+     * Hedges the named methods of {@code type}, all overloads included, sending duplicates to {@code hedge}.
+     */
+    public static <T> Hedger<T> of(Class<T> type, T primary, T hedge, HedgeBudget budget, String... methods) {
+        return new Hedger<>(type, primary, hedge, budget, Arrays.asList(methods));
+    }
+
+    public T client() {
+        return client;
+    }
+
+    public HedgeBudget budget() {
+        return budget;
+    }
+
+    public long calls(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.calls.sum();
+    }
+
+    public long hedged(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.hedged.sum();
+    }
+
+    /**
+     * @return hedges that returned before the primary call
+     */
+    public long wins(String method) {
+        Counters methodCounters = counters.get(method);
+        return methodCounters == null ? 0 : methodCounters.wins.sum();
+    }
+
+    /**
+     * @return hedges whose result was not used
+     */
+    public long wasted(String method) {
+        return hedged(method) - wins(method);
+    }
+
+    public Map<String, Long> wins() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((method, methodCounters) -> snapshot.put(method, methodCounters.wins.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return the delay after which calls of {@code method} are hedged, in milliseconds; infinite until measured
+     */
+    public double p95Millis(String method) {
+        Counters methodCounters = counters.get(method);
+        long p95Nanos = methodCounters == null ? Long.MAX_VALUE : methodCounters.latencies.p95Nanos();
+        return p95Nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : p95Nanos / 1_000_000.0;
+    }
+
+    private class Handler implements InvocationHandler {
+
+        private final T primary;
+        private final T hedge;
+
+        private Handler(T primary, T hedge) {
+            this.primary = primary;
+            this.hedge = hedge;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args, "Hedger(" + primary + ")");
+            }
+            if (!enabled.contains(method.getName())) {
+                return call(primary, method, args);
+            }
+            Counters methodCounters = counters.computeIfAbsent(method.getName(), name -> new Counters());
+            methodCounters.calls.increment();
+            budget.deposit();
+            long delayNanos = methodCounters.latencies.p95Nanos();
+            Attempts attempts = new Attempts(method, args, methodCounters);
+            if (delayNanos == Long.MAX_VALUE || !attempts.launch(primary, false)) {
+                return measured(method, args, methodCounters);
+            }
+            try {
+                try {
+                    return attempts.result.get(Math.max(delayNanos, MIN_DELAY_NANOS), NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // hold the call open first, so a failing primary cannot fail it while the hedge is still running
+                    if (attempts.hold()) {
+                        if (budget.tryAcquire() && attempts.launch(hedge, true)) {
+                            methodCounters.hedged.increment();
+                        } else {
+                            attempts.release();
+                        }
+                    }
+                    return attempts.result.get();
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object measured(Method method, Object[] args, Counters methodCounters) throws Throwable {
+            long start = System.nanoTime();
+            Object value = call(primary, method, args);
+            methodCounters.latencies.record(System.nanoTime() - start);
+            return value;
+        }
+    }
+
+    private static class Attempts {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger(1);
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final Method method;
+        private final Object[] args;
+        private final Counters counters;
+        private volatile Throwable failure;
+
+        private Attempts(Method method, Object[] args, Counters counters) {
+            this.method = method;
+            this.args = args;
+            this.counters = counters;
+        }
+
+        /**
+         * Counts one more attempt in flight, unless the call has already completed.
+         */
+        private boolean hold() {
+            while (!result.isDone()) {
+                int current = running.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (running.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Ends an attempt that was counted in flight; the last one to fail completes the call with its failure.
+         */
+        private void release() {
+            if (running.decrementAndGet() == 0 && !settled.get()) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        /**
+         * Runs an attempt already counted in flight on the attempt pool.
+         *
+         * @return false when the pool is full and the attempt did not start
+         */
+        private boolean launch(Object target, boolean hedge) {
+            try {
+                ATTEMPTS.execute(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        Object value = call(target, method, args);
+                        counters.latencies.record(System.nanoTime() - start);
+                        if (settled.compareAndSet(false, true)) {
+                            if (hedge) {
+                                counters.wins.increment();
+                            }
+                            result.complete(value);
+                        }
+                    } catch (Throwable e) {
+                        failure = e;
+                        release();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+    }
+
+    private static class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder hedged = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LatencyWindow latencies = new LatencyWindow();
+    }
+}
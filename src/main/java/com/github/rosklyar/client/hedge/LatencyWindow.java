@@ -0,0 +1,37 @@
+package com.github.rosklyar.client.hedge;
+
+import java.util.Arrays;
+
+/**
+ * The 95th percentile of the last {@link #SIZE} latencies of one method, recomputed every {@link #STEP} samples.
+ */
+class LatencyWindow {
+
+    static final int SIZE = 512;
+    static final int STEP = 32;
+    static final int MIN_SAMPLES = 20;
+
+    private final long[] samples = new long[SIZE];
+    private long recorded;
+    private int next;
+    private volatile long p95Nanos = Long.MAX_VALUE;
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SIZE;
+        recorded++;
+        if (recorded == MIN_SAMPLES || (recorded > MIN_SAMPLES && recorded % STEP == 0)) {
+            int count = (int) Math.min(recorded, SIZE);
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+
+    /**
+     * @return the current 95th percentile, {@link Long#MAX_VALUE} until {@link #MIN_SAMPLES} samples were recorded
+     */
+    long p95Nanos() {
+        return p95Nanos;
+    }
+}
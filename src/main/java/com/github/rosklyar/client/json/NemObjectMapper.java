@@ -0,0 +1,40 @@
+package com.github.rosklyar.client.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.github.rosklyar.client.account.domain.transaction.TransactionData;
+import com.github.rosklyar.client.transaction.domain.Transaction;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.MapperFeature.ALLOW_FINAL_FIELDS_AS_MUTATORS;
+import static com.fasterxml.jackson.databind.MapperFeature.INFER_PROPERTY_MUTATORS;
+import static com.fasterxml.jackson.databind.MapperFeature.USE_GETTERS_AS_SETTERS;
+import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
+
+/**
+ * The {@link ObjectMapper} used to encode requests to and decode responses from NIS. A mapper is thread safe and
+ * caches its serializers and deserializers per type, so one instance should be shared by all clients instead of
+ * creating one per client.
+ * <p>
+ * Domain classes are immutable and built through creators or Lombok builders, so the reflective mutator discovery
+ * Jackson does by default is switched off; Afterburner replaces the reflective builder and creator calls with
+ * generated bytecode.
+ */
+public class NemObjectMapper {
+
+    public static ObjectMapper create() {
+        return new ObjectMapper()
+                .registerModule(new AfterburnerModule())
+                .registerModule(new SimpleModule("nem")
+                        .addDeserializer(TransactionData.class, new TransactionDataDeserializer())
+                        .addDeserializer(Transaction.class, new TransactionDeserializer()))
+                .setSerializationInclusion(NON_NULL)
+                .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(FAIL_ON_EMPTY_BEANS, false)
+                .configure(USE_GETTERS_AS_SETTERS, false)
+                .configure(ALLOW_FINAL_FIELDS_AS_MUTATORS, false)
+                .configure(INFER_PROPERTY_MUTATORS, false);
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.rosklyar.client.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.github.rosklyar.client.account.domain.Message;
+import com.github.rosklyar.client.account.domain.Signature;
+import com.github.rosklyar.client.account.domain.transaction.TransactionData;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+
+/**
+ * Hand-written deserializer for {@link TransactionData}, the type every block and transaction page is made of.
+ * Reads fields straight into the builder instead of going through the reflective builder deserializer.
+ */
+class TransactionDataDeserializer extends StdDeserializer<TransactionData> {
+
+    private static final JavaType SIGNATURES = TypeFactory.defaultInstance().constructCollectionType(List.class, Signature.class);
+
+    TransactionDataDeserializer() {
+        super(TransactionData.class);
+    }
+
+    @Override
+    public TransactionData deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        TransactionData.TransactionDataBuilder builder = TransactionData.builder();
+        while (p.nextToken() != END_OBJECT) {
+            String field = p.getCurrentName();
+            if (p.nextToken() == VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "timeStamp":
+                    builder.timeStamp(p.getValueAsInt());
+                    break;
+                case "amount":
+                    builder.amount(p.getValueAsLong());
+                    break;
+                case "signature":
+                    builder.signature(p.getText());
+                    break;
+                case "fee":
+                    builder.fee(p.getValueAsLong());
+                    break;
+                case "recipient":
+                    builder.recipient(p.getText());
+                    break;
+                case "type":
+                    builder.type(p.getValueAsInt());
+                    break;
+                case "deadline":
+                    builder.deadline(p.getValueAsInt());
+                    break;
+                case "message":
+                    builder.message(ctxt.readValue(p, Message.class));
+                    break;
+                case "version":
+                    builder.version(p.getValueAsInt());
+                    break;
+                case "signer":
+                    builder.signer(p.getText());
+                    break;
+                case "otherTrans":
+                    builder.otherTrans(deserialize(p, ctxt));
+                    break;
+                case "signatures":
+                    builder.signatures(ctxt.readValue(p, SIGNATURES));
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+}
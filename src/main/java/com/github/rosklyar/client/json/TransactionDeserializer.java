@@ -0,0 +1,93 @@
+package com.github.rosklyar.client.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.github.rosklyar.client.account.domain.Hash;
+import com.github.rosklyar.client.account.domain.Message;
+import com.github.rosklyar.client.transaction.domain.Transaction;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import com.github.rosklyar.client.transaction.domain.multisig.Modification;
+import com.github.rosklyar.client.transaction.domain.multisig.RelativeChange;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+
+/**
+ * Hand-written deserializer for {@link Transaction}, the type of the transactions in {@code blocks-after} responses.
+ */
+class TransactionDeserializer extends StdDeserializer<Transaction> {
+
+    private static final JavaType MODIFICATIONS = TypeFactory.defaultInstance().constructCollectionType(List.class, Modification.class);
+    private static final JavaType MOSAICS = TypeFactory.defaultInstance().constructCollectionType(List.class, MosaicTransfer.class);
+
+    TransactionDeserializer() {
+        super(Transaction.class);
+    }
+
+    @Override
+    public Transaction deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Transaction.TransactionBuilder builder = Transaction.builder();
+        while (p.nextToken() != END_OBJECT) {
+            String field = p.getCurrentName();
+            if (p.nextToken() == VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "timeStamp":
+                    builder.timeStamp(p.getValueAsInt());
+                    break;
+                case "amount":
+                    builder.amount(p.getValueAsLong());
+                    break;
+                case "fee":
+                    builder.fee(p.getValueAsLong());
+                    break;
+                case "recipient":
+                    builder.recipient(p.getText());
+                    break;
+                case "type":
+                    builder.type(p.getValueAsInt());
+                    break;
+                case "deadline":
+                    builder.deadline(p.getValueAsInt());
+                    break;
+                case "message":
+                    builder.message(ctxt.readValue(p, Message.class));
+                    break;
+                case "version":
+                    builder.version(p.getValueAsInt());
+                    break;
+                case "signer":
+                    builder.signer(p.getText());
+                    break;
+                case "modifications":
+                    builder.modifications(ctxt.readValue(p, MODIFICATIONS));
+                    break;
+                case "minCosignatories":
+                    builder.minCosignatories(ctxt.readValue(p, RelativeChange.class));
+                    break;
+                case "otherTrans":
+                    builder.otherTrans(deserialize(p, ctxt));
+                    break;
+                case "mosaics":
+                    builder.mosaics(ctxt.readValue(p, MOSAICS));
+                    break;
+                case "otherAccount":
+                    builder.otherAccount(p.getText());
+                    break;
+                case "otherHash":
+                    builder.otherHash(ctxt.readValue(p, Hash.class));
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.rosklyar.client.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes received on the wire versus bytes handed to the decoder, per endpoint ({@code "GET /account/importances"}).
+ */
+public class CompressionMetrics {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, boolean compressed, long wireBytes, long decodedBytes) {
+        Endpoint stats = endpoint(endpoint);
+        stats.responses.increment();
+        if (compressed) {
+            stats.compressed.increment();
+        }
+        stats.wireBytes.add(wireBytes);
+        stats.decodedBytes.add(decodedBytes);
+    }
+
+    public Endpoint endpoint(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+    }
+
+    public Map<String, Double> ratios() {
+        Map<String, Double> ratios = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> ratios.put(endpoint, stats.ratio()));
+        return ratios;
+    }
+
+    public static class Endpoint {
+
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+
+        public long responses() {
+            return responses.sum();
+        }
+
+        public long compressed() {
+            return compressed.sum();
+        }
+
+        public long wireBytes() {
+            return wireBytes.sum();
+        }
+
+        public long decodedBytes() {
+            return decodedBytes.sum();
+        }
+
+        /**
+         * @return decoded bytes per byte on the wire, 1 when nothing was received.
+         */
+        public double ratio() {
+            long wire = wireBytes.sum();
+            return wire == 0 ? 1 : (double) decodedBytes.sum() / wire;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.rosklyar.client.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed 1-2-5 buckets from 1 millisecond to one minute.
+ * Percentiles are reported as the upper bound of the bucket they fall into.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 60_000, Long.MAX_VALUE};
+
+    private final LongAdder[] counts = new LongAdder[BOUNDS.length];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long millis) {
+        int bucket = 0;
+        while (millis > BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts[bucket].increment();
+        total.increment();
+        max.accumulate(millis);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return upper bound in milliseconds of the bucket holding the percentile, 0 when nothing was recorded
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = counts();
+        long recorded = 0;
+        for (long count : snapshot) {
+            recorded += count;
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(recorded * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] > 0) {
+                return Math.min(BOUNDS[i], max());
+            }
+        }
+        return max();
+    }
+
+    public long[] bounds() {
+        return BOUNDS.clone();
+    }
+
+    public long[] counts() {
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+}
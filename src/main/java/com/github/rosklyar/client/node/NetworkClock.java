@@ -0,0 +1,9 @@
+package com.github.rosklyar.client.node;
+
+public interface NetworkClock {
+
+    /**
+     * @return seconds since the NEM nemesis block, as used in transaction timeStamp and deadline
+     */
+    int currentTime();
+}
@@ -0,0 +1,50 @@
+package com.github.rosklyar.client.node;
+
+/**
+ * Network time taken from {@link NodeClient#extendedInfo()}. With a positive resync interval the node is asked once
+ * per interval and the local monotonic clock fills in between; with zero the node is asked on every call.
+ */
+public class NodeNetworkClock implements NetworkClock {
+
+    private final NodeClient nodeClient;
+    private final long resyncIntervalNanos;
+    private volatile Sync sync;
+
+    public NodeNetworkClock(NodeClient nodeClient, long resyncIntervalMillis) {
+        this.nodeClient = nodeClient;
+        this.resyncIntervalNanos = resyncIntervalMillis * 1_000_000L;
+    }
+
+    @Override
+    public int currentTime() {
+        if (resyncIntervalNanos == 0) {
+            return nodeClient.extendedInfo().nisInfo.currentTime;
+        }
+        long now = System.nanoTime();
+        Sync current = sync;
+        if (current == null || now - current.syncedAt >= resyncIntervalNanos) {
+            current = resync(now);
+        }
+        return (int) (current.networkTime + (now - current.syncedAt) / 1_000_000_000L);
+    }
+
+    private synchronized Sync resync(long now) {
+        Sync current = sync;
+        if (current != null && now - current.syncedAt < resyncIntervalNanos) {
+            return current;
+        }
+        long syncedAt = System.nanoTime();
+        sync = new Sync(nodeClient.extendedInfo().nisInfo.currentTime, syncedAt);
+        return sync;
+    }
+
+    private static class Sync {
+        private final int networkTime;
+        private final long syncedAt;
+
+        private Sync(int networkTime, long syncedAt) {
+            this.networkTime = networkTime;
+            this.syncedAt = syncedAt;
+        }
+    }
+}
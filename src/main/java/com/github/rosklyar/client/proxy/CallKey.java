@@ -0,0 +1,35 @@
+package com.github.rosklyar.client.proxy;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * A method together with its arguments, compared deeply so that array arguments match by content. Calls whose
+ * arguments lack value equality never match.
+ */
+public class CallKey {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Method method;
+    private final Object[] args;
+
+    public CallKey(Method method, Object[] args) {
+        this.method = method;
+        this.args = args == null ? NO_ARGS : args.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CallKey)) {
+            return false;
+        }
+        CallKey other = (CallKey) o;
+        return method.equals(other.method) && Arrays.deepEquals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * method.hashCode() + Arrays.deepHashCode(args);
+    }
+}
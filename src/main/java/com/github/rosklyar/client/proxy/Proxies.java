@@ -0,0 +1,37 @@
+package com.github.rosklyar.client.proxy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Plumbing shared by the dynamic-proxy decorators of the clients (cache, coalescer, bulkheads, hedger). Not meant
+ * for use outside of this library.
+ */
+public class Proxies {
+
+    /**
+     * Answers the {@link Object} methods of a decorator proxy: identity equality and hash code, and a string naming the
+     * decorator.
+     */
+    public static Object invokeObjectMethod(Object proxy, Method method, Object[] args, String description) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return description;
+        }
+    }
+
+    /**
+     * Calls {@code method} on {@code target}, rethrowing what the method threw instead of its reflective wrapper.
+     */
+    public static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.rosklyar.client.retry;
+
+import feign.Client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retry layer shared by all clients of a factory, replacing Feign's per-call {@code Retryer}. Only GET requests are
+ * retried, on connection errors and on 502, 503 and 504; posts such as announces are sent exactly once, since a
+ * request that timed out may still have reached the node.
+ * <p>
+ * Sleeps between attempts follow decorrelated jitter, {@code min(max, random(base, 3 * previous))}, so callers failing
+ * together spread out instead of retrying in lockstep. All clients draw from one {@link RetryBudget}, which keeps an
+ * outage from multiplying the load by the number of attempts.
+ */
+public class Retries {
+
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public Retries() {
+        this(RetryPolicy.builder().build());
+    }
+
+    public Retries(RetryPolicy policy) {
+        this.policy = policy;
+        this.budget = new RetryBudget(policy.budgetPercent / 100, policy.budgetBurst);
+    }
+
+    /**
+     * Retries the requests of {@code delegate}; above Ribbon every retry can go to another node.
+     */
+    public Client client(Client delegate) {
+        return policy.maxAttempts > 1 ? new RetryingClient(delegate, this) : delegate;
+    }
+
+    public RetryPolicy policy() {
+        return policy;
+    }
+
+    public RetryBudget budget() {
+        return budget;
+    }
+
+    /**
+     * @return requests of {@code path} sent so far, retries included
+     */
+    public long attempts(String path) {
+        Counters pathCounters = counters.get(path);
+        return pathCounters == null ? 0 : pathCounters.attempts.sum();
+    }
+
+    public long retries(String path) {
+        Counters pathCounters = counters.get(path);
+        return pathCounters == null ? 0 : pathCounters.retries.sum();
+    }
+
+    public Map<String, Long> retries() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((path, pathCounters) -> snapshot.put(path, pathCounters.retries.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return retries of {@code path} given up because the budget was used up
+     */
+    public long exhausted(String path) {
+        Counters pathCounters = counters.get(path);
+        return pathCounters == null ? 0 : pathCounters.exhausted.sum();
+    }
+
+    /**
+     * @param previousMillis the previous sleep, or 0 before the first retry, which then draws from
+     *                       {@code random(base, 3 * base)}
+     */
+    long nextDelayMillis(long previousMillis) {
+        long previous = Math.max(policy.baseDelayMillis, previousMillis);
+        long delay = policy.baseDelayMillis + (long) (ThreadLocalRandom.current().nextDouble() * (previous * 3 - policy.baseDelayMillis));
+        return Math.min(policy.maxDelayMillis, delay);
+    }
+
+    Counters counters(String path) {
+        return counters.computeIfAbsent(path, key -> new Counters());
+    }
+
+    static class Counters {
+        final LongAdder attempts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.rosklyar.client.retry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket capping retries at a fraction of the requests: every request adds {@code ratio} of a token, every retry
+ * takes a whole one, and at most {@code burst} tokens are saved up. The bucket starts full, so a quiet client can
+ * still retry a few isolated failures.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double burst;
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private double tokens;
+
+    public RetryBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.burst = burst;
+        this.tokens = burst;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        synchronized (this) {
+            acquired = tokens >= 1;
+            if (acquired) {
+                tokens -= 1;
+            }
+        }
+        (acquired ? granted : exhausted).increment();
+        return acquired;
+    }
+
+    public long granted() {
+        return granted.sum();
+    }
+
+    /**
+     * @return retries given up because the budget was used up
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+}
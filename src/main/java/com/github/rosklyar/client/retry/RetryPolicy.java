@@ -0,0 +1,27 @@
+package com.github.rosklyar.client.retry;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * How {@link Retries} retries GET requests: at most {@code maxAttempts} attempts in total, sleeping with decorrelated
+ * jitter between {@code baseDelayMillis} and {@code maxDelayMillis}, while retries stay within
+ * {@code budgetPercent} of the requests plus a reserve of {@code budgetBurst}. One attempt disables retries.
+ */
+@EqualsAndHashCode
+@ToString
+@Builder
+public class RetryPolicy {
+
+    @Builder.Default
+    public final int maxAttempts = 3;
+    @Builder.Default
+    public final long baseDelayMillis = 50;
+    @Builder.Default
+    public final long maxDelayMillis = 2_000;
+    @Builder.Default
+    public final double budgetPercent = 10;
+    @Builder.Default
+    public final int budgetBurst = 10;
+}
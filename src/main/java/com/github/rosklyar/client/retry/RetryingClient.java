@@ -0,0 +1,75 @@
+package com.github.rosklyar.client.retry;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+/**
+ * {@link Client} decorator doing the retries of {@link Retries}. A response that is retried is closed first, so its
+ * connection goes back to the pool.
+ */
+class RetryingClient implements Client {
+
+    private final Client delegate;
+    private final Retries retries;
+
+    RetryingClient(Client delegate, Retries retries) {
+        this.delegate = delegate;
+        this.retries = retries;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!"GET".equals(request.method())) {
+            return delegate.execute(request, options);
+        }
+        Retries.Counters counters = retries.counters(URI.create(request.url()).getPath());
+        retries.budget().deposit();
+        long delayMillis = 0;
+        for (int attempt = 1; ; attempt++) {
+            counters.attempts.increment();
+            boolean last = attempt >= retries.policy().maxAttempts;
+            try {
+                Response response = delegate.execute(request, options);
+                if (last || !retryable(response.status()) || !acquire(counters)) {
+                    return response;
+                }
+                if (response.body() != null) {
+                    response.body().close();
+                }
+            } catch (IOException e) {
+                if (last || !acquire(counters)) {
+                    throw e;
+                }
+            }
+            counters.retries.increment();
+            delayMillis = retries.nextDelayMillis(delayMillis);
+            sleep(delayMillis);
+        }
+    }
+
+    private boolean acquire(Retries.Counters counters) {
+        if (retries.budget().tryAcquire()) {
+            return true;
+        }
+        counters.exhausted.increment();
+        return false;
+    }
+
+    private static boolean retryable(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted between retries");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.rosklyar.client.stream;
+
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import feign.Response;
+
+/**
+ * Endpoints with large list responses, returning the undecoded response so the body can be parsed while it is
+ * still being received.
+ */
+@Headers({"Accept: application/json"})
+public interface FeignStreamingClient {
+
+    @Headers("Content-Type: application/json")
+    @RequestLine("POST /local/chain/blocks-after")
+    Response blocksAfter(BlockHeight height);
+
+    @RequestLine("GET /account/importances")
+    Response importances();
+
+    @RequestLine("GET /account/historical/get?address={address}&startHeight={startHeight}&endHeight={endHeight}&increment={increment}")
+    Response history(@Param("address") String address, @Param("startHeight") long startHeight, @Param("endHeight") long endHeight, @Param("increment") int increment);
+
+    @RequestLine("GET /account/transfers/all?address={address}")
+    Response allTransactions(@Param("address") String address);
+
+    @RequestLine("GET /account/transfers/all?address={address}&id={id}")
+    Response allTransactions(@Param("address") String address, @Param("id") long id);
+
+    @RequestLine("GET /node/peer-list/all")
+    Response peersList();
+}
@@ -0,0 +1,113 @@
+package com.github.rosklyar.client.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+
+/**
+ * Iterates over the elements of the arrays held by the given top level fields of a JSON object, such as
+ * {@code {"data": [...]}}, parsing one element at a time from the stream. Other fields are skipped.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final Set<String> fields;
+    private String field;
+    private boolean inArray;
+    private boolean ready;
+    private boolean finished;
+
+    public JsonArrayIterator(ObjectMapper objectMapper, InputStream in, Class<T> elementType, Set<String> fields) {
+        try {
+            this.parser = objectMapper.getFactory().createParser(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.reader = objectMapper.readerFor(elementType);
+        this.fields = fields;
+    }
+
+    /**
+     * @return the name of the field holding the array the last returned element came from.
+     */
+    public String field() {
+        return field;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !finished) {
+            try {
+                ready = advance();
+                finished = !ready;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        try {
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // leaves the parser on the first token of the next element
+    private boolean advance() throws IOException {
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return false;
+            }
+            if (inArray) {
+                if (token != END_ARRAY) {
+                    return true;
+                }
+                inArray = false;
+            } else if (token == FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == START_ARRAY && fields.contains(name)) {
+                    field = name;
+                    inArray = true;
+                } else {
+                    parser.skipChildren();
+                }
+            } else if (token == END_OBJECT && parser.getParsingContext().inRoot()) {
+                return false;
+            }
+        }
+    }
+}
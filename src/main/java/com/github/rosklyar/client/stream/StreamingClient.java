@@ -0,0 +1,97 @@
+package com.github.rosklyar.client.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.account.domain.history.HistoryData;
+import com.github.rosklyar.client.account.domain.importance.ImportanceInfo;
+import com.github.rosklyar.client.account.domain.transaction.TransactionMetaDataPair;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.blockchain.domain.block.BlockInfo;
+import com.github.rosklyar.client.node.domain.Node;
+import feign.FeignException;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.collect.ImmutableSet.of;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+
+/**
+ * Streaming variants of the calls with large list responses. Elements are parsed one at a time while the body is
+ * being received, so memory does not grow with the response and the first element is available before the body
+ * has been downloaded.
+ * <p>
+ * Every returned stream holds the HTTP connection and must be closed, e.g. with try-with-resources.
+ */
+public class StreamingClient {
+
+    private static final Set<String> DATA = of("data");
+    private static final Set<String> PEERS = of("inactive", "active", "busy", "failure");
+
+    private final FeignStreamingClient feignStreamingClient;
+    private final ObjectMapper objectMapper;
+
+    public StreamingClient(FeignStreamingClient feignStreamingClient, ObjectMapper objectMapper) {
+        this.feignStreamingClient = feignStreamingClient;
+        this.objectMapper = objectMapper;
+    }
+
+    public Stream<BlockInfo> blocksAfter(BlockHeight height) {
+        return stream(open("blocksAfter", feignStreamingClient.blocksAfter(height), BlockInfo.class, DATA));
+    }
+
+    public Stream<ImportanceInfo> importances() {
+        return stream(open("importances", feignStreamingClient.importances(), ImportanceInfo.class, DATA));
+    }
+
+    public Stream<HistoryData> history(String address, long startHeight, long endHeight, int increment) {
+        return stream(open("history", feignStreamingClient.history(address, startHeight, endHeight, increment), HistoryData.class, DATA));
+    }
+
+    public Stream<TransactionMetaDataPair> allTransactions(String address) {
+        return stream(open("allTransactions", feignStreamingClient.allTransactions(address), TransactionMetaDataPair.class, DATA));
+    }
+
+    public Stream<TransactionMetaDataPair> allTransactions(String address, long id) {
+        return stream(open("allTransactions", feignStreamingClient.allTransactions(address, id), TransactionMetaDataPair.class, DATA));
+    }
+
+    /**
+     * Hands every peer to {@code consumer} together with the name of its list ({@code active}, {@code busy}, ...).
+     */
+    public void peersList(BiConsumer<String, Node> consumer) {
+        try (JsonArrayIterator<Node> peers = open("peersList", feignStreamingClient.peersList(), Node.class, PEERS)) {
+            while (peers.hasNext()) {
+                Node node = peers.next();
+                consumer.accept(peers.field(), node);
+            }
+        }
+    }
+
+    private <T> JsonArrayIterator<T> open(String method, Response response, Class<T> elementType, Set<String> fields) {
+        if (response.status() < 200 || response.status() >= 300) {
+            // the exception reads the error body, so the response is closed only afterwards
+            FeignException error = FeignException.errorStatus("FeignStreamingClient#" + method, response);
+            response.close();
+            throw error;
+        }
+        try {
+            InputStream body = response.body().asInputStream();
+            return new JsonArrayIterator<>(objectMapper, body, elementType, fields);
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> Stream<T> stream(JsonArrayIterator<T> iterator) {
+        return StreamSupport.stream(spliteratorUnknownSize(iterator, ORDERED | NONNULL), false).onClose(iterator::close);
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.rosklyar.client.transaction;
+
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+
+import static java.lang.String.format;
+
+public class AnnounceRejectedException extends RuntimeException {
+
+    public final NemAnnounceResult result;
+
+    public AnnounceRejectedException(NemAnnounceResult result) {
+        super(format("Transaction was rejected by node: %s (code %d)", result.message, result.code));
+        this.result = result;
+    }
+}
@@ -4,10 +4,13 @@ import com.github.rosklyar.client.account.domain.Hash;
 import com.github.rosklyar.client.account.domain.Message;
 import com.github.rosklyar.client.mosaic.domain.Levy;
 import com.github.rosklyar.client.mosaic.domain.MosaicProperty;
+import com.github.rosklyar.client.node.NetworkClock;
 import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.NodeNetworkClock;
 import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
 import com.github.rosklyar.client.transaction.domain.ProvisionNamespaceTransaction;
 import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
 import com.github.rosklyar.client.transaction.domain.Transaction;
 import com.github.rosklyar.client.transaction.domain.importance.Action;
 import com.github.rosklyar.client.transaction.domain.importance.ImportanceTransferTransaction;
@@ -20,14 +23,21 @@ import com.github.rosklyar.client.transaction.encode.HexConverter;
 import com.github.rosklyar.client.transaction.encode.Signer;
 import com.github.rosklyar.client.transaction.encode.TransactionEncoder;
 import com.github.rosklyar.client.transaction.fee.FeeCalculator;
+import com.github.rosklyar.client.transaction.preflight.AccountBalanceCache.Reservation;
+import com.github.rosklyar.client.transaction.preflight.PreflightCheck;
+import com.github.rosklyar.client.transaction.preflight.PreflightValidator;
 import com.github.rosklyar.client.transaction.version.Network;
 import com.github.rosklyar.client.transaction.version.VersionProvider;
+import com.github.rosklyar.utils.AddressEncoder;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.rosklyar.client.transaction.TransactionType.*;
 import static com.github.rosklyar.client.transaction.domain.multisig.ModificationType.ADD_COSIGNATORY;
 import static com.github.rosklyar.client.transaction.domain.multisig.ModificationType.REMOVE_COSIGNATORY;
+import static com.github.rosklyar.crypto.Hashes.sha3_256;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.math.BigInteger.TEN;
 import static java.util.stream.Collectors.toList;
@@ -40,7 +50,9 @@ public class SecureTransactionClient implements TransactionClient {
     private final HexConverter hexConverter;
     private final VersionProvider versionProvider;
     private final FeeCalculator feeCalculator;
-    private final NodeClient nodeClient;
+    private final NetworkClock networkClock;
+    private final PreflightValidator preflightValidator;
+    private final Map<String, Reserved> reservations = new ConcurrentHashMap<>();
 
     public SecureTransactionClient(Network network,
                                    FeignTransactionClient feignTransactionClient,
@@ -49,42 +61,45 @@ public class SecureTransactionClient implements TransactionClient {
                                    VersionProvider versionProvider,
                                    FeeCalculator feeCalculator,
                                    NodeClient nodeClient) {
+        this(network, feignTransactionClient, transactionEncoder, hexConverter, versionProvider, feeCalculator, new NodeNetworkClock(nodeClient, 0));
+    }
+
+    public SecureTransactionClient(Network network,
+                                   FeignTransactionClient feignTransactionClient,
+                                   TransactionEncoder transactionEncoder,
+                                   HexConverter hexConverter,
+                                   VersionProvider versionProvider,
+                                   FeeCalculator feeCalculator,
+                                   NetworkClock networkClock) {
+        this(network, feignTransactionClient, transactionEncoder, hexConverter, versionProvider, feeCalculator, networkClock, null);
+    }
+
+    public SecureTransactionClient(Network network,
+                                   FeignTransactionClient feignTransactionClient,
+                                   TransactionEncoder transactionEncoder,
+                                   HexConverter hexConverter,
+                                   VersionProvider versionProvider,
+                                   FeeCalculator feeCalculator,
+                                   NetworkClock networkClock,
+                                   PreflightValidator preflightValidator) {
         this.network = network;
         this.feignTransactionClient = feignTransactionClient;
         this.transactionEncoder = transactionEncoder;
         this.hexConverter = hexConverter;
         this.versionProvider = versionProvider;
         this.feeCalculator = feeCalculator;
-        this.nodeClient = nodeClient;
+        this.networkClock = networkClock;
+        this.preflightValidator = preflightValidator;
     }
 
     @Override
     public NemAnnounceResult transferNem(String privateKey, String toAddress, long microXemAmount, String message, int timeToLiveInSeconds) {
-
-        Signer signer = new DefaultSigner(privateKey);
-        String publicKey = signer.publicKey();
-
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
-
-        Transaction transaction = transferNemTransaction(publicKey, toAddress, microXemAmount, message, currentTime, timeToLiveInSeconds);
-
-        byte[] data = transactionEncoder.data(transaction);
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(signTransferNem(privateKey, toAddress, microXemAmount, message, timeToLiveInSeconds));
     }
 
     @Override
     public NemAnnounceResult transferMosaics(String privateKey, String toAddress, List<MosaicTransfer> mosaics, int times, String message, int timeToLiveInSeconds) {
-
-        Signer signer = new DefaultSigner(privateKey);
-        String publicKey = signer.publicKey();
-
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
-
-        Transaction transaction = mosaicsTransferTransaction(publicKey, toAddress, mosaics, times, message, currentTime, timeToLiveInSeconds);
-
-        byte[] data = transactionEncoder.data(transaction);
-
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(signTransferMosaics(privateKey, toAddress, mosaics, times, message, timeToLiveInSeconds));
     }
 
     @Override
@@ -92,7 +107,7 @@ public class SecureTransactionClient implements TransactionClient {
 
         Signer signer = new DefaultSigner(privateKey);
 
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         List<Modification> modifications = cosignatories.stream().map(publicKey -> new Modification(1, publicKey)).collect(toList());
 
@@ -100,13 +115,13 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.data(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(signer.publicKey()), transaction.timeStamp, transaction.deadline, transaction.fee)));
     }
 
     @Override
     public NemAnnounceResult addCosignatoriesToMultisigAccount(String privateKey, List<String> cosignatories, int relativeChange, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
         List<Modification> modifications = cosignatories.stream().map(cosignatory -> new Modification(ADD_COSIGNATORY.type, cosignatory)).collect(toList());
         return modifyMultisigAccountTransaction(signer, modifications, relativeChange, multisigPublicKey, currentTime, timeToLiveInSeconds);
     }
@@ -114,7 +129,7 @@ public class SecureTransactionClient implements TransactionClient {
     @Override
     public NemAnnounceResult removeCosignatoriesFromMultisigAccount(String privateKey, List<String> cosignatories, int relativeChange, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
         List<Modification> modifications = cosignatories.stream().map(cosignatory -> new Modification(REMOVE_COSIGNATORY.type, cosignatory)).collect(toList());
         return modifyMultisigAccountTransaction(signer, modifications, relativeChange, multisigPublicKey, currentTime, timeToLiveInSeconds);
     }
@@ -122,7 +137,7 @@ public class SecureTransactionClient implements TransactionClient {
     @Override
     public NemAnnounceResult multisigTransferNem(String privateKey, String toAddress, long microXemAmount, String message, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         Transaction transferTransaction = transferNemTransaction(multisigPublicKey, toAddress, microXemAmount, message, currentTime, timeToLiveInSeconds);
         MultisigTransaction<Transaction> transaction = MultisigTransaction.<Transaction>builder()
@@ -137,14 +152,16 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigTransfer(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + transferTransaction.fee)
+                .recipient(toAddress)
+                .microXemAmount(microXemAmount)));
     }
 
     @Override
     public NemAnnounceResult multisigTransferMosaics(String privateKey, String toAddress, List<MosaicTransfer> mosaics, int times, String message, String multisigPublicKey, int timeToLiveInSeconds) {
 
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         Transaction transferTransaction = mosaicsTransferTransaction(multisigPublicKey, toAddress, mosaics, times, message, currentTime, timeToLiveInSeconds);
         MultisigTransaction<Transaction> transaction = MultisigTransaction.<Transaction>builder()
@@ -159,13 +176,15 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigTransfer(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + transferTransaction.fee)
+                .recipient(toAddress)
+                .mosaics(transferred(mosaics, times))));
     }
 
     @Override
     public NemAnnounceResult multisigCreateNamespace(String privateKey, String parentNamespace, String namespace, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         ProvisionNamespaceTransaction provisionNamespaceTransaction = provisionNamespaceTransaction(multisigPublicKey, parentNamespace, namespace, currentTime, timeToLiveInSeconds);
 
@@ -181,13 +200,14 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigProvisionNamespace(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + provisionNamespaceTransaction.fee)
+                .microXemAmount(provisionNamespaceTransaction.rentalFee)));
     }
 
     @Override
     public NemAnnounceResult multisigCreateMosaic(String privateKey, MosaicId mosaicId, String mosaicDescription, MosaicProperties mosaicProperties, Levy levy, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         MosaicDefinitionCreationTransaction mosaicDefinitionCreationTransaction = mosaicDefinitionCreationTransaction(mosaicId, mosaicDescription, mosaicProperties, levy, multisigPublicKey, currentTime, timeToLiveInSeconds);
 
@@ -203,13 +223,14 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigMosaicCreation(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + mosaicDefinitionCreationTransaction.fee)
+                .microXemAmount(mosaicDefinitionCreationTransaction.creationFee)));
     }
 
     @Override
     public NemAnnounceResult multisigChangeMosaicSupply(String privateKey, MosaicId mosaicId, SupplyType supplyType, long amount, String multisigPublicKey, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         MosaicSupplyChangeTransaction supplyChangeTransaction = mosaicSupplyChangeTransaction(mosaicId, supplyType, amount, multisigPublicKey, currentTime, timeToLiveInSeconds);
 
@@ -225,14 +246,14 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigMosaicSupplyChange(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + supplyChangeTransaction.fee)));
     }
 
     @Override
     public NemAnnounceResult multisigImportanceTransfer(String privateKey, Action action, String remoteAccountPublicKey, String multisigPublicKey, int timeToLiveInSeconds) {
 
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
         String publicKey = signer.publicKey();
 
         ImportanceTransferTransaction importanceTransferTransaction = importanceTransferTransaction(action, remoteAccountPublicKey, timeToLiveInSeconds, currentTime, publicKey);
@@ -249,13 +270,68 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.dataMultisigImportanceTransfer(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + importanceTransferTransaction.fee)));
     }
 
     @Override
     public NemAnnounceResult cosignTransaction(String privateKey, String transactionHash, String multisigAddress, int timeToLiveInSeconds) {
+        return announce(signCosignTransaction(privateKey, transactionHash, multisigAddress, timeToLiveInSeconds));
+    }
+
+    @Override
+    public NemAnnounceResult createNamespace(String privateKey, String parentNamespace, String namespace, int timeToLiveInSeconds) {
+        Signer signer = new DefaultSigner(privateKey);
+        int currentTime = networkClock.currentTime();
+
+        ProvisionNamespaceTransaction transaction = provisionNamespaceTransaction(signer.publicKey(), parentNamespace, namespace, currentTime, timeToLiveInSeconds);
+
+        byte[] data = transactionEncoder.data(transaction);
+
+        return announce(sign(signer, data, preflight(address(signer.publicKey()), transaction.timeStamp, transaction.deadline, transaction.fee)
+                .microXemAmount(transaction.rentalFee)));
+    }
+
+    @Override
+    public NemAnnounceResult importanceTransfer(String privateKey, Action action, String remoteAccountPublicKey, int timeToLiveInSeconds) {
+        Signer signer = new DefaultSigner(privateKey);
+        int currentTime = networkClock.currentTime();
+        String publicKey = signer.publicKey();
+
+        ImportanceTransferTransaction transaction = importanceTransferTransaction(action, remoteAccountPublicKey, timeToLiveInSeconds, currentTime, publicKey);
+
+        byte[] data = transactionEncoder.data(transaction);
+
+        return announce(sign(signer, data, preflight(address(publicKey), transaction.timeStamp, transaction.deadline, transaction.fee)));
+    }
+
+    @Override
+    public SignedTransaction signTransferNem(String privateKey, String toAddress, long microXemAmount, String message, int timeToLiveInSeconds) {
+        Signer signer = new DefaultSigner(privateKey);
+        int currentTime = networkClock.currentTime();
+
+        Transaction transaction = transferNemTransaction(signer.publicKey(), toAddress, microXemAmount, message, currentTime, timeToLiveInSeconds);
+
+        return sign(signer, transactionEncoder.data(transaction), preflight(address(signer.publicKey()), transaction.timeStamp, transaction.deadline, transaction.fee)
+                .recipient(toAddress)
+                .microXemAmount(microXemAmount));
+    }
+
+    @Override
+    public SignedTransaction signTransferMosaics(String privateKey, String toAddress, List<MosaicTransfer> mosaics, int times, String message, int timeToLiveInSeconds) {
+        Signer signer = new DefaultSigner(privateKey);
+        int currentTime = networkClock.currentTime();
+
+        Transaction transaction = mosaicsTransferTransaction(signer.publicKey(), toAddress, mosaics, times, message, currentTime, timeToLiveInSeconds);
+
+        return sign(signer, transactionEncoder.data(transaction), preflight(address(signer.publicKey()), transaction.timeStamp, transaction.deadline, transaction.fee)
+                .recipient(toAddress)
+                .mosaics(transferred(mosaics, times)));
+    }
+
+    @Override
+    public SignedTransaction signCosignTransaction(String privateKey, String transactionHash, String multisigAddress, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
 
         Transaction transaction = Transaction.builder()
                 .type(MULTISIG_SIGNATURE.type)
@@ -268,34 +344,73 @@ public class SecureTransactionClient implements TransactionClient {
                 .otherHash(new Hash(transactionHash))
                 .build();
 
-        byte[] data = transactionEncoder.data(transaction);
-
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return sign(signer, transactionEncoder.data(transaction), preflight(multisigAddress, transaction.timeStamp, transaction.deadline, transaction.fee));
     }
 
     @Override
-    public NemAnnounceResult createNamespace(String privateKey, String parentNamespace, String namespace, int timeToLiveInSeconds) {
-        Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
-
-        ProvisionNamespaceTransaction transaction = provisionNamespaceTransaction(signer.publicKey(), parentNamespace, namespace, currentTime, timeToLiveInSeconds);
+    public NemAnnounceResult announce(SignedTransaction signedTransaction) {
+        Reserved reserved = reservations.remove(signedTransaction.hash);
+        NemAnnounceResult result;
+        try {
+            result = feignTransactionClient.prepare(signedTransaction.requestAnnounce);
+        } catch (RuntimeException e) {
+            release(reserved);
+            throw e;
+        }
+        if (!result.succeeded() && !result.alreadyKnown()) {
+            release(reserved);
+        }
+        return result;
+    }
 
-        byte[] data = transactionEncoder.data(transaction);
+    private SignedTransaction sign(Signer signer, byte[] data, PreflightCheck.PreflightCheckBuilder preflight) {
+        PreflightCheck check = preflight.signature(signer.sign(data)).build();
+        releaseExpired(check.timeStamp);
+        Reservation reservation = preflightValidator == null ? null : preflightValidator.validate(check);
+        RequestAnnounce requestAnnounce = new RequestAnnounce(hexConverter.getString(data), check.signature);
+        SignedTransaction signedTransaction = new SignedTransaction(requestAnnounce, hexConverter.getString(sha3_256(data)), check.timeStamp, check.deadline);
+        if (reservation != null && reservations.putIfAbsent(signedTransaction.hash, new Reserved(reservation, check.deadline)) != null) {
+            // the same transaction signed again spends only once
+            reservation.release();
+        }
+        return signedTransaction;
+    }
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+    /**
+     * A transaction signed but never announced holds its reservation only until its deadline.
+     */
+    private void releaseExpired(int timeStamp) {
+        for (Map.Entry<String, Reserved> entry : reservations.entrySet()) {
+            if (entry.getValue().deadline < timeStamp && reservations.remove(entry.getKey(), entry.getValue())) {
+                release(entry.getValue());
+            }
+        }
     }
 
-    @Override
-    public NemAnnounceResult importanceTransfer(String privateKey, Action action, String remoteAccountPublicKey, int timeToLiveInSeconds) {
-        Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
-        String publicKey = signer.publicKey();
+    private static void release(Reserved reserved) {
+        if (reserved != null) {
+            reserved.reservation.release();
+        }
+    }
 
-        ImportanceTransferTransaction transaction = importanceTransferTransaction(action, remoteAccountPublicKey, timeToLiveInSeconds, currentTime, publicKey);
+    private PreflightCheck.PreflightCheckBuilder preflight(String payerAddress, int timeStamp, int deadline, long fee) {
+        // every fee of this client comes from the fee calculator, so it is its own minimum
+        return PreflightCheck.builder()
+                .account(payerAddress)
+                .timeStamp(timeStamp)
+                .deadline(deadline)
+                .fee(fee)
+                .minimumFee(fee);
+    }
 
-        byte[] data = transactionEncoder.data(transaction);
+    private String address(String publicKey) {
+        return preflightValidator == null ? null : AddressEncoder.fromPublicKey(network.code, publicKey);
+    }
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+    private List<MosaicTransfer> transferred(List<MosaicTransfer> mosaics, int times) {
+        return mosaics.stream()
+                .map(mosaic -> MosaicTransfer.builder().mosaicId(mosaic.mosaicId).quantity(mosaic.quantity * times).build())
+                .collect(toList());
     }
 
     private ImportanceTransferTransaction importanceTransferTransaction(Action action, String remoteAccountPublicKey, int timeToLiveInSeconds, int currentTime, String publicKey) {
@@ -314,27 +429,28 @@ public class SecureTransactionClient implements TransactionClient {
     @Override
     public NemAnnounceResult createMosaic(String privateKey, MosaicId mosaicId, String mosaicDescription, MosaicProperties mosaicProperties, Levy levy, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
         String publicKey = signer.publicKey();
 
         MosaicDefinitionCreationTransaction mosaicDefinitionCreationTransaction = mosaicDefinitionCreationTransaction(mosaicId, mosaicDescription, mosaicProperties, levy, publicKey, currentTime, timeToLiveInSeconds);
 
         byte[] data = transactionEncoder.data(mosaicDefinitionCreationTransaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(publicKey), mosaicDefinitionCreationTransaction.timeStamp, mosaicDefinitionCreationTransaction.deadline, mosaicDefinitionCreationTransaction.fee)
+                .microXemAmount(mosaicDefinitionCreationTransaction.creationFee)));
     }
 
     @Override
     public NemAnnounceResult changeMosaicSupply(String privateKey, MosaicId mosaicId, SupplyType supplyType, long amount, int timeToLiveInSeconds) {
         Signer signer = new DefaultSigner(privateKey);
-        int currentTime = nodeClient.extendedInfo().nisInfo.currentTime;
+        int currentTime = networkClock.currentTime();
         String publicKey = signer.publicKey();
 
         MosaicSupplyChangeTransaction transaction = mosaicSupplyChangeTransaction(mosaicId, supplyType, amount, publicKey, currentTime, timeToLiveInSeconds);
 
         byte[] data = transactionEncoder.data(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(publicKey), transaction.timeStamp, transaction.deadline, transaction.fee)));
     }
 
     private MosaicSupplyChangeTransaction mosaicSupplyChangeTransaction(MosaicId mosaicId, SupplyType supplyType, long amount, String publicKey, int currentTime, int timeToLiveInSeconds) {
@@ -450,6 +566,16 @@ public class SecureTransactionClient implements TransactionClient {
 
         byte[] data = transactionEncoder.data(transaction);
 
-        return feignTransactionClient.prepare(new RequestAnnounce(hexConverter.getString(data), signer.sign(data)));
+        return announce(sign(signer, data, preflight(address(multisigPublicKey), transaction.timeStamp, transaction.deadline, transaction.fee + modificationTransaction.fee)));
+    }
+
+    private static class Reserved {
+        private final Reservation reservation;
+        private final int deadline;
+
+        private Reserved(Reservation reservation, int deadline) {
+            this.reservation = reservation;
+            this.deadline = deadline;
+        }
     }
 }
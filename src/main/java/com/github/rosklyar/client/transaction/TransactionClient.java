@@ -2,6 +2,7 @@ package com.github.rosklyar.client.transaction;
 
 import com.github.rosklyar.client.mosaic.domain.Levy;
 import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
 import com.github.rosklyar.client.transaction.domain.importance.Action;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicProperties;
@@ -44,4 +45,12 @@ public interface TransactionClient {
 
     NemAnnounceResult changeMosaicSupply(String privateKey, MosaicId mosaicId, SupplyType supplyType, long amount, int timeToLiveInSeconds);
 
+    SignedTransaction signTransferNem(String privateKey, String toAddress, long microXemAmount, String message, int timeToLiveInSeconds);
+
+    SignedTransaction signTransferMosaics(String privateKey, String toAddress, List<MosaicTransfer> mosaics, int times, String message, int timeToLiveInSeconds);
+
+    SignedTransaction signCosignTransaction(String privateKey, String transactionHash, String multisigAddress, int timeToLiveInSeconds);
+
+    NemAnnounceResult announce(SignedTransaction signedTransaction);
+
 }
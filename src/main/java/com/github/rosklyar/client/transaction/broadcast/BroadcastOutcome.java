@@ -0,0 +1,28 @@
+package com.github.rosklyar.client.transaction.broadcast;
+
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class BroadcastOutcome {
+
+    public final String node;
+    public final NemAnnounceResult result;
+    public final Throwable error;
+    public final boolean cancelled;
+    public final long latencyMillis;
+
+    public BroadcastOutcome(String node, NemAnnounceResult result, Throwable error, boolean cancelled, long latencyMillis) {
+        this.node = node;
+        this.result = result;
+        this.error = error;
+        this.cancelled = cancelled;
+        this.latencyMillis = latencyMillis;
+    }
+
+    public boolean accepted() {
+        return result != null && (result.succeeded() || result.alreadyKnown());
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.rosklyar.client.transaction.broadcast;
+
+import com.github.rosklyar.client.transaction.FeignTransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Announces every transaction to {@code fanout} nodes at once and returns the first answer that accepts it.
+ * <p>
+ * The same signed bytes go to all nodes, so the network sees one transaction no matter how many nodes accept it.
+ * Nodes with the fewest consecutive failures are picked first, ties are rotated. After the first acceptance the
+ * remaining answers are collected in the background for {@code stragglerTimeoutMillis}, then unfinished requests are
+ * cancelled; every outcome, including cancellations, is passed to the diagnostics listener, if one is given. If no
+ * node accepts the transaction, the first rejection is returned, or the last error is thrown when no node answered at
+ * all.
+ * <p>
+ * Cancelling interrupts the announcing thread, but a Feign call blocked in socket I/O does not react to interrupts:
+ * the request keeps its thread and connection until it completes or hits the read timeout of the node client. Keep
+ * that timeout short for broadcast nodes to bound how long stragglers linger.
+ * <p>
+ * {@link #close} interrupts the announces and straggler collections still running; later announces are rejected.
+ */
+public class BroadcastTransactionClient implements FeignTransactionClient, Closeable {
+
+    private static final Consumer<BroadcastOutcome> NO_DIAGNOSTICS = outcome -> {
+    };
+
+    private final List<Node> nodes;
+    private final int fanout;
+    private final long stragglerTimeoutMillis;
+    private final Consumer<BroadcastOutcome> diagnostics;
+    private final ExecutorService executor = newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "nem-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    public BroadcastTransactionClient(Map<String, FeignTransactionClient> nodes, int fanout, long stragglerTimeoutMillis) {
+        this(nodes, fanout, stragglerTimeoutMillis, null);
+    }
+
+    public BroadcastTransactionClient(Map<String, FeignTransactionClient> nodes, int fanout, long stragglerTimeoutMillis, Consumer<BroadcastOutcome> diagnostics) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("at least one node is needed to broadcast to");
+        }
+        if (fanout < 1) {
+            throw new IllegalArgumentException("fanout must be at least 1, was " + fanout);
+        }
+        if (stragglerTimeoutMillis < 0) {
+            throw new IllegalArgumentException("stragglerTimeoutMillis must not be negative, was " + stragglerTimeoutMillis);
+        }
+        this.nodes = new LinkedHashMap<>(nodes).entrySet().stream()
+                .map(node -> new Node(node.getKey(), node.getValue()))
+                .collect(toList());
+        this.fanout = Math.min(fanout, nodes.size());
+        this.stragglerTimeoutMillis = stragglerTimeoutMillis;
+        this.diagnostics = diagnostics == null ? NO_DIAGNOSTICS : diagnostics;
+    }
+
+    @Override
+    public NemAnnounceResult prepare(RequestAnnounce requestAnnounce) {
+        ExecutorCompletionService<BroadcastOutcome> completion = new ExecutorCompletionService<>(executor);
+        List<Node> picked = pick();
+        List<Future<BroadcastOutcome>> pending = new ArrayList<>();
+        for (Node node : picked) {
+            pending.add(completion.submit(() -> node.announce(requestAnnounce)));
+        }
+
+        BroadcastOutcome last = null;
+        for (int answered = 0; answered < pending.size(); answered++) {
+            BroadcastOutcome outcome = take(completion);
+            diagnostics.accept(outcome);
+            if (outcome.accepted()) {
+                collectStragglers(completion, pending.size() - answered - 1, picked, pending);
+                return outcome.result;
+            }
+            if (last == null || last.result == null) {
+                last = outcome;
+            }
+        }
+        if (last.result != null) {
+            return last.result;
+        }
+        throw last.error instanceof RuntimeException ? (RuntimeException) last.error : new IllegalStateException(last.error);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private List<Node> pick() {
+        int offset = rotation.getAndIncrement();
+        List<Node> rotated = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            rotated.add(nodes.get(Math.floorMod(offset + i, nodes.size())));
+        }
+        rotated.sort(Comparator.comparingInt(node -> node.consecutiveFailures.get()));
+        return rotated.subList(0, fanout);
+    }
+
+    private void collectStragglers(ExecutorCompletionService<BroadcastOutcome> completion, int remaining, List<Node> picked, List<Future<BroadcastOutcome>> pending) {
+        if (remaining == 0) {
+            return;
+        }
+        executor.execute(() -> {
+            long deadline = System.currentTimeMillis() + stragglerTimeoutMillis;
+            int left = remaining;
+            try {
+                while (left > 0) {
+                    Future<BroadcastOutcome> next = completion.poll(Math.max(0, deadline - System.currentTimeMillis()), MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    left--;
+                    diagnostics.accept(next.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                // outcomes never fail, Node.announce captures errors
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                if (pending.get(i).cancel(true)) {
+                    diagnostics.accept(new BroadcastOutcome(picked.get(i).name, null, null, true, stragglerTimeoutMillis));
+                }
+            }
+        });
+    }
+
+    private static BroadcastOutcome take(ExecutorCompletionService<BroadcastOutcome> completion) {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static class Node {
+        private final String name;
+        private final FeignTransactionClient client;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        private Node(String name, FeignTransactionClient client) {
+            this.name = name;
+            this.client = client;
+        }
+
+        private BroadcastOutcome announce(RequestAnnounce requestAnnounce) {
+            long start = System.nanoTime();
+            try {
+                NemAnnounceResult result = client.prepare(requestAnnounce);
+                consecutiveFailures.set(0);
+                return new BroadcastOutcome(name, result, null, false, (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    consecutiveFailures.incrementAndGet();
+                }
+                return new BroadcastOutcome(name, null, e, false, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.rosklyar.client.transaction.confirmation;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class Confirmation {
+
+    public final String hash;
+    public final long height;
+    public final long depth;
+
+    public Confirmation(String hash, long height, long depth) {
+        this.hash = hash;
+        this.height = height;
+        this.depth = depth;
+    }
+}
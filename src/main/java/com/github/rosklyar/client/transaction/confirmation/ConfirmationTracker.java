@@ -0,0 +1,223 @@
+package com.github.rosklyar.client.transaction.confirmation;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.blockchain.domain.block.BlockInfo;
+import com.github.rosklyar.client.blockchain.domain.block.TransferInfo;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Tracks confirmation of many announced transactions with one poller shared by all of them.
+ * <p>
+ * Every poll asks the node for the chain height and, while anything is pending, scans the new blocks with
+ * {@link BlockchainClient#blocksAfter(BlockHeight)} and matches their transaction hashes (outer or inner) against the
+ * pending set. A transaction whose deadline is older than the newest scanned block can no longer be included, so its
+ * future fails with {@link TransactionExpiredException}; pending deadlines are kept in a heap so expiry only touches
+ * the transactions that actually expire. Transactions have to be tracked before they are announced,
+ * otherwise a block including them may already have been scanned.
+ */
+public class ConfirmationTracker implements Closeable {
+
+    private final BlockchainClient blockchainClient;
+    private final long pollIntervalMillis;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, Included> included = new ConcurrentHashMap<>();
+    private final PriorityQueue<Pending> deadlines = new PriorityQueue<>(comparingInt(pending -> pending.deadline));
+    private final AtomicLong pollFailures = new AtomicLong();
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-confirmation-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long scannedHeight;
+    private volatile long latestBlockTime = -1;
+
+    public ConfirmationTracker(BlockchainClient blockchainClient, long pollIntervalMillis) {
+        this.blockchainClient = blockchainClient;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public ConfirmationTracker start() {
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMillis, MILLISECONDS);
+        return this;
+    }
+
+    public CompletableFuture<Confirmation> track(SignedTransaction transaction) {
+        return track(transaction.hash, transaction.deadline, 1);
+    }
+
+    public CompletableFuture<Confirmation> track(String hash, int deadline) {
+        return track(hash, deadline, 1);
+    }
+
+    public CompletableFuture<Confirmation> track(String hash, int deadline, int requiredDepth) {
+        String key = hash.toLowerCase();
+        Included alreadyIncluded = included.get(key);
+        if (alreadyIncluded != null) {
+            return alreadyIncluded.pending.future;
+        }
+        Pending created = new Pending(key, deadline, requiredDepth);
+        Pending existing = pending.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.future;
+        }
+        synchronized (deadlines) {
+            deadlines.add(created);
+        }
+        return created.future;
+    }
+
+    /**
+     * Stops tracking the transaction and cancels its future, so nobody waits for a transaction that was never taken.
+     */
+    public void untrack(String hash) {
+        String key = hash.toLowerCase();
+        Pending untracked = pending.remove(key);
+        if (untracked == null) {
+            Included included = this.included.remove(key);
+            untracked = included == null ? null : included.pending;
+        }
+        if (untracked != null) {
+            synchronized (deadlines) {
+                deadlines.remove(untracked);
+            }
+            untracked.future.cancel(false);
+        }
+    }
+
+    public long scannedBlockTime() {
+        return latestBlockTime;
+    }
+
+    public int pendingCount() {
+        return pending.size() + included.size();
+    }
+
+    public long pollFailures() {
+        return pollFailures.get();
+    }
+
+    public synchronized void poll() {
+        long height = blockchainClient.height().height;
+        if (scannedHeight == 0) {
+            scannedHeight = height - 1;
+        }
+        while (scannedHeight < height && !pending.isEmpty()) {
+            List<BlockInfo> blocks = blockchainClient.blocksAfter(new BlockHeight(scannedHeight)).data;
+            if (blocks == null || blocks.isEmpty()) {
+                break;
+            }
+            for (BlockInfo blockInfo : blocks) {
+                if (blockInfo.block.height > scannedHeight) {
+                    match(blockInfo);
+                    scannedHeight = blockInfo.block.height;
+                    latestBlockTime = blockInfo.block.timeStamp;
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            scannedHeight = Math.max(scannedHeight, height);
+        }
+        completeDeepEnough(Math.max(scannedHeight, height));
+        expire();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            pollFailures.incrementAndGet();
+        }
+    }
+
+    private void match(BlockInfo blockInfo) {
+        if (blockInfo.txes == null) {
+            return;
+        }
+        for (TransferInfo transferInfo : blockInfo.txes) {
+            Pending matched = remove(transferInfo.hash);
+            if (matched == null) {
+                matched = remove(transferInfo.innerHash);
+            }
+            if (matched != null) {
+                included.put(matched.hash, new Included(matched, blockInfo.block.height));
+            }
+        }
+    }
+
+    private Pending remove(String hash) {
+        return hash == null ? null : pending.remove(hash.toLowerCase());
+    }
+
+    private void completeDeepEnough(long height) {
+        Iterator<Included> iterator = included.values().iterator();
+        while (iterator.hasNext()) {
+            Included candidate = iterator.next();
+            long depth = height - candidate.height + 1;
+            if (depth >= candidate.pending.requiredDepth) {
+                iterator.remove();
+                candidate.pending.future.complete(new Confirmation(candidate.pending.hash, candidate.height, depth));
+            }
+        }
+    }
+
+    private void expire() {
+        if (latestBlockTime < 0) {
+            return;
+        }
+        List<Pending> expired = new ArrayList<>();
+        synchronized (deadlines) {
+            while (!deadlines.isEmpty() && deadlines.peek().deadline < latestBlockTime) {
+                Pending candidate = deadlines.poll();
+                if (pending.remove(candidate.hash, candidate)) {
+                    expired.add(candidate);
+                }
+            }
+        }
+        expired.forEach(candidate -> candidate.future.completeExceptionally(new TransactionExpiredException(candidate.hash, candidate.deadline)));
+    }
+
+    private static class Pending {
+        private final String hash;
+        private final int deadline;
+        private final int requiredDepth;
+        private final CompletableFuture<Confirmation> future = new CompletableFuture<>();
+
+        private Pending(String hash, int deadline, int requiredDepth) {
+            this.hash = hash;
+            this.deadline = deadline;
+            this.requiredDepth = requiredDepth;
+        }
+    }
+
+    private static class Included {
+        private final Pending pending;
+        private final long height;
+
+        private Included(Pending pending, long height) {
+            this.pending = pending;
+            this.height = height;
+        }
+    }
+}
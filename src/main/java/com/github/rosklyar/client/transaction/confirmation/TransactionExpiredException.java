@@ -0,0 +1,15 @@
+package com.github.rosklyar.client.transaction.confirmation;
+
+import static java.lang.String.format;
+
+public class TransactionExpiredException extends RuntimeException {
+
+    public final String hash;
+    public final int deadline;
+
+    public TransactionExpiredException(String hash, int deadline) {
+        super(format("Transaction %s was not included before its deadline %d", hash, deadline));
+        this.hash = hash;
+        this.deadline = deadline;
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.rosklyar.client.transaction.cosign;
+
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.account.domain.Signature;
+import com.github.rosklyar.client.account.domain.transaction.TransactionData;
+import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactionMetaDataPair;
+import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactions;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transaction.encode.DefaultSigner;
+import com.github.rosklyar.client.transaction.version.Network;
+import com.github.rosklyar.utils.AddressEncoder;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.rosklyar.client.transaction.TransactionType.MULTISIG_TRANSACTION;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Cosigns pending multisig transactions for a set of cosignatory accounts.
+ * <p>
+ * One poller fetches the unconfirmed transactions of all watched cosignatories in parallel, picks the multisig
+ * transactions that still miss a signature of the watched account and that the {@link CosigningPolicy} allows, and
+ * signs and announces the {@code MULTISIG_SIGNATURE} transactions on a worker pool. Work is deduplicated by
+ * cosignatory and inner hash, so a transaction seen in several polls is cosigned once per cosignatory; failed
+ * cosignatures are retried on the next poll.
+ */
+public class CosigningOrchestrator implements Closeable {
+
+    private final AccountClient accountClient;
+    private final TransactionClient transactionClient;
+    private final Network network;
+    private final CosigningPolicy policy;
+    private final int timeToLiveInSeconds;
+    private final List<Cosignatory> cosignatories = new CopyOnWriteArrayList<>();
+    private final Set<String> handled = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cosigned = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService poller = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-cosigning-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CosigningOrchestrator(AccountClient accountClient,
+                                 TransactionClient transactionClient,
+                                 Network network,
+                                 CosigningPolicy policy,
+                                 int parallelism,
+                                 int timeToLiveInSeconds) {
+        this.accountClient = accountClient;
+        this.transactionClient = transactionClient;
+        this.network = network;
+        this.policy = policy;
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+        this.workers = newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "nem-cosigning-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CosigningOrchestrator watch(String cosignatoryPrivateKey) {
+        String publicKey = new DefaultSigner(cosignatoryPrivateKey).publicKey();
+        cosignatories.add(new Cosignatory(cosignatoryPrivateKey, publicKey, AddressEncoder.fromPublicKey(network.code, publicKey)));
+        return this;
+    }
+
+    public CosigningOrchestrator start(long pollIntervalMillis) {
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMillis, MILLISECONDS);
+        return this;
+    }
+
+    public long cosigned() {
+        return cosigned.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    /**
+     * Runs one poll and waits until the cosignatures it started are announced.
+     */
+    public void poll() {
+        List<CompletableFuture<List<CompletableFuture<Void>>>> fetches = cosignatories.stream()
+                .map(cosignatory -> supplyAsync(() -> accountClient.unconfirmedTransactions(cosignatory.address), workers)
+                        .thenApply(unconfirmed -> cosignAwaiting(cosignatory, unconfirmed)))
+                .collect(toList());
+
+        List<CompletableFuture<Void>> cosignatures = fetches.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .collect(toList());
+        cosignatures.forEach(CompletableFuture::join);
+
+        // forget transactions that left the unconfirmed pool, they were either included or expired
+        Set<String> seen = new HashSet<>();
+        cosignatories.forEach(cosignatory -> seen.addAll(cosignatory.lastSeen));
+        handled.retainAll(seen);
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    private List<CompletableFuture<Void>> cosignAwaiting(Cosignatory cosignatory, UnconfirmedTransactions unconfirmed) {
+        Set<String> seen = new HashSet<>();
+        List<CompletableFuture<Void>> started = unconfirmed.data == null ? emptyList() : unconfirmed.data.stream()
+                .filter(pair -> awaitsSignature(cosignatory, pair))
+                .peek(pair -> seen.add(key(cosignatory, pair)))
+                .filter(pair -> handled.add(key(cosignatory, pair)))
+                .map(pair -> runAsync(() -> cosign(cosignatory, pair), workers))
+                .collect(toList());
+        cosignatory.lastSeen = seen;
+        return started;
+    }
+
+    private boolean awaitsSignature(Cosignatory cosignatory, UnconfirmedTransactionMetaDataPair pair) {
+        TransactionData transaction = pair.transaction;
+        if (transaction == null || transaction.type != MULTISIG_TRANSACTION.type || transaction.otherTrans == null) {
+            return false;
+        }
+        if (pair.meta == null || pair.meta.data == null || cosignatory.publicKey.equals(transaction.signer)) {
+            return false;
+        }
+        if (transaction.signatures != null) {
+            for (Signature signature : transaction.signatures) {
+                if (cosignatory.publicKey.equals(signature.signer)) {
+                    return false;
+                }
+            }
+        }
+        return policy.allows(cosignatory.publicKey, transaction);
+    }
+
+    private void cosign(Cosignatory cosignatory, UnconfirmedTransactionMetaDataPair pair) {
+        String key = key(cosignatory, pair);
+        try {
+            String multisigAddress = AddressEncoder.fromPublicKey(network.code, pair.transaction.otherTrans.signer);
+            SignedTransaction signature = transactionClient.signCosignTransaction(cosignatory.privateKey, pair.meta.data, multisigAddress, timeToLiveInSeconds);
+            NemAnnounceResult result = transactionClient.announce(signature);
+            if (result.succeeded() || result.alreadyKnown()) {
+                cosigned.incrementAndGet();
+            } else {
+                failures.incrementAndGet();
+                handled.remove(key);
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            handled.remove(key);
+        }
+    }
+
+    private static String key(Cosignatory cosignatory, UnconfirmedTransactionMetaDataPair pair) {
+        return cosignatory.publicKey + ":" + pair.meta.data;
+    }
+
+    private static class Cosignatory {
+        private final String privateKey;
+        private final String publicKey;
+        private final String address;
+        private volatile Set<String> lastSeen = new HashSet<>();
+
+        private Cosignatory(String privateKey, String publicKey, String address) {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.address = address;
+        }
+    }
+}
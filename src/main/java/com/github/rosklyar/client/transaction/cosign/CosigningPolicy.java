@@ -0,0 +1,11 @@
+package com.github.rosklyar.client.transaction.cosign;
+
+import com.github.rosklyar.client.account.domain.transaction.TransactionData;
+
+@FunctionalInterface
+public interface CosigningPolicy {
+
+    CosigningPolicy ALWAYS = (cosignatoryPublicKey, multisigTransaction) -> true;
+
+    boolean allows(String cosignatoryPublicKey, TransactionData multisigTransaction);
+}
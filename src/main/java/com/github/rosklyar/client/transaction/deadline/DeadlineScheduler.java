@@ -0,0 +1,190 @@
+package com.github.rosklyar.client.transaction.deadline;
+
+import com.github.rosklyar.client.node.NetworkClock;
+import com.github.rosklyar.client.transaction.AnnounceRejectedException;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.confirmation.Confirmation;
+import com.github.rosklyar.client.transaction.confirmation.ConfirmationTracker;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Announces transactions and re-signs them with a fresh timestamp and deadline when they expire unconfirmed.
+ * <p>
+ * Every attempt sits in a heap ordered by its deadline in network time, so a tick only looks at attempts that are due.
+ * A due attempt is re-signed only after the {@link ConfirmationTracker} has scanned a block newer than its deadline
+ * without finding it; until then it is checked again later, so a lagging view of the chain never causes a second
+ * transaction to be signed while the first one can still be included.
+ */
+public class DeadlineScheduler implements Closeable {
+
+    private static final int RECHECK_SECONDS = 10;
+
+    private final TransactionClient transactionClient;
+    private final ConfirmationTracker confirmationTracker;
+    private final NetworkClock networkClock;
+    private final int maxAttempts;
+    private final int graceSeconds;
+    private final PriorityQueue<Attempt> due = new PriorityQueue<>(comparingInt(attempt -> attempt.checkAt));
+    private final AtomicLong resigned = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nem-deadline-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadlineScheduler(TransactionClient transactionClient,
+                             ConfirmationTracker confirmationTracker,
+                             NetworkClock networkClock,
+                             int maxAttempts,
+                             int graceSeconds) {
+        this.transactionClient = transactionClient;
+        this.confirmationTracker = confirmationTracker;
+        this.networkClock = networkClock;
+        this.maxAttempts = maxAttempts;
+        this.graceSeconds = graceSeconds;
+    }
+
+    public DeadlineScheduler start(long tickMillis) {
+        scheduler.scheduleWithFixedDelay(this::tickSafely, tickMillis, tickMillis, MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * @param sign builds and signs the transaction; called again for every re-sign, so it must read a fresh network time
+     */
+    public CompletableFuture<Confirmation> submit(Supplier<SignedTransaction> sign) {
+        Scheduled scheduled = new Scheduled(sign);
+        attempt(scheduled, 1);
+        return scheduled.result;
+    }
+
+    public int scheduledCount() {
+        synchronized (due) {
+            return due.size();
+        }
+    }
+
+    public long resigned() {
+        return resigned.get();
+    }
+
+    public long exhausted() {
+        return exhausted.get();
+    }
+
+    public void tick() {
+        int now = networkClock.currentTime();
+        List<Attempt> ready = new ArrayList<>();
+        synchronized (due) {
+            while (!due.isEmpty() && due.peek().checkAt <= now) {
+                ready.add(due.poll());
+            }
+        }
+        for (Attempt attempt : ready) {
+            try {
+                process(attempt, now);
+            } catch (RuntimeException e) {
+                schedule(attempt.recheckAt(now + RECHECK_SECONDS));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException ignored) {
+            // network time is unavailable, due attempts stay queued for the next tick
+        }
+    }
+
+    private void attempt(Scheduled scheduled, int number) {
+        SignedTransaction transaction = scheduled.sign.get();
+        CompletableFuture<Confirmation> confirmation = confirmationTracker.track(transaction);
+        confirmation.thenAccept(scheduled.result::complete);
+        try {
+            NemAnnounceResult result = transactionClient.announce(transaction);
+            if (!result.succeeded() && !result.alreadyKnown()) {
+                confirmationTracker.untrack(transaction.hash);
+                scheduled.result.completeExceptionally(new AnnounceRejectedException(result));
+                return;
+            }
+        } catch (RuntimeException e) {
+            // the announce may still have reached the node, so only the deadline decides
+        }
+        schedule(new Attempt(scheduled, confirmation, number, transaction.deadline + graceSeconds));
+    }
+
+    private void process(Attempt attempt, int now) {
+        if (attempt.scheduled.result.isDone()) {
+            return;
+        }
+        if (!attempt.confirmation.isDone()) {
+            schedule(attempt.recheckAt(now + RECHECK_SECONDS));
+            return;
+        }
+        Throwable failure = attempt.confirmation.handle((confirmation, throwable) -> throwable).join();
+        if (failure == null) {
+            return;
+        }
+        if (attempt.number >= maxAttempts) {
+            exhausted.incrementAndGet();
+            attempt.scheduled.result.completeExceptionally(failure);
+            return;
+        }
+        attempt(attempt.scheduled, attempt.number + 1);
+        resigned.incrementAndGet();
+    }
+
+    private void schedule(Attempt attempt) {
+        synchronized (due) {
+            due.add(attempt);
+        }
+    }
+
+    private static class Scheduled {
+        private final Supplier<SignedTransaction> sign;
+        private final CompletableFuture<Confirmation> result = new CompletableFuture<>();
+
+        private Scheduled(Supplier<SignedTransaction> sign) {
+            this.sign = sign;
+        }
+    }
+
+    private static class Attempt {
+        private final Scheduled scheduled;
+        private final CompletableFuture<Confirmation> confirmation;
+        private final int number;
+        private final int checkAt;
+
+        private Attempt(Scheduled scheduled, CompletableFuture<Confirmation> confirmation, int number, int checkAt) {
+            this.scheduled = scheduled;
+            this.confirmation = confirmation;
+            this.number = number;
+            this.checkAt = checkAt;
+        }
+
+        private Attempt recheckAt(int checkAt) {
+            return new Attempt(scheduled, confirmation, number, checkAt);
+        }
+    }
+}
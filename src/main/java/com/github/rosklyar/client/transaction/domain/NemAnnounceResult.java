@@ -19,6 +19,14 @@ public class NemAnnounceResult {
     public final Hash transactionHash;
     public final Hash innerTransactionHash;
 
+    public boolean succeeded() {
+        return code == 1;
+    }
+
+    public boolean alreadyKnown() {
+        return "NEUTRAL".equals(message) || "FAILURE_HASH_EXISTS".equals(message);
+    }
+
     @JsonPOJOBuilder(withPrefix = "")
     public static class NemAnnounceResultBuilder {
 
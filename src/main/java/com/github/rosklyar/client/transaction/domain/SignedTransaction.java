@@ -0,0 +1,21 @@
+package com.github.rosklyar.client.transaction.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class SignedTransaction {
+
+    public final RequestAnnounce requestAnnounce;
+    public final String hash;
+    public final int timeStamp;
+    public final int deadline;
+
+    public SignedTransaction(RequestAnnounce requestAnnounce, String hash, int timeStamp, int deadline) {
+        this.requestAnnounce = requestAnnounce;
+        this.hash = hash;
+        this.timeStamp = timeStamp;
+        this.deadline = deadline;
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.rosklyar.client.transaction.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.github.rosklyar.client.account.domain.Hash;
 import com.github.rosklyar.client.account.domain.Message;
 import com.github.rosklyar.client.account.domain.Signature;
@@ -15,6 +17,7 @@ import java.util.List;
 @EqualsAndHashCode
 @ToString
 @Builder
+@JsonDeserialize(builder = Transaction.TransactionBuilder.class)
 public class Transaction {
 
     public final int timeStamp;
@@ -33,4 +36,8 @@ public class Transaction {
     public final String otherAccount;
     public final Hash otherHash;
 
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class TransactionBuilder {
+
+    }
 }
@@ -1,5 +1,7 @@
 package com.github.rosklyar.client.transaction.domain.mosaic;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -7,9 +9,14 @@ import lombok.ToString;
 @EqualsAndHashCode
 @ToString
 @Builder
+@JsonDeserialize(builder = MosaicTransfer.MosaicTransferBuilder.class)
 public class MosaicTransfer {
 
     public final MosaicId mosaicId;
     public final long quantity;
 
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class MosaicTransferBuilder {
+
+    }
 }
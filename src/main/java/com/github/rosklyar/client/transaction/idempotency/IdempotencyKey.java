@@ -0,0 +1,60 @@
+package com.github.rosklyar.client.transaction.idempotency;
+
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static com.github.rosklyar.crypto.Hashes.sha3_256;
+
+/**
+ * Digest of a logical transfer: who pays whom how much of what, with which message and for which business reference.
+ * Two requests with the same key are the same transfer, no matter how often they are retried.
+ */
+@EqualsAndHashCode
+@ToString
+public class IdempotencyKey {
+
+    public static final int LENGTH = 32;
+
+    final byte[] digest;
+
+    IdempotencyKey(byte[] digest) {
+        this.digest = digest;
+    }
+
+    public static IdempotencyKey transfer(String signerPublicKey, String recipient, long microXemAmount, List<MosaicTransfer> mosaics, String message, String reference) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(signerPublicKey.toLowerCase());
+            out.writeUTF(recipient.replace("-", "").toUpperCase());
+            out.writeLong(microXemAmount);
+            out.writeInt(mosaics == null ? 0 : mosaics.size());
+            if (mosaics != null) {
+                for (MosaicTransfer mosaic : mosaics) {
+                    out.writeUTF(mosaic.mosaicId.namespaceId);
+                    out.writeUTF(mosaic.mosaicId.name);
+                    out.writeLong(mosaic.quantity);
+                }
+            }
+            out.writeUTF(message == null ? "" : message);
+            out.writeUTF(reference);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new IdempotencyKey(sha3_256(bytes.toByteArray()));
+    }
+
+    long prefix() {
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+            prefix = (prefix << 8) | (digest[i] & 0xff);
+        }
+        return prefix;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.rosklyar.client.transaction.idempotency;
+
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Persistent map from {@link IdempotencyKey} to the transaction signed for it.
+ * <p>
+ * Records are appended to a single file and never rewritten; an {@link OffsetIndex} built on open maps key prefixes
+ * to record offsets, so memory is 16-32 bytes per entry and every lookup is one probe plus one positional read.
+ * A record torn by a crash is cut off on open. Record layout:
+ * <pre>
+ * int length | 32 bytes key | int timeStamp | int deadline | utf hash | utf data | utf signature
+ * </pre>
+ */
+public class IdempotencyStore implements Closeable {
+
+    private static final int LENGTH_BYTES = 4;
+    private static final int MAX_RECORD_LENGTH = 1 << 16;
+
+    private final FileChannel channel;
+    private final boolean sync;
+    private final OffsetIndex index;
+    private long end;
+
+    public IdempotencyStore(Path path, boolean sync) {
+        this(path, sync, 1024);
+    }
+
+    public IdempotencyStore(Path path, boolean sync, int expectedSize) {
+        this.sync = sync;
+        this.index = new OffsetIndex(expectedSize);
+        try {
+            this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized SignedTransaction get(IdempotencyKey key) {
+        long offset = index.find(key.prefix(), candidate -> Arrays.equals(key.digest, readKey(candidate)));
+        return offset < 0 ? null : read(offset);
+    }
+
+    /**
+     * Stores the transaction unless the key is already known.
+     *
+     * @return the transaction stored before for this key, or null if {@code transaction} was stored.
+     */
+    public synchronized SignedTransaction putIfAbsent(IdempotencyKey key, SignedTransaction transaction) {
+        SignedTransaction existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] record = encode(key, transaction);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            long position = end;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index.put(key.prefix(), end);
+        end += record.length;
+        return null;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+        while (end + LENGTH_BYTES <= size) {
+            length.clear();
+            channel.read(length, end);
+            int recordLength = length.getInt(0);
+            if (recordLength <= IdempotencyKey.LENGTH || recordLength > MAX_RECORD_LENGTH || end + LENGTH_BYTES + recordLength > size) {
+                break;
+            }
+            index.put(new IdempotencyKey(readKey(end)).prefix(), end);
+            end += LENGTH_BYTES + recordLength;
+        }
+        if (end < size) {
+            // torn write of the last record before a crash
+            channel.truncate(end);
+        }
+    }
+
+    private byte[] readKey(long offset) {
+        try {
+            ByteBuffer key = ByteBuffer.allocate(IdempotencyKey.LENGTH);
+            readFully(key, offset + LENGTH_BYTES);
+            return key.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SignedTransaction read(long offset) {
+        try {
+            ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+            readFully(length, offset);
+            ByteBuffer body = ByteBuffer.allocate(length.getInt(0));
+            readFully(body, offset + LENGTH_BYTES);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+            in.skipBytes(IdempotencyKey.LENGTH);
+            int timeStamp = in.readInt();
+            int deadline = in.readInt();
+            String hash = in.readUTF();
+            RequestAnnounce requestAnnounce = new RequestAnnounce(in.readUTF(), in.readUTF());
+            return new SignedTransaction(requestAnnounce, hash, timeStamp, deadline);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of idempotency store at " + position);
+            }
+        }
+    }
+
+    private static byte[] encode(IdempotencyKey key, SignedTransaction transaction) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.write(key.digest);
+            out.writeInt(transaction.timeStamp);
+            out.writeInt(transaction.deadline);
+            out.writeUTF(transaction.hash);
+            out.writeUTF(transaction.requestAnnounce.data);
+            out.writeUTF(transaction.requestAnnounce.signature);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(record.length - LENGTH_BYTES);
+        return record;
+    }
+}
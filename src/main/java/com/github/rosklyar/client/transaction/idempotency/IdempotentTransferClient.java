@@ -0,0 +1,63 @@
+package com.github.rosklyar.client.transaction.idempotency;
+
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import com.github.rosklyar.client.transaction.encode.DefaultSigner;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Transfers that are safe to retry: the first attempt for a business reference stores the signed transaction
+ * before announcing it, every retry announces exactly the same bytes again. The network knows the transaction by
+ * its hash, so a retry after a lost response can never turn into a second payment. A stored transaction that is
+ * past its deadline is not re-signed; its announce result is returned as is and the caller has to check the chain.
+ */
+public class IdempotentTransferClient {
+
+    private final TransactionClient transactionClient;
+    private final IdempotencyStore store;
+    private final LongAdder reused = new LongAdder();
+
+    public IdempotentTransferClient(TransactionClient transactionClient, IdempotencyStore store) {
+        this.transactionClient = transactionClient;
+        this.store = store;
+    }
+
+    public NemAnnounceResult transferNem(String privateKey, String toAddress, long microXemAmount, String message, String reference, int timeToLiveInSeconds) {
+        IdempotencyKey key = IdempotencyKey.transfer(publicKey(privateKey), toAddress, microXemAmount, null, message, reference);
+        return announce(key, () -> transactionClient.signTransferNem(privateKey, toAddress, microXemAmount, message, timeToLiveInSeconds));
+    }
+
+    public NemAnnounceResult transferMosaics(String privateKey, String toAddress, List<MosaicTransfer> mosaics, int times, String message, String reference, int timeToLiveInSeconds) {
+        IdempotencyKey key = IdempotencyKey.transfer(publicKey(privateKey), toAddress, times, mosaics, message, reference);
+        return announce(key, () -> transactionClient.signTransferMosaics(privateKey, toAddress, mosaics, times, message, timeToLiveInSeconds));
+    }
+
+    public long reused() {
+        return reused.sum();
+    }
+
+    private NemAnnounceResult announce(IdempotencyKey key, Supplier<SignedTransaction> sign) {
+        SignedTransaction transaction = store.get(key);
+        if (transaction == null) {
+            SignedTransaction signed = sign.get();
+            transaction = store.putIfAbsent(key, signed);
+            if (transaction == null) {
+                transaction = signed;
+            } else {
+                reused.increment();
+            }
+        } else {
+            reused.increment();
+        }
+        return transactionClient.announce(transaction);
+    }
+
+    private static String publicKey(String privateKey) {
+        return new DefaultSigner(privateKey).publicKey();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.rosklyar.client.transaction.idempotency;
+
+/**
+ * Open addressing map from the first 8 bytes of a key digest to a file offset, 16 bytes per slot.
+ * Callers verify the full digest stored at the offset, so colliding prefixes only cost an extra probe.
+ */
+class OffsetIndex {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] offsets;
+    private int size;
+
+    OffsetIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        offsets = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first offset stored under {@code key} that {@code matcher} accepts, or -1.
+     */
+    long find(long key, OffsetMatcher matcher) {
+        long normalized = normalize(key);
+        int mask = keys.length - 1;
+        for (int slot = mix(normalized) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == normalized && matcher.matches(offsets[slot])) {
+                return offsets[slot];
+            }
+        }
+        return -1;
+    }
+
+    void put(long key, long offset) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        insert(normalize(key), offset);
+        size++;
+    }
+
+    private void insert(long key, long offset) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        offsets[slot] = offset;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldOffsets = offsets;
+        keys = new long[oldKeys.length * 2];
+        offsets = new long[oldOffsets.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldOffsets[i]);
+            }
+        }
+    }
+
+    private static long normalize(long key) {
+        return key == EMPTY ? 1 : key;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    interface OffsetMatcher {
+        boolean matches(long offset);
+    }
+}
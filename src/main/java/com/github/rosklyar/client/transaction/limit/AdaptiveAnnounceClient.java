@@ -0,0 +1,80 @@
+package com.github.rosklyar.client.transaction.limit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * {@link Client} decorator that runs announces through the {@link AnnounceLimiter} of the node they are sent to.
+ * <p>
+ * It sits below Ribbon, so the request already carries the chosen node. Announce responses are small, so the body
+ * is buffered to look at the announce result and handed on unchanged.
+ */
+public class AdaptiveAnnounceClient implements Client {
+
+    private static final String ANNOUNCE_PATH = "/transaction/announce";
+    private static final String CACHE_FULL = "FAILURE_TRANSACTION_CACHE_TOO_FULL";
+
+    private final Client delegate;
+    private final AnnounceLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public AdaptiveAnnounceClient(Client delegate, AnnounceLimiter limiter, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!request.url().contains(ANNOUNCE_PATH)) {
+            return delegate.execute(request, options);
+        }
+        AimdLimit limit = limiter.acquire(node(request.url()));
+        long start = System.nanoTime();
+        Response response;
+        byte[] body;
+        try {
+            response = delegate.execute(request, options);
+            body = response.body() == null ? null : Util.toByteArray(response.body().asInputStream());
+        } catch (IOException | RuntimeException e) {
+            limit.drop();
+            throw e;
+        }
+        long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+        if (overloaded(response.status(), body) || limiter.tooSlow(latencyMillis)) {
+            limit.drop();
+        } else if (response.status() < 300) {
+            limit.success();
+        } else {
+            limit.ignore();
+        }
+        return Response.create(response.status(), response.reason(), response.headers(), body);
+    }
+
+    private boolean overloaded(int status, byte[] body) {
+        if (status == 429 || status >= 500) {
+            return true;
+        }
+        if (body == null) {
+            return false;
+        }
+        try {
+            JsonNode message = objectMapper.readTree(body).get("message");
+            return message != null && CACHE_FULL.equals(message.asText());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String node(String url) {
+        URI uri = URI.create(url);
+        return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+}
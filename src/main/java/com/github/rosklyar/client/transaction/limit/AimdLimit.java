@@ -0,0 +1,74 @@
+package com.github.rosklyar.client.transaction.limit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-flight limit of one node: grows by one per round of successful requests and shrinks by a constant ratio
+ * whenever the node signals overload.
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private long drops;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized long drops() {
+        return drops;
+    }
+
+    synchronized boolean acquire(long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long deadline = System.nanoTime() + remaining;
+        while (inFlight >= (int) limit) {
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void success() {
+        // only grow while the limit is actually used, otherwise an idle node would end up with a huge limit
+        if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        release();
+    }
+
+    synchronized void ignore() {
+        release();
+    }
+
+    synchronized void drop() {
+        drops++;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        release();
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.rosklyar.client.transaction.limit;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptive (AIMD) concurrency limits for announces, one {@link AimdLimit} per node.
+ * <p>
+ * A request counts as overload when it fails with an I/O error, the node answers with a 5xx or 429 status, the
+ * node reports a full transaction cache or the request took longer than {@code latencyThresholdMillis}. Everything
+ * else lets the limit grow. Callers that find the limit exhausted wait up to {@code maxWaitMillis} and then get an
+ * {@link AnnounceThrottledException}.
+ */
+public class AnnounceLimiter {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdMillis;
+    private final long maxWaitMillis;
+    private final Map<String, AimdLimit> limits = new ConcurrentHashMap<>();
+
+    public AnnounceLimiter() {
+        this(10, 1, 200, 0.9, 2000, 5000);
+    }
+
+    public AnnounceLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdMillis, long maxWaitMillis) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public AimdLimit node(String node) {
+        return limits.computeIfAbsent(node, key -> new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio));
+    }
+
+    public Map<String, Integer> limits() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        limits.forEach((node, limit) -> snapshot.put(node, limit.limit()));
+        return snapshot;
+    }
+
+    AimdLimit acquire(String node) {
+        AimdLimit limit = node(node);
+        try {
+            if (!limit.acquire(maxWaitMillis)) {
+                throw new AnnounceThrottledException(node, limit.limit());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnnounceThrottledException(node, limit.limit());
+        }
+        return limit;
+    }
+
+    boolean tooSlow(long latencyMillis) {
+        return latencyMillis > latencyThresholdMillis;
+    }
+}
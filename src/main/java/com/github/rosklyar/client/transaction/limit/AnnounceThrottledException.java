@@ -0,0 +1,10 @@
+package com.github.rosklyar.client.transaction.limit;
+
+import static java.lang.String.format;
+
+public class AnnounceThrottledException extends RuntimeException {
+
+    public AnnounceThrottledException(String node, int limit) {
+        super(format("Announce to %s was throttled, %d requests already in flight", node, limit));
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.lang.String.format;
+
+/**
+ * Reads payments lazily from lines of {@code recipient,microXemAmount[,message]}.
+ * Blank lines and lines starting with {@code #} are ignored.
+ */
+public class CsvPaymentReader implements Iterator<Payment>, Closeable {
+
+    private final BufferedReader reader;
+    private Payment next;
+    private long lineNumber;
+
+    public CsvPaymentReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Payment next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Payment payment = next;
+        next = null;
+        return payment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Payment readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                return parse(trimmed);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Payment parse(String line) {
+        String[] columns = line.split(",", 3);
+        if (columns.length < 2) {
+            throw new IllegalArgumentException(format("Malformed payment at line %d: %s", lineNumber, line));
+        }
+        String recipient = columns[0].trim().replace("-", "");
+        long amount = Long.parseLong(columns[1].trim());
+        String message = columns.length == 3 ? columns[2].trim() : "";
+        return new Payment(recipient, amount, message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class Payment {
+
+    public final String recipient;
+    public final long microXemAmount;
+    public final String message;
+
+    public Payment(String recipient, long microXemAmount, String message) {
+        this.recipient = recipient;
+        this.microXemAmount = microXemAmount;
+        this.message = message;
+    }
+}
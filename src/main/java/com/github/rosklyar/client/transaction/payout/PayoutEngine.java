@@ -0,0 +1,193 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.confirmation.ConfirmationTracker;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * Announces a stream of NEM transfers from a single account with bounded concurrency.
+ * <p>
+ * Every announced transaction is tracked by a {@link ConfirmationTracker}, and the journal marks its payment done as
+ * soon as the transaction is included in a block; {@link #run} returns once every transaction it announced is
+ * confirmed or past its deadline. The tracker is shared and has to be started by the caller.
+ * <p>
+ * Payments are identified by their position in the input, so a resumed run must be fed the same input.
+ * Only payments confirmed according to the journal or to {@code confirmed} are skipped. Payments that were journaled
+ * and not rejected, whether their outcome is unknown or the node accepted them, are re-announced with the very same
+ * signed bytes, which the network deduplicates by hash; rejected payments are signed anew. If a journaled
+ * transaction is past its deadline, it is re-signed only when {@code confirmed} reports that the old hash never made
+ * it into the chain; without a confirmation check it is reported as unresolved and left for the operator.
+ * <p>
+ * Memory grows with the payments awaiting their block, plus one bit per payment and one journal offset per pending
+ * payment for the replayed journal.
+ */
+public class PayoutEngine {
+
+    private static final String PAST_DEADLINE = "FAILURE_PAST_DEADLINE";
+
+    private final TransactionClient transactionClient;
+    private final PayoutJournal journal;
+    private final int maxConcurrency;
+    private final ConfirmationTracker confirmationTracker;
+    private final Predicate<String> confirmed;
+
+    public PayoutEngine(TransactionClient transactionClient, PayoutJournal journal, int maxConcurrency, ConfirmationTracker confirmationTracker) {
+        this(transactionClient, journal, maxConcurrency, confirmationTracker, null);
+    }
+
+    /**
+     * @param confirmed tells whether a transaction journaled by an earlier run made it into the chain, or null
+     */
+    public PayoutEngine(TransactionClient transactionClient,
+                        PayoutJournal journal,
+                        int maxConcurrency,
+                        ConfirmationTracker confirmationTracker,
+                        Predicate<String> confirmed) {
+        this.transactionClient = transactionClient;
+        this.journal = journal;
+        this.maxConcurrency = maxConcurrency;
+        this.confirmationTracker = confirmationTracker;
+        this.confirmed = confirmed;
+    }
+
+    public PayoutReport run(String privateKey, Iterator<Payment> payments, int timeToLiveInSeconds) {
+        PayoutJournal.Replay replay = journal.replay();
+        Counters counters = new Counters();
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        ExecutorService executor = newFixedThreadPool(maxConcurrency);
+        try {
+            int seq = 0;
+            while (payments.hasNext()) {
+                Payment payment = payments.next();
+                int current = seq++;
+                if (replay.completed.get(current)) {
+                    counters.skipped.increment();
+                    continue;
+                }
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        pay(privateKey, current, payment, replay.pending(current), timeToLiveInSeconds, counters);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquireUninterruptibly(maxConcurrency);
+        } finally {
+            executor.shutdown();
+        }
+        counters.awaitTracked();
+        return counters.report();
+    }
+
+    private void pay(String privateKey, int seq, Payment payment, SignedTransaction journaled, int timeToLiveInSeconds, Counters counters) {
+        try {
+            if (journaled != null && confirmed(seq, journaled)) {
+                counters.skipped.increment();
+                return;
+            }
+            NemAnnounceResult result = journaled == null ?
+                    announceNew(privateKey, seq, payment, timeToLiveInSeconds, counters) :
+                    announce(seq, journaled, counters);
+            if (journaled != null && PAST_DEADLINE.equals(result.message)) {
+                if (confirmed == null) {
+                    counters.unresolved.increment();
+                    return;
+                }
+                // the old transaction may have made it into a block since the first check
+                if (confirmed(seq, journaled)) {
+                    counters.skipped.increment();
+                    return;
+                }
+                result = announceNew(privateKey, seq, payment, timeToLiveInSeconds, counters);
+            }
+            journal.announced(seq, result);
+            if (result.succeeded() || result.alreadyKnown()) {
+                counters.announced.increment();
+            } else {
+                counters.rejected.increment();
+            }
+        } catch (RuntimeException e) {
+            counters.failed.increment();
+        }
+    }
+
+    private NemAnnounceResult announceNew(String privateKey, int seq, Payment payment, int timeToLiveInSeconds, Counters counters) {
+        SignedTransaction transaction = transactionClient.signTransferNem(privateKey, payment.recipient, payment.microXemAmount, payment.message, timeToLiveInSeconds);
+        journal.prepared(seq, transaction);
+        return announce(seq, transaction, counters);
+    }
+
+    private NemAnnounceResult announce(int seq, SignedTransaction transaction, Counters counters) {
+        counters.tracked();
+        confirmationTracker.track(transaction).whenComplete((confirmation, failure) -> {
+            if (failure == null) {
+                journal.confirmed(seq, transaction.hash);
+                counters.confirmed.increment();
+            }
+            counters.settled();
+        });
+        // an announce that fails may still have reached the node, so only a rejection stops tracking
+        NemAnnounceResult result = transactionClient.announce(transaction);
+        if (!result.succeeded() && !result.alreadyKnown()) {
+            confirmationTracker.untrack(transaction.hash);
+        }
+        return result;
+    }
+
+    private boolean confirmed(int seq, SignedTransaction transaction) {
+        if (confirmed == null || !confirmed.test(transaction.hash)) {
+            return false;
+        }
+        journal.confirmed(seq, transaction.hash);
+        return true;
+    }
+
+    private static class Counters {
+        private final LongAdder announced = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder unresolved = new LongAdder();
+        private final LongAdder confirmed = new LongAdder();
+        private long unsettled;
+
+        private synchronized void tracked() {
+            unsettled++;
+        }
+
+        private synchronized void settled() {
+            if (--unsettled == 0) {
+                notifyAll();
+            }
+        }
+
+        private synchronized void awaitTracked() {
+            boolean interrupted = false;
+            while (unsettled > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private PayoutReport report() {
+            return new PayoutReport(announced.sum(), rejected.sum(), failed.sum(), skipped.sum(), unresolved.sum(), confirmed.sum());
+        }
+    }
+}
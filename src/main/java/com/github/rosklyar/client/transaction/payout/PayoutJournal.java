@@ -0,0 +1,225 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only journal of a payout run. Every signed transaction is written (and optionally forced to disk)
+ * before it is announced, so a restarted run knows exactly which payments may already be on the network.
+ * <p>
+ * One record per line:
+ * <pre>
+ * P &lt;seq&gt; &lt;hash&gt; &lt;timeStamp&gt; &lt;deadline&gt; &lt;data&gt; &lt;signature&gt;
+ * A &lt;seq&gt; &lt;code&gt; &lt;message&gt;
+ * C &lt;seq&gt; &lt;hash&gt;
+ * </pre>
+ * A payment is done only once it is confirmed. An accepted announce leaves it pending, since the node may still drop
+ * it; a rejected one forgets the signed transaction, so the payment is signed anew. The record torn by a crash is
+ * ignored on replay.
+ */
+public class PayoutJournal implements Closeable {
+
+    private static final String PREPARED = "P";
+    private static final String ANNOUNCED = "A";
+    private static final String CONFIRMED = "C";
+    private static final int HASH_LENGTH = 64;
+    private static final int SIGNATURE_LENGTH = 128;
+
+    private final Path path;
+    private final boolean sync;
+    private final FileChannel channel;
+    private long tornLine = -1;
+
+    public PayoutJournal(Path path, boolean sync) {
+        this.path = path;
+        this.sync = sync;
+        try {
+            this.channel = FileChannel.open(path, CREATE, WRITE, APPEND);
+            terminateTornRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Scans the journal once. Pending transactions are indexed by the offset of their record and only read back when
+     * {@link Replay#pending(int)} asks for them.
+     */
+    public Replay replay() {
+        Replay replay = new Replay();
+        try (BufferedReader reader = Files.newBufferedReader(path, UTF_8)) {
+            String line;
+            long offset = 0;
+            for (long index = 0; (line = reader.readLine()) != null; index++) {
+                if (index != tornLine) {
+                    replay.apply(line, offset);
+                }
+                offset += line.getBytes(UTF_8).length + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return replay;
+    }
+
+    public void prepared(int seq, SignedTransaction transaction) {
+        append(format("%s %d %s %d %d %s %s\n",
+                PREPARED,
+                seq,
+                transaction.hash,
+                transaction.timeStamp,
+                transaction.deadline,
+                transaction.requestAnnounce.data,
+                transaction.requestAnnounce.signature));
+    }
+
+    public void announced(int seq, NemAnnounceResult result) {
+        append(format("%s %d %d %s\n", ANNOUNCED, seq, result.code, result.message));
+    }
+
+    public void confirmed(int seq, String hash) {
+        append(format("%s %d %s\n", CONFIRMED, seq, hash));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private SignedTransaction read(long offset) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        try (FileChannel reader = FileChannel.open(path, READ)) {
+            long position = offset;
+            while (reader.read(buffer, position) > 0) {
+                int end = 0;
+                while (end < buffer.position() && buffer.get(end) != '\n') {
+                    end++;
+                }
+                record.write(buffer.array(), 0, end);
+                if (end < buffer.position()) {
+                    break;
+                }
+                position += end;
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return prepared(new String(record.toByteArray(), UTF_8));
+    }
+
+    /**
+     * @return the transaction of a well-formed prepared record, or {@code null}
+     */
+    private static SignedTransaction prepared(String line) {
+        String[] prepared = line.split(" ");
+        if (prepared.length != 7 || !PREPARED.equals(prepared[0]) || prepared[6].length() != SIGNATURE_LENGTH) {
+            return null;
+        }
+        RequestAnnounce requestAnnounce = new RequestAnnounce(prepared[5], prepared[6]);
+        return new SignedTransaction(requestAnnounce, prepared[2], Integer.parseInt(prepared[3]), Integer.parseInt(prepared[4]));
+    }
+
+    private void terminateTornRecord() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        try (FileChannel reader = FileChannel.open(path, READ)) {
+            reader.read(last, size - 1);
+        }
+        if (last.get(0) != '\n') {
+            try (Stream<String> lines = Files.lines(path, UTF_8)) {
+                tornLine = lines.count() - 1;
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private synchronized void append(String record) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record.getBytes(UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public class Replay {
+
+        public final BitSet completed = new BitSet();
+        private final Map<Integer, Long> pending = new HashMap<>();
+
+        /**
+         * @return the journaled transaction of a payment that was prepared and neither rejected nor confirmed,
+         * or {@code null}
+         */
+        public SignedTransaction pending(int seq) {
+            Long offset = pending.get(seq);
+            return offset == null ? null : read(offset);
+        }
+
+        public int pendingCount() {
+            return pending.size();
+        }
+
+        private void apply(String line, long offset) {
+            String[] fields = line.split(" ", 4);
+            if (fields.length < 3) {
+                return;
+            }
+            int seq = Integer.parseInt(fields[1]);
+            if (CONFIRMED.equals(fields[0])) {
+                if (fields[2].length() == HASH_LENGTH) {
+                    pending.remove(seq);
+                    completed.set(seq);
+                }
+                return;
+            }
+            if (fields.length < 4) {
+                return;
+            }
+            if (PREPARED.equals(fields[0])) {
+                if (prepared(line) != null) {
+                    pending.put(seq, offset);
+                }
+            } else if (ANNOUNCED.equals(fields[0]) && !accepted(Integer.parseInt(fields[2]), fields[3])) {
+                pending.remove(seq);
+            }
+        }
+
+        private boolean accepted(int code, String message) {
+            NemAnnounceResult result = NemAnnounceResult.builder().code(code).message(message).build();
+            return result.succeeded() || result.alreadyKnown();
+        }
+    }
+}
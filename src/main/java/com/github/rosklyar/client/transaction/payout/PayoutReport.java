@@ -0,0 +1,28 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class PayoutReport {
+
+    public final long announced;
+    public final long rejected;
+    public final long failed;
+    public final long skipped;
+    public final long unresolved;
+    /**
+     * Payments of this run whose transaction was included in a block before the run returned.
+     */
+    public final long confirmed;
+
+    public PayoutReport(long announced, long rejected, long failed, long skipped, long unresolved, long confirmed) {
+        this.announced = announced;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.skipped = skipped;
+        this.unresolved = unresolved;
+        this.confirmed = confirmed;
+    }
+}
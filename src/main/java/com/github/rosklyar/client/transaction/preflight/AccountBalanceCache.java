@@ -0,0 +1,152 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.account.domain.mosaic.OwnedMosaic;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.rosklyar.client.transaction.preflight.PreflightRule.BALANCE;
+import static com.github.rosklyar.client.transaction.preflight.PreflightRule.MOSAIC_BALANCE;
+import static java.lang.String.format;
+
+/**
+ * Balances and mosaic holdings of accounts, loaded from the node at most once per time to live.
+ * <p>
+ * Amounts spent by transactions that passed preflight are reserved locally, so a burst of transfers from one
+ * account is checked against what is left instead of against the stale node balance. Checking and subtracting happen
+ * under one lock per account, so two concurrent transfers cannot both pass against the same balance. A reservation
+ * is released again when the node does not take the transaction.
+ */
+public class AccountBalanceCache {
+
+    private final AccountClient accountClient;
+    private final long timeToLiveNanos;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+
+    public AccountBalanceCache(AccountClient accountClient, long timeToLiveMillis) {
+        this.accountClient = accountClient;
+        this.timeToLiveNanos = timeToLiveMillis * 1_000_000;
+    }
+
+    public long balance(String address) {
+        return snapshot(address).balance;
+    }
+
+    public long mosaicQuantity(String address, MosaicId mosaicId) {
+        Snapshot snapshot = snapshot(address);
+        synchronized (snapshot) {
+            return mosaics(address, snapshot).getOrDefault(mosaicId, 0L);
+        }
+    }
+
+    /**
+     * Subtracts the amounts from the cached holdings of the account if they cover them, or fails without
+     * subtracting anything.
+     *
+     * @throws PreflightException with rule {@link PreflightRule#BALANCE} or {@link PreflightRule#MOSAIC_BALANCE}
+     */
+    public Reservation reserve(String address, long microXem, Map<MosaicId, Long> mosaics) {
+        Snapshot snapshot = snapshot(address);
+        synchronized (snapshot) {
+            if (snapshot.balance < microXem) {
+                throw new PreflightException(BALANCE, format("balance %d of %s does not cover %d", snapshot.balance, address, microXem));
+            }
+            if (!mosaics.isEmpty()) {
+                Map<MosaicId, Long> held = mosaics(address, snapshot);
+                for (Map.Entry<MosaicId, Long> mosaic : mosaics.entrySet()) {
+                    long quantity = held.getOrDefault(mosaic.getKey(), 0L);
+                    if (quantity < mosaic.getValue()) {
+                        throw new PreflightException(MOSAIC_BALANCE, format("%s holds %d of %s, needs %d", address, quantity, mosaic.getKey(), mosaic.getValue()));
+                    }
+                }
+            }
+            snapshot.add(-1, microXem, mosaics);
+        }
+        return new Reservation(snapshot, microXem, mosaics);
+    }
+
+    public void invalidate(String address) {
+        snapshots.remove(address);
+        loadLocks.remove(address);
+    }
+
+    private Snapshot snapshot(String address) {
+        Snapshot snapshot = snapshots.get(address);
+        if (isFresh(snapshot)) {
+            return snapshot;
+        }
+        // the node is asked under a lock of the account instead of inside compute, so a slow node only holds up
+        // transactions of the same account
+        synchronized (loadLocks.computeIfAbsent(address, key -> new Object())) {
+            snapshot = snapshots.get(address);
+            if (!isFresh(snapshot)) {
+                snapshot = new Snapshot(System.nanoTime(), accountClient.getFromAddress(address).account.balance);
+                snapshots.put(address, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot != null && System.nanoTime() - snapshot.loadedAt <= timeToLiveNanos;
+    }
+
+    private Map<MosaicId, Long> mosaics(String address, Snapshot snapshot) {
+        if (snapshot.mosaics == null) {
+            snapshot.mosaics = new ConcurrentHashMap<>();
+            for (OwnedMosaic ownedMosaic : accountClient.ownedMosaics(address).data) {
+                snapshot.mosaics.put(ownedMosaic.mosaicId, ownedMosaic.quantity);
+            }
+        }
+        return snapshot.mosaics;
+    }
+
+    /**
+     * Amounts held back for one transaction until it is known whether the node took it.
+     */
+    public static class Reservation {
+        private final Snapshot snapshot;
+        private final long microXem;
+        private final Map<MosaicId, Long> mosaics;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(Snapshot snapshot, long microXem, Map<MosaicId, Long> mosaics) {
+            this.snapshot = snapshot;
+            this.microXem = microXem;
+            this.mosaics = mosaics;
+        }
+
+        /**
+         * Gives the reserved amounts back to the account. Only the first call has an effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                synchronized (snapshot) {
+                    snapshot.add(1, microXem, mosaics);
+                }
+            }
+        }
+    }
+
+    private static class Snapshot {
+        private final long loadedAt;
+        private volatile long balance;
+        private Map<MosaicId, Long> mosaics;
+
+        private Snapshot(long loadedAt, long balance) {
+            this.loadedAt = loadedAt;
+            this.balance = balance;
+        }
+
+        private void add(int sign, long microXem, Map<MosaicId, Long> quantities) {
+            balance += sign * microXem;
+            if (mosaics != null) {
+                quantities.forEach((mosaicId, quantity) -> mosaics.merge(mosaicId, sign * quantity, Long::sum));
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * What a signed transaction is going to cost its paying account, as seen by {@link PreflightValidator}.
+ * For multisig transactions the paying account is the multisig account and the fee covers inner and outer fee.
+ */
+@EqualsAndHashCode
+@ToString
+@Builder
+public class PreflightCheck {
+
+    public final String account;
+    public final String recipient;
+    public final long microXemAmount;
+    public final List<MosaicTransfer> mosaics;
+    public final long fee;
+    /**
+     * The least fee the node accepts for the transaction, as the {@link com.github.rosklyar.client.transaction.fee.FeeCalculator}
+     * computes it.
+     */
+    public final long minimumFee;
+    public final int timeStamp;
+    public final int deadline;
+    public final String signature;
+}
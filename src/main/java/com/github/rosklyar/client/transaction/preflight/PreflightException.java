@@ -0,0 +1,13 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+import static java.lang.String.format;
+
+public class PreflightException extends RuntimeException {
+
+    public final PreflightRule rule;
+
+    public PreflightException(PreflightRule rule, String message) {
+        super(format("Transaction failed preflight check %s: %s", rule, message));
+        this.rule = rule;
+    }
+}
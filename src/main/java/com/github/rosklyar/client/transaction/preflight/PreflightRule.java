@@ -0,0 +1,11 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+public enum PreflightRule {
+
+    DEADLINE,
+    FEE,
+    SIGNATURE,
+    RECIPIENT,
+    BALANCE,
+    MOSAIC_BALANCE
+}
@@ -0,0 +1,130 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+import com.github.rosklyar.client.node.NetworkClock;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import com.github.rosklyar.client.transaction.version.Network;
+import com.github.rosklyar.crypto.DsaSigner;
+import com.github.rosklyar.crypto.Signature;
+import com.github.rosklyar.crypto.ed25519.Ed25519CryptoEngine;
+import com.github.rosklyar.utils.AddressEncoder;
+import com.github.rosklyar.utils.HexEncoder;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.rosklyar.client.transaction.preflight.PreflightRule.*;
+import static java.lang.String.format;
+
+/**
+ * Rejects transactions locally that the node would reject anyway, before they cost a round-trip.
+ * <p>
+ * Rules run cheapest first: deadline window against the network clock, fee between the
+ * {@link com.github.rosklyar.client.transaction.fee.FeeCalculator} minimum and a maximum, canonical signature, recipient
+ * checksum and finally the balance and mosaic holdings of the paying account from an {@link AccountBalanceCache}.
+ * Balance rules are skipped when no cache is given. A transaction that passes reserves what it spends in the cache,
+ * and the caller releases the reservation if the node does not take it. Every rule counts how often it ran and how
+ * often it failed.
+ */
+public class PreflightValidator {
+
+    private static final int MAX_TIME_TO_LIVE_SECONDS = 24 * 60 * 60;
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final MosaicId XEM = new MosaicId("nem", "xem");
+    // checking a signature for canonical form needs no key pair
+    private static final DsaSigner CANONICAL_CHECK = Ed25519CryptoEngine.createDsaSigner(null);
+
+    private final Network network;
+    private final NetworkClock networkClock;
+    private final AccountBalanceCache balanceCache;
+    private final long maxFee;
+    private final Map<PreflightRule, LongAdder> checked = new EnumMap<>(PreflightRule.class);
+    private final Map<PreflightRule, LongAdder> failed = new EnumMap<>(PreflightRule.class);
+
+    public PreflightValidator(Network network, NetworkClock networkClock, AccountBalanceCache balanceCache, long maxFee) {
+        this.network = network;
+        this.networkClock = networkClock;
+        this.balanceCache = balanceCache;
+        this.maxFee = maxFee;
+        for (PreflightRule rule : PreflightRule.values()) {
+            checked.put(rule, new LongAdder());
+            failed.put(rule, new LongAdder());
+        }
+    }
+
+    /**
+     * @return the balance reservation of the transaction, or {@code null} when balances are not checked
+     * @throws PreflightException when a rule fails
+     */
+    public AccountBalanceCache.Reservation validate(PreflightCheck check) {
+        int now = networkClock.currentTime();
+        verify(DEADLINE, check.deadline > now, "deadline %d is not after network time %d", check.deadline, now);
+        verify(DEADLINE, check.deadline - check.timeStamp <= MAX_TIME_TO_LIVE_SECONDS, "deadline is more than a day after the time stamp");
+        long minimumFee = Math.max(1, check.minimumFee);
+        verify(FEE, check.fee >= minimumFee && check.fee <= maxFee, "fee %d is not within [%d, %d]", check.fee, minimumFee, maxFee);
+        verify(SIGNATURE, isCanonical(check.signature), "signature is not canonical");
+        if (check.recipient != null) {
+            verify(RECIPIENT, AddressEncoder.isValid(check.recipient, network.code), "invalid recipient address %s", check.recipient);
+        }
+        if (balanceCache != null && check.account != null) {
+            return reserveBalance(check);
+        }
+        return null;
+    }
+
+    public long checked(PreflightRule rule) {
+        return checked.get(rule).sum();
+    }
+
+    public long failed(PreflightRule rule) {
+        return failed.get(rule).sum();
+    }
+
+    private AccountBalanceCache.Reservation reserveBalance(PreflightCheck check) {
+        long microXem = check.fee + check.microXemAmount;
+        Map<MosaicId, Long> mosaics = new HashMap<>();
+        if (check.mosaics != null) {
+            for (MosaicTransfer mosaic : check.mosaics) {
+                if (XEM.equals(mosaic.mosaicId)) {
+                    microXem += mosaic.quantity;
+                } else {
+                    mosaics.merge(mosaic.mosaicId, mosaic.quantity, Long::sum);
+                }
+            }
+        }
+        checked.get(BALANCE).increment();
+        if (!mosaics.isEmpty()) {
+            checked.get(MOSAIC_BALANCE).increment();
+        }
+        try {
+            return balanceCache.reserve(check.account, microXem, mosaics);
+        } catch (PreflightException e) {
+            failed.get(e.rule).increment();
+            throw e;
+        }
+    }
+
+    private void verify(PreflightRule rule, boolean valid, String message, Object... args) {
+        checked.get(rule).increment();
+        if (!valid) {
+            failed.get(rule).increment();
+            throw new PreflightException(rule, format(message, args));
+        }
+    }
+
+    private static boolean isCanonical(String signature) {
+        if (signature == null) {
+            return false;
+        }
+        byte[] bytes = HexEncoder.tryGetBytes(signature);
+        if (bytes == null || bytes.length != SIGNATURE_LENGTH) {
+            return false;
+        }
+        return CANONICAL_CHECK.isCanonicalSignature(new Signature(
+                Arrays.copyOfRange(bytes, 0, SIGNATURE_LENGTH / 2),
+                Arrays.copyOfRange(bytes, SIGNATURE_LENGTH / 2, SIGNATURE_LENGTH)));
+    }
+}
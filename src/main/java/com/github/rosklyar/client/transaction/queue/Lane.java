@@ -0,0 +1,14 @@
+package com.github.rosklyar.client.transaction.queue;
+
+public enum Lane {
+
+    URGENT(8),
+    NORMAL(3),
+    BULK(1);
+
+    public final int weight;
+
+    Lane(int weight) {
+        this.weight = weight;
+    }
+}
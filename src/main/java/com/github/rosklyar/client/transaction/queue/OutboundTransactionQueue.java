@@ -0,0 +1,226 @@
+package com.github.rosklyar.client.transaction.queue;
+
+import com.github.rosklyar.client.metrics.LatencyHistogram;
+import com.github.rosklyar.client.transaction.TransactionClient;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded outbound queue in front of a {@link TransactionClient} with one lane per {@link Lane}.
+ * <p>
+ * Workers pick the next lane by smooth weighted round robin over the lanes that have work, so an urgent transfer
+ * waits for at most a few bulk transfers instead of a whole airdrop, and bulk work still progresses while urgent
+ * traffic is steady. A full lane blocks its producers ({@link #submit}) or rejects them with
+ * {@link QueueFullException} after a timeout ({@link #offer}); other lanes are not affected.
+ */
+public class OutboundTransactionQueue implements Closeable {
+
+    private final TransactionClient transactionClient;
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean closed;
+
+    public OutboundTransactionQueue(TransactionClient transactionClient, int workers, int capacityPerLane) {
+        this(transactionClient, workers, capacities(capacityPerLane));
+    }
+
+    public OutboundTransactionQueue(TransactionClient transactionClient, int workers, Map<Lane, Integer> capacities) {
+        this.transactionClient = transactionClient;
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneState(capacities.get(lane), lock.newCondition()));
+        }
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::work, "nem-outbound-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            this.workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues a call, waiting as long as the lane is full.
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Function<TransactionClient, T> call) {
+        return enqueue(lane, call, Long.MAX_VALUE);
+    }
+
+    /**
+     * Queues a call, waiting at most {@code timeout} for room in the lane.
+     *
+     * @throws QueueFullException if the lane stayed full
+     */
+    public <T> CompletableFuture<T> offer(Lane lane, Function<TransactionClient, T> call, long timeout, TimeUnit unit) {
+        return enqueue(lane, call, unit.toNanos(timeout));
+    }
+
+    public int depth(Lane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).tasks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public LatencyHistogram waitTime(Lane lane) {
+        return lanes.get(lane).waitTime;
+    }
+
+    public long dispatched(Lane lane) {
+        return lanes.get(lane).dispatched.sum();
+    }
+
+    public long rejected(Lane lane) {
+        return lanes.get(lane).rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+        lock.lock();
+        try {
+            for (LaneState state : lanes.values()) {
+                state.tasks.forEach(task -> task.future.completeExceptionally(new CancellationException("Outbound queue closed")));
+                state.tasks.clear();
+                state.notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Lane lane, Function<TransactionClient, T> call, long timeoutNanos) {
+        LaneState state = lanes.get(lane);
+        Task<T> task = new Task<>(call);
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (state.tasks.size() >= state.capacity && !closed) {
+                if (remaining <= 0) {
+                    state.rejected.increment();
+                    throw new QueueFullException(lane, state.capacity);
+                }
+                remaining = state.notFull.awaitNanos(remaining);
+            }
+            if (closed) {
+                throw new CancellationException("Outbound queue closed");
+            }
+            task.enqueuedAt = System.nanoTime();
+            state.tasks.add(task);
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for lane " + lane);
+        } finally {
+            lock.unlock();
+        }
+        return task.future;
+    }
+
+    private void work() {
+        while (!closed) {
+            Task<?> task;
+            try {
+                task = next();
+            } catch (InterruptedException e) {
+                return;
+            }
+            task.run(transactionClient);
+        }
+    }
+
+    private Task<?> next() throws InterruptedException {
+        lock.lock();
+        try {
+            LaneState picked;
+            while ((picked = pick()) == null) {
+                notEmpty.await();
+            }
+            Task<?> task = picked.tasks.poll();
+            picked.notFull.signal();
+            picked.waitTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.enqueuedAt));
+            picked.dispatched.increment();
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // smooth weighted round robin over non-empty lanes, see nginx upstream balancing
+    private LaneState pick() {
+        LaneState best = null;
+        int total = 0;
+        for (Map.Entry<Lane, LaneState> entry : lanes.entrySet()) {
+            LaneState state = entry.getValue();
+            if (state.tasks.isEmpty()) {
+                continue;
+            }
+            int weight = entry.getKey().weight;
+            state.currentWeight += weight;
+            total += weight;
+            if (best == null || state.currentWeight > best.currentWeight) {
+                best = state;
+            }
+        }
+        if (best != null) {
+            best.currentWeight -= total;
+        }
+        return best;
+    }
+
+    private static Map<Lane, Integer> capacities(int capacityPerLane) {
+        Map<Lane, Integer> capacities = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            capacities.put(lane, capacityPerLane);
+        }
+        return capacities;
+    }
+
+    private static class LaneState {
+        private final int capacity;
+        private final Condition notFull;
+        private final ArrayDeque<Task<?>> tasks = new ArrayDeque<>();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private int currentWeight;
+
+        private LaneState(int capacity, Condition notFull) {
+            this.capacity = capacity;
+            this.notFull = notFull;
+        }
+    }
+
+    private static class Task<T> {
+        private final Function<TransactionClient, T> call;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private long enqueuedAt;
+
+        private Task(Function<TransactionClient, T> call) {
+            this.call = call;
+        }
+
+        private void run(TransactionClient transactionClient) {
+            try {
+                future.complete(call.apply(transactionClient));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
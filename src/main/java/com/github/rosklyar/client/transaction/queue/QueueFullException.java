@@ -0,0 +1,13 @@
+package com.github.rosklyar.client.transaction.queue;
+
+import static java.lang.String.format;
+
+public class QueueFullException extends RuntimeException {
+
+    public final Lane lane;
+
+    public QueueFullException(Lane lane, int capacity) {
+        super(format("Lane %s is full (%d queued transactions)", lane, capacity));
+        this.lane = lane;
+    }
+}
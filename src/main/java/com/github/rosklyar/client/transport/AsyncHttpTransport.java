@@ -0,0 +1,191 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.metrics.CompressionMetrics;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Non-blocking HTTP transport on Java NIO. A handful of I/O reactor threads multiplex all connections, so thousands
+ * of requests can be outstanding without a thread per request.
+ * <p>
+ * {@link #execute(Request)} never blocks; its future is completed on a reactor thread, so heavy work should be
+ * chained with the {@code *Async} stages. {@link #client()} adapts the transport to Feign, whose interfaces are
+ * synchronous: the calling thread waits for the response, but no thread is held by the transport itself.
+ * <p>
+ * Response bodies are buffered in full before the future completes, so a response costs its whole size in heap and
+ * nothing reaches the caller before the last byte. That suits the small JSON answers of NIS; large or endless bodies,
+ * like those read by the streaming client, belong on the blocking {@link HttpTransport}, which hands the body over
+ * as a stream. A caller interrupted while waiting in {@link #client()} cancels its request.
+ */
+public class AsyncHttpTransport implements Closeable {
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final RequestConfig requestConfig;
+    private final Request.Options options;
+    private final boolean compressionEnabled;
+    private final CompressionMetrics compression = new CompressionMetrics();
+
+    public AsyncHttpTransport() {
+        this(HttpTransportConfig.builder().build(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public AsyncHttpTransport(HttpTransportConfig config, int ioThreads) {
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                    .setIoThreadCount(ioThreads)
+                    .setConnectTimeout(config.connectTimeoutMillis)
+                    .setSoTimeout(config.readTimeoutMillis)
+                    .setSoKeepAlive(true)
+                    .build()));
+        } catch (IOReactorException e) {
+            throw new UncheckedIOException(e);
+        }
+        connectionManager.setMaxTotal(config.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(config.maxConnectionsPerHost);
+        requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.connectTimeoutMillis)
+                .setSocketTimeout(config.readTimeoutMillis)
+                .setConnectionRequestTimeout(config.poolTimeoutMillis)
+                .build();
+        httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(HttpTransport.keepAlive(config.keepAliveMillis))
+                .disableCookieManagement()
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+        httpClient.start();
+        options = new Request.Options(config.connectTimeoutMillis, config.readTimeoutMillis);
+        compressionEnabled = config.compression;
+    }
+
+    public CompletableFuture<Response> execute(Request request) {
+        return execute(request, options);
+    }
+
+    public CompletableFuture<Response> execute(Request request, Request.Options options) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        Future<HttpResponse> exchange = httpClient.execute(toHttpRequest(request, options), new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    future.complete(toResponse(response));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        // cancelling the returned future cancels the exchange; its connection goes back to the pool on the next I/O event
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    public Client client() {
+        Client client = (request, options) -> {
+            CompletableFuture<Response> response = execute(request, options);
+            try {
+                return response.get();
+            } catch (InterruptedException e) {
+                response.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(request.url());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        };
+        return compressionEnabled ? new CompressionClient(client, compression) : client;
+    }
+
+    public Request.Options options() {
+        return options;
+    }
+
+    public CompressionMetrics compression() {
+        return compression;
+    }
+
+    public int leasedConnections() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    public int availableConnections() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private HttpUriRequest toHttpRequest(Request request, Request.Options options) {
+        RequestBuilder builder = RequestBuilder.create(request.method())
+                .setUri(request.url())
+                .setConfig(RequestConfig.copy(requestConfig)
+                        .setConnectTimeout(options.connectTimeoutMillis())
+                        .setSocketTimeout(options.readTimeoutMillis())
+                        .build());
+        request.headers().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.addHeader(name, value));
+            }
+        });
+        if (request.body() != null) {
+            builder.setEntity(new ByteArrayEntity(request.body()));
+        }
+        return builder.build();
+    }
+
+    private static Response toResponse(HttpResponse response) throws IOException {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        byte[] body = response.getEntity() == null ? null : EntityUtils.toByteArray(response.getEntity());
+        return Response.create(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase(), headers, body);
+    }
+}
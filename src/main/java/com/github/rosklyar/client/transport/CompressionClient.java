@@ -0,0 +1,152 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.metrics.CompressionMetrics;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Asks nodes for gzip or deflate compressed responses and inflates them while they are read, so the decoder parses
+ * the body as it arrives instead of after it has been buffered. Wire and decoded sizes are recorded per endpoint
+ * once the body has been read or closed.
+ */
+public class CompressionClient implements Client {
+
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final Client delegate;
+    private final CompressionMetrics metrics;
+
+    public CompressionClient(Client delegate, CompressionMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(acceptCompressed(request), options);
+        if (response.body() == null) {
+            return response;
+        }
+        String encoding = header(response.headers(), CONTENT_ENCODING);
+        boolean empty = response.body().length() != null && response.body().length() == 0;
+        boolean gzip = !empty && "gzip".equalsIgnoreCase(encoding);
+        boolean deflate = !empty && "deflate".equalsIgnoreCase(encoding);
+        CountingInputStream wire = new CountingInputStream(response.body().asInputStream());
+        InputStream inflated = gzip ? new GZIPInputStream(wire) : deflate ? new InflaterInputStream(wire) : wire;
+        RecordingInputStream body = new RecordingInputStream(inflated, wire, endpoint(request), gzip || deflate);
+        if (!gzip && !deflate) {
+            return Response.create(response.status(), response.reason(), response.headers(), body, response.body().length());
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers());
+        headers.keySet().removeIf(name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+        return Response.create(response.status(), response.reason(), headers, body, null);
+    }
+
+    private static Request acceptCompressed(Request request) {
+        if (header(request.headers(), ACCEPT_ENCODING) != null) {
+            return request;
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(ACCEPT_ENCODING, Collections.singletonList("gzip, deflate"));
+        return Request.create(request.method(), request.url(), headers, request.body(), request.charset());
+    }
+
+    private static String header(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next().trim();
+            }
+        }
+        return null;
+    }
+
+    private static String endpoint(Request request) {
+        return request.method() + " " + URI.create(request.url()).getPath();
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    private class RecordingInputStream extends CountingInputStream {
+
+        private final CountingInputStream wire;
+        private final String endpoint;
+        private final boolean compressed;
+        private boolean recorded;
+
+        private RecordingInputStream(InputStream in, CountingInputStream wire, String endpoint, boolean compressed) {
+            super(in);
+            this.wire = wire;
+            this.endpoint = endpoint;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return recordAtEnd(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return recordAtEnd(super.read(b, off, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            record();
+            super.close();
+        }
+
+        private int recordAtEnd(int read) {
+            if (read < 0) {
+                record();
+            }
+            return read;
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                metrics.record(endpoint, compressed, wire.count, super.count);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.metrics.CompressionMetrics;
+import feign.Client;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * One pooled keep-alive HTTP client to be shared by all NEM clients, so connections (and TLS sessions) to a node
+ * are reused across clients and requests instead of being opened per request.
+ */
+public class HttpTransport implements Closeable {
+
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2_000;
+
+    private final CloseableHttpClient httpClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Client client;
+    private final Request.Options options;
+    private final CompressionMetrics compression = new CompressionMetrics();
+
+    public HttpTransport() {
+        this(HttpTransportConfig.builder().build());
+    }
+
+    public HttpTransport(HttpTransportConfig config) {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(config.maxConnectionsPerHost);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAlive(config.keepAliveMillis))
+                .evictIdleConnections(config.idleEvictionMillis, MILLISECONDS)
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .disableContentCompression()
+                // retries are left to Retries, which keeps them within its budget
+                .disableAutomaticRetries()
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(config.connectTimeoutMillis)
+                        .setSocketTimeout(config.readTimeoutMillis)
+                        .setConnectionRequestTimeout(config.poolTimeoutMillis)
+                        .build())
+                .build();
+        client = config.compression ? new CompressionClient(new ApacheHttpClient(httpClient), compression) : new ApacheHttpClient(httpClient);
+        options = new Request.Options(config.connectTimeoutMillis, config.readTimeoutMillis);
+    }
+
+    public Client client() {
+        return client;
+    }
+
+    public Request.Options options() {
+        return options;
+    }
+
+    public CompressionMetrics compression() {
+        return compression;
+    }
+
+    public int leasedConnections() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    public int availableConnections() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    // honour the node's Keep-Alive timeout, otherwise keep idle connections for the configured time
+    static ConnectionKeepAliveStrategy keepAlive(long keepAliveMillis) {
+        return (HttpResponse response, HttpContext context) -> {
+            BasicHeaderElementIterator elements = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (elements.hasNext()) {
+                HeaderElement element = elements.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000;
+                    } catch (NumberFormatException e) {
+                        return keepAliveMillis;
+                    }
+                }
+            }
+            return keepAliveMillis;
+        };
+    }
+}
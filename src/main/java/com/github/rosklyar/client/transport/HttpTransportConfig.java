@@ -0,0 +1,28 @@
+package com.github.rosklyar.client.transport;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+@Builder
+public class HttpTransportConfig {
+
+    @Builder.Default
+    public final int maxConnections = 200;
+    @Builder.Default
+    public final int maxConnectionsPerHost = 50;
+    @Builder.Default
+    public final int connectTimeoutMillis = 5_000;
+    @Builder.Default
+    public final int readTimeoutMillis = 30_000;
+    @Builder.Default
+    public final int poolTimeoutMillis = 5_000;
+    @Builder.Default
+    public final long keepAliveMillis = 60_000;
+    @Builder.Default
+    public final long idleEvictionMillis = 30_000;
+    @Builder.Default
+    public final boolean compression = true;
+}
@@ -0,0 +1,69 @@
+package com.github.rosklyar.utils;
+
+import com.github.rosklyar.crypto.Hashes;
+import org.apache.commons.codec.binary.Base32;
+
+import java.util.Arrays;
+
+/**
+ * Static class that contains utility functions for deriving and validating NEM addresses.
+ */
+public class AddressEncoder {
+
+    private static final int NUM_DECODED_BYTES = 25;
+    private static final int NUM_CHECKSUM_BYTES = 4;
+    private static final int NUM_ENCODED_CHARS = 40;
+
+    private AddressEncoder() {
+    }
+
+    /**
+     * Derives the address of a public key.
+     *
+     * @param version The network version byte.
+     * @param publicKey The hex encoded public key.
+     * @return The upper case base32 address without dashes.
+     */
+    public static String fromPublicKey(final int version, final String publicKey) {
+        final byte[] publicKeyHash = Hashes.ripemd160(Hashes.sha3_256(HexEncoder.getBytes(publicKey)));
+        final byte[] versionPrefixedHash = ArrayUtils.concat(new byte[]{(byte) version}, publicKeyHash);
+        final byte[] checksum = checksum(versionPrefixedHash);
+        return new Base32().encodeAsString(ArrayUtils.concat(versionPrefixedHash, checksum));
+    }
+
+    /**
+     * Checks that an address is well formed, belongs to the network and has a valid checksum.
+     *
+     * @param address The address, optionally with dashes.
+     * @param version The network version byte.
+     * @return true if the address is valid.
+     */
+    public static boolean isValid(final String address, final int version) {
+        if (address == null) {
+            return false;
+        }
+
+        final String normalized = address.replace("-", "").toUpperCase();
+        if (NUM_ENCODED_CHARS != normalized.length()) {
+            return false;
+        }
+
+        final Base32 base32 = new Base32();
+        if (!base32.isInAlphabet(normalized)) {
+            return false;
+        }
+
+        final byte[] decoded = base32.decode(normalized);
+        if (NUM_DECODED_BYTES != decoded.length || (byte) version != decoded[0]) {
+            return false;
+        }
+
+        final byte[] versionPrefixedHash = Arrays.copyOfRange(decoded, 0, NUM_DECODED_BYTES - NUM_CHECKSUM_BYTES);
+        final byte[] checksum = Arrays.copyOfRange(decoded, NUM_DECODED_BYTES - NUM_CHECKSUM_BYTES, NUM_DECODED_BYTES);
+        return Arrays.equals(checksum, checksum(versionPrefixedHash));
+    }
+
+    private static byte[] checksum(final byte[] bytes) {
+        return Arrays.copyOfRange(Hashes.sha3_256(bytes), 0, NUM_CHECKSUM_BYTES);
+    }
+}
@@ -22,6 +22,19 @@ public class HexEncoder {
         }
     }
 
+    /**
+     * Tries to convert a hex string to a byte array.
+     *
+     * @param hexString The input hex string.
+     * @return The output byte array or null if the input string is malformed.
+     */
+    public static byte[] tryGetBytes(final String hexString) {
+        try {
+            return getBytesInternal(hexString);
+        } catch (final DecoderException e) {
+            return null;
+        }
+    }
 
     private static byte[] getBytesInternal(final String hexString) throws DecoderException {
         final Hex codec = new Hex();
@@ -0,0 +1,76 @@
+package com.github.rosklyar.client;
+
+import com.github.rosklyar.client.transport.HttpTransportConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NemClientTest {
+
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger extendedInfoCalls = new AtomicInteger();
+    private HttpServer server;
+    private NemClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/heartbeat", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, "{\"code\":1,\"type\":2,\"message\":\"ok\"}");
+        });
+        server.createContext("/node/extended-info", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            extendedInfoCalls.incrementAndGet();
+            respond(exchange, "{\"node\":null,\"nisInfo\":{\"currentTime\":1000,\"startTime\":0,\"application\":null,\"version\":\"0.6.95\",\"signer\":\"CN=NEM\",\"unknown\":true}}");
+        });
+        server.start();
+        client = NemClient.create(NemClientConfig.builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort())
+                .transport(HttpTransportConfig.builder().maxConnectionsPerHost(4).build())
+                .build());
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void shareTransportAndClockBetweenClients() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, client.status().heartbeat().code);
+            assertEquals(1000, client.networkClock().currentTime(), 1);
+        }
+
+        assertEquals(1, extendedInfoCalls.get());
+        assertEquals(1, connections.size());
+        assertEquals(1, client.transport().availableConnections());
+
+        client.close();
+
+        assertThrows(RuntimeException.class, () -> client.status().heartbeat());
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
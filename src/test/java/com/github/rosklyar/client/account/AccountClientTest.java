@@ -11,8 +11,10 @@ import com.github.rosklyar.client.account.domain.mosaic.OwnedMosaicsResponse;
 import com.github.rosklyar.client.account.domain.namespace.NamespacesResponse;
 import com.github.rosklyar.client.account.domain.transaction.Transactions;
 import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactions;
+import com.github.rosklyar.client.nis.NisStandIn;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
 import feign.FeignException;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -28,21 +30,40 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class AccountClientTest {
 
+    private static final NisStandIn nis = NisStandIn.start();
+
     private AccountClient accountClient = new DefaultNemClientFactory().createAccountClient("accountApi");
-    private AccountClient simpleAccountClient = new DefaultNemClientFactory().simpleAccountClient("http://153.122.112.137:7890");
+    private AccountClient simpleAccountClient = new DefaultNemClientFactory().simpleAccountClient(nis.url());
 
     private final String address = "TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65";
-    private final String cosignatoryAddress = "TBNDMABIECCN6EQY5WVNJZMCXAUVTN7RKGZH4CP4";
-    private final String publicKey = "5f5f2bce1a0911aeec9a594a9f8fc4a80cfa193f4525120f53360389074b9a51";
-    private final String cosignatoryPublicKey = "0d81da60546ccb7b54b59ac8c1e8d2d0008c20bf76770a75b7bd5a853c26797b";
+    private final String publicKey = "a1aaca6c17a24252e674d155713cdf55996ad00175be4af02a20c67b59f9fe8a";
     private final String privateKey = "0476fd96242ac5ef6cb1b268887254c1a3089759556beb1ce660c0cb2c42bb27";
+    private final AccountInfo accountInfo = AccountInfo.builder()
+            .address(address)
+            .balance(1000000000)
+            .vestedBalance(900000000)
+            .importance(0.00012)
+            .publicKey(publicKey)
+            .harvestedBlocks(3)
+            .build();
+    private final AccountMetaData meta = AccountMetaData.builder()
+            .status(LOCKED)
+            .remoteStatus(INACTIVE)
+            .cosignatoryOf(new ArrayList<>())
+            .cosignatories(new ArrayList<>())
+            .build();
 
     @BeforeAll
     static void init() {
-        getConfigInstance().setProperty("accountApi.ribbon.listOfServers", "153.122.112.137:7890");
+        getConfigInstance().setProperty("accountApi.ribbon.listOfServers", nis.server());
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 20000);
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     @Disabled("only for local NIS nodes")
     void generate() {
@@ -52,38 +73,9 @@ class AccountClientTest {
 
     @Test
     void getAccount() {
-
         AccountMetaDataPair account = accountClient.getFromAddress(address);
-        AccountMetaDataPair cosignatoryAccount = accountClient.getFromAddress(cosignatoryAddress);
         AccountMetaDataPair accountFromPublicKey = accountClient.getFromPublicKey(publicKey);
 
-        AccountInfo accountInfo = AccountInfo.builder()
-                .address(address)
-                .balance(13000000)
-                .vestedBalance(account.account.vestedBalance)
-                .importance(0.0)
-                .publicKey(publicKey)
-                .harvestedBlocks(0)
-                .build();
-        AccountInfo cosignatory = AccountInfo.builder()
-                .address(cosignatoryAddress)
-                .balance(26000000)
-                .vestedBalance(cosignatoryAccount.account.vestedBalance)
-                .importance(0.0)
-                .publicKey(cosignatoryPublicKey)
-                .harvestedBlocks(0)
-                .build();
-
-        List<AccountInfo> cosignatoryOf = new ArrayList<>();
-        cosignatoryOf.add(cosignatory);
-
-        AccountMetaData meta = AccountMetaData.builder()
-                .status(LOCKED)
-                .remoteStatus(INACTIVE)
-                .cosignatoryOf(cosignatoryOf)
-                .cosignatories(new ArrayList<>())
-                .build();
-
         assertEquals(new AccountMetaDataPair(accountInfo, meta), account);
         assertEquals(new AccountMetaDataPair(accountInfo, meta), accountFromPublicKey);
     }
@@ -93,37 +85,8 @@ class AccountClientTest {
         AccountMetaDataPair account = accountClient.getForwarded(address);
         assertEquals(account, simpleAccountClient.getForwarded(address));
 
-        AccountMetaDataPair cosignatoryAccount = accountClient.getFromAddress(cosignatoryAddress);
         AccountMetaDataPair accountFromPublicKey = accountClient.getForwardedFromPublicKey(publicKey);
 
-        AccountInfo accountInfo = AccountInfo.builder()
-                .address(address)
-                .balance(13000000)
-                .vestedBalance(account.account.vestedBalance)
-                .importance(0.0)
-                .publicKey(publicKey)
-                .harvestedBlocks(0)
-                .build();
-        AccountInfo cosignatory = AccountInfo.builder()
-                .address(cosignatoryAddress)
-                .balance(26000000)
-                .vestedBalance(cosignatoryAccount.account.vestedBalance)
-                .importance(0.0)
-                .publicKey(cosignatoryPublicKey)
-                .harvestedBlocks(0)
-                .build();
-
-        List<AccountInfo> cosignatoryOf = new ArrayList<>();
-        cosignatoryOf.add(cosignatory);
-
-        AccountMetaData meta = AccountMetaData.builder()
-                .status(LOCKED)
-                .remoteStatus(INACTIVE)
-                .cosignatoryOf(cosignatoryOf)
-                .cosignatories(new ArrayList<>())
-                .build();
-
-
         assertEquals(new AccountMetaDataPair(accountInfo, meta), account);
         assertEquals(new AccountMetaDataPair(accountInfo, meta), accountFromPublicKey);
     }
@@ -131,34 +94,13 @@ class AccountClientTest {
     @Test
     void getStatus() {
         AccountMetaData status = accountClient.status(address);
-        AccountMetaDataPair cosignatoryAccount = accountClient.getFromAddress(cosignatoryAddress);
-
-        AccountInfo cosignatory = AccountInfo.builder()
-                .address(cosignatoryAddress)
-                .balance(26000000)
-                .vestedBalance(cosignatoryAccount.account.vestedBalance)
-                .importance(0.0)
-                .publicKey(cosignatoryPublicKey)
-                .harvestedBlocks(0)
-                .build();
-
-        List<AccountInfo> cosignatoryOf = new ArrayList<>();
-        cosignatoryOf.add(cosignatory);
-
-        AccountMetaData meta = AccountMetaData.builder()
-                .status(LOCKED)
-                .remoteStatus(INACTIVE)
-                .cosignatoryOf(cosignatoryOf)
-                .cosignatories(new ArrayList<>())
-                .build();
-
         assertEquals(meta, status);
     }
 
     @Test
     void getIncomingTransactions() {
         Transactions transactions = accountClient.incomingTransactions(address);
-        assertEquals(2, transactions.data.size());
+        assertEquals(25, transactions.data.size());
         Transactions transactionsBeforeInputTransactionHash = accountClient.incomingTransactions(address, transactions.data.stream().findFirst().map(tr -> tr.meta.id).orElseThrow(RuntimeException::new));
         assertEquals(transactions.data.size() - 1, transactionsBeforeInputTransactionHash.data.size());
     }
@@ -166,7 +108,7 @@ class AccountClientTest {
     @Test
     void getOutgoingTransactions() {
         Transactions transactions = accountClient.outgoingTransactions(address);
-        assertEquals(26000000, transactions.data.stream().mapToLong(pair -> pair.transaction.fee).sum());
+        assertEquals(2800000, transactions.data.stream().mapToLong(pair -> pair.transaction.fee).sum());
         Transactions transactionsBeforeInputTransactionHash = accountClient.outgoingTransactions(address, transactions.data.stream().findFirst().map(tr -> tr.meta.id).orElseThrow(RuntimeException::new));
         assertEquals(transactions.data.size() - 1, transactionsBeforeInputTransactionHash.data.size());
     }
@@ -174,7 +116,7 @@ class AccountClientTest {
     @Test
     void getAllTransactions() {
         Transactions transactions = accountClient.allTransactions(address);
-        assertEquals(55000000, transactions.data.stream().mapToLong(pair -> pair.transaction.fee).sum());
+        assertEquals(2800000, transactions.data.stream().mapToLong(pair -> pair.transaction.fee).sum());
         Transactions transactionsBeforeInputTransactionHash = accountClient.allTransactions(address, transactions.data.stream().findFirst().map(tr -> tr.meta.id).orElseThrow(RuntimeException::new));
         assertEquals(transactions.data.size() - 1, transactionsBeforeInputTransactionHash.data.size());
     }
@@ -182,7 +124,7 @@ class AccountClientTest {
     @Test
     void getUnconfirmedTransactions() {
         UnconfirmedTransactions unconfirmedTransactions = accountClient.unconfirmedTransactions(address);
-        assertEquals(0, unconfirmedTransactions.data.size());
+        assertEquals(1, unconfirmedTransactions.data.size());
     }
 
     @Test
@@ -209,11 +151,10 @@ class AccountClientTest {
     @Test
     void getHarvests() {
         List<HarvestInfo> harvests = accountClient.harvests(address, null).data;
-        assertEquals(0, harvests.size());
+        assertEquals(3, harvests.size());
     }
 
     @Test
-    @Disabled("test can fail with timeout")
     void getImportances() {
         ImportanceResponse importanceResponse = accountClient.importances();
         assumeTrue(importanceResponse.data.size() > 0);
@@ -223,19 +164,20 @@ class AccountClientTest {
     @Test
     void getNamespaces() {
         NamespacesResponse namespaces = accountClient.namespaces(address, null, null, null);
-        assertEquals(0, namespaces.data.size());
+        assertEquals(1, namespaces.data.size());
     }
 
     @Test
     void getMosaics() {
         MosaicsResponse mosaics = accountClient.mosaics(address, null, null);
-        assertEquals(0, mosaics.data.size());
+        assertEquals(1, mosaics.data.size());
     }
 
     @Test
     void getOwnedMosaics() {
         List<OwnedMosaic> expectedOwnedMosaics = new ArrayList<>();
-        expectedOwnedMosaics.add(new OwnedMosaic(new MosaicId("nem", "xem"), 13000000));
+        expectedOwnedMosaics.add(new OwnedMosaic(new MosaicId("nem", "xem"), 1000000000));
+        expectedOwnedMosaics.add(new OwnedMosaic(new MosaicId("stand-in", "coin"), 5000000));
         OwnedMosaicsResponse ownedMosaicsResponse = accountClient.ownedMosaics(address);
         assertEquals(expectedOwnedMosaics, ownedMosaicsResponse.data);
     }
@@ -0,0 +1,96 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.HeightResponse;
+import com.github.rosklyar.client.fake.Stub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChainFreshnessMonitorTest {
+
+    private static final String A = "http://a:7890";
+    private static final String B = "http://b:7890";
+    private static final String C = "http://c:7890";
+
+    private final Map<String, Long> heights = new ConcurrentHashMap<>();
+    private final NodePool pool = new NodePool(Arrays.asList(A, B, C), url -> null, url -> null, 3);
+    private final ChainFreshnessMonitor monitor = new ChainFreshnessMonitor(pool, this::blockchainClient, 5);
+
+    @AfterEach
+    void close() {
+        monitor.close();
+        pool.close();
+    }
+
+    @Test
+    void quarantineLaggingNodeUntilItCatchesUp() {
+        heights.put(A, 1000L);
+        heights.put(B, 998L);
+        heights.put(C, 980L);
+
+        monitor.check();
+
+        assertEquals(Arrays.asList(A, B), pool.urls());
+        assertEquals(18, monitor.lag(C));
+        assertEquals(Collections.singleton(C), pool.quarantined());
+
+        heights.put(C, 1001L);
+        monitor.check();
+
+        assertEquals(Arrays.asList(A, B, C), pool.urls());
+        assertEquals(2, monitor.lag(B));
+    }
+
+    @Test
+    void ignoreSingleNodeReportingFarAhead() {
+        heights.put(A, 1000L);
+        heights.put(B, 999L);
+        heights.put(C, 5000L);
+
+        monitor.check();
+
+        assertEquals(1000, monitor.referenceHeight());
+        assertEquals(Arrays.asList(A, B, C), pool.urls());
+
+        heights.put(C, 1001L);
+        heights.put(B, 990L);
+        monitor.check();
+
+        assertEquals(1000, monitor.referenceHeight());
+        assertEquals(Collections.singleton(B), pool.quarantined());
+    }
+
+    @Test
+    void keepStateOfNodesThatDoNotAnswer() {
+        heights.put(A, 1000L);
+        heights.put(B, 900L);
+        heights.put(C, 1000L);
+        monitor.check();
+        heights.remove(B);
+        heights.put(A, 1001L);
+
+        monitor.check();
+
+        assertEquals(Collections.singleton(B), pool.quarantined());
+        assertEquals(1001, monitor.referenceHeight());
+    }
+
+    private BlockchainClient blockchainClient(String url) {
+        return Stub.of(BlockchainClient.class)
+                .on("height", args -> {
+                    Long height = heights.get(url);
+                    if (height == null) {
+                        throw new IllegalStateException("connection refused: " + url);
+                    }
+                    return new HeightResponse(height);
+                })
+                .build();
+    }
+}
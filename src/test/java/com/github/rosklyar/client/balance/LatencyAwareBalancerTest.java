@@ -0,0 +1,165 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.domain.Endpoint;
+import com.github.rosklyar.client.node.domain.Node;
+import com.github.rosklyar.client.node.domain.NodeCollection;
+import com.github.rosklyar.client.status.StatusClient;
+import com.netflix.client.ClientFactory;
+import com.netflix.loadbalancer.BaseLoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.netflix.config.ConfigurationManager.getConfigInstance;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyAwareBalancerTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final NodeStats stats = new NodeStats(now::get);
+
+    @Test
+    void neverChooseSlowestOfSeveralNodes() {
+        record("fast:7890", 10);
+        record("medium:7890", 20);
+        record("slow:7890", 500);
+        LatencyAwareRule rule = rule("fast:7890", "medium:7890", "slow:7890");
+
+        Map<String, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            chosen.merge(rule.choose(null).getId(), 1, Integer::sum);
+        }
+
+        assertEquals(null, chosen.get("slow:7890"));
+        assertTrue(chosen.get("fast:7890") > chosen.get("medium:7890"));
+    }
+
+    @Test
+    void preferNodesWithoutErrors() {
+        record("fast:7890", 10);
+        for (int i = 0; i < 5; i++) {
+            stats.started("fast:7890");
+            stats.completed("fast:7890", 10 * MILLIS, true);
+        }
+        record("slower:7890", 40);
+
+        assertEquals("slower:7890", rule("fast:7890", "slower:7890").choose(null).getId());
+    }
+
+    @Test
+    void retrySlowNodeAfterItWasIdle() {
+        record("fast:7890", 10);
+        record("slow:7890", 500);
+        now.addAndGet(60_000 * MILLIS);
+        record("fast:7890", 10);
+
+        assertEquals("slow:7890", rule("fast:7890", "slow:7890").choose(null).getId());
+    }
+
+    @Test
+    void routeMostRequestsToFasterNode() throws IOException {
+        AtomicInteger fastCalls = new AtomicInteger();
+        AtomicInteger slowCalls = new AtomicInteger();
+        HttpServer fast = heartbeatServer(fastCalls, 0);
+        HttpServer slow = heartbeatServer(slowCalls, 50);
+        getConfigInstance().setProperty("balancedStatusApi.ribbon.listOfServers",
+                "127.0.0.1:" + fast.getAddress().getPort() + ",127.0.0.1:" + slow.getAddress().getPort());
+        try (LatencyAwareBalancer balancer = new LatencyAwareBalancer()) {
+            StatusClient statusClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().balancer(balancer).build())
+                    .createStatusClient("balancedStatusApi");
+
+            for (int i = 0; i < 40; i++) {
+                assertEquals(1, statusClient.heartbeat().code);
+            }
+
+            assertTrue(fastCalls.get() > 3 * slowCalls.get(), fastCalls + " vs " + slowCalls);
+            assertEquals(40, balancer.stats().hosts().values().stream().mapToLong(NodeStats.Host::requests).sum());
+        } finally {
+            fast.stop(0);
+            slow.stop(0);
+        }
+    }
+
+    @Test
+    void extendSeedsWithActivePeers() {
+        getConfigInstance().setProperty("discoveryApi.ribbon.listOfServers", "seed:7890");
+        AtomicBoolean reachable = new AtomicBoolean(true);
+        NisServerList serverList = new NisServerList(url -> nodeClient(reachable, new Endpoint("http", "peer", 7890)));
+        serverList.initWithNiwsConfig(ClientFactory.getNamedConfig("discoveryApi"));
+
+        assertEquals(Arrays.asList("seed:7890", "peer:7890"), ids(serverList.getUpdatedListOfServers()));
+        reachable.set(false);
+        assertEquals(Arrays.asList("seed:7890", "peer:7890"), ids(serverList.getUpdatedListOfServers()));
+    }
+
+    private void record(String node, long latencyMillis) {
+        stats.started(node);
+        stats.completed(node, latencyMillis * MILLIS, false);
+    }
+
+    private LatencyAwareRule rule(String... servers) {
+        BaseLoadBalancer loadBalancer = new BaseLoadBalancer();
+        loadBalancer.addServers(Arrays.stream(servers).map(Server::new).collect(Collectors.toList()));
+        LatencyAwareRule rule = new LatencyAwareRule(stats);
+        rule.setLoadBalancer(loadBalancer);
+        return rule;
+    }
+
+    private static List<String> ids(List<Server> servers) {
+        return servers.stream().map(Server::getId).collect(Collectors.toList());
+    }
+
+    private static NodeClient nodeClient(AtomicBoolean reachable, Endpoint endpoint) {
+        return (NodeClient) Proxy.newProxyInstance(NodeClient.class.getClassLoader(), new Class[]{NodeClient.class}, (proxy, method, args) -> {
+            if (!reachable.get()) {
+                throw new IllegalStateException("unreachable");
+            }
+            return new NodeCollection(Collections.singletonList(Node.builder().endpoint(endpoint).build()));
+        });
+    }
+
+    private static HttpServer heartbeatServer(AtomicInteger calls, long delayMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/heartbeat", exchange -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{\"code\":1,\"type\":2,\"message\":\"ok\"}");
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
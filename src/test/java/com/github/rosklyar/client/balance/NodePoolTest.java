@@ -0,0 +1,174 @@
+package com.github.rosklyar.client.balance;
+
+import com.github.rosklyar.client.fake.Stub;
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.domain.Endpoint;
+import com.github.rosklyar.client.node.domain.Experience;
+import com.github.rosklyar.client.node.domain.Node;
+import com.github.rosklyar.client.node.domain.NodeCollection;
+import com.github.rosklyar.client.node.domain.NodeExperience;
+import com.github.rosklyar.client.node.domain.NodeExperiencesResponse;
+import com.github.rosklyar.client.node.domain.NodeMetaData;
+import com.github.rosklyar.client.status.StatusClient;
+import com.github.rosklyar.client.status.domain.Heartbeat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodePoolTest {
+
+    private static final String SEED = "http://seed:7890";
+    private static final long MAIN = 104;
+
+    private final AtomicLong now = new AtomicLong();
+    private final Map<String, FakeNode> nodes = new HashMap<>();
+    private final List<NodeExperience> experiences = new ArrayList<>();
+
+    @Test
+    void startWithSeeds() {
+        NodePool pool = pool(2);
+
+        assertEquals(Collections.singletonList(SEED), pool.urls());
+    }
+
+    @Test
+    void discoverPeersAndKeepFastestNodes() {
+        node(SEED, 20, "0.6.95");
+        node("http://fast:7890", 5, "0.6.95");
+        node("http://slow:7890", 50, "0.6.95");
+        NodePool pool = pool(2);
+
+        pool.refresh();
+
+        assertEquals(3, pool.knownCount());
+        assertEquals(Arrays.asList("http://fast:7890", SEED), pool.urls());
+    }
+
+    @Test
+    void leaveOutUnhealthyAndForeignNodes() {
+        node(SEED, 20, "0.6.95");
+        node("http://down:7890", 5, "0.6.95").healthy = false;
+        node("http://test:7890", 5, "0.6.95").networkId = -104;
+        NodePool pool = pool(5);
+
+        pool.refresh();
+
+        assertEquals(Collections.singletonList(SEED), pool.urls());
+    }
+
+    @Test
+    void penalizeOutdatedAndUnreliableNodes() {
+        node(SEED, 20, "0.6.95");
+        node("http://outdated:7890", 15, "0.6.93");
+        node("http://unreliable:7890", 5, "0.6.95");
+        experiences.add(new NodeExperience(peer("http://unreliable:7890"), 0, new Experience(1, 30)));
+        experiences.add(new NodeExperience(peer(SEED), 0, new Experience(30, 0)));
+        NodePool pool = pool(5);
+
+        pool.refresh();
+
+        assertEquals(Arrays.asList(SEED, "http://outdated:7890", "http://unreliable:7890"), pool.urls());
+        assertTrue(pool.nodes().get(2).successRatio < 0.1);
+    }
+
+    @Test
+    void forgetNodesThatStopAnswering() {
+        node(SEED, 20, "0.6.95");
+        FakeNode gone = node("http://gone:7890", 5, "0.6.95");
+        NodePool pool = pool(5);
+        pool.refresh();
+        nodes.get(SEED).peers = false;
+        gone.healthy = false;
+
+        pool.refresh();
+        pool.refresh();
+        pool.refresh();
+
+        assertEquals(1, pool.knownCount());
+    }
+
+    @Test
+    void compareVersionsNumerically() {
+        assertTrue(NodePool.compareVersions("0.6.100-BETA", "0.6.95-BETA") > 0);
+        assertEquals(0, NodePool.compareVersions("0.6.95", "0.6.95-BETA"));
+        assertTrue(NodePool.compareVersions(null, "0.6.95") < 0);
+    }
+
+    private NodePool pool(int size) {
+        return new NodePool(Collections.singletonList(SEED), this::nodeClient, this::statusClient, size, now::get, Runnable::run);
+    }
+
+    private FakeNode node(String url, long latencyMillis, String version) {
+        FakeNode node = new FakeNode(latencyMillis, version);
+        nodes.put(url, node);
+        return node;
+    }
+
+    private static Node peer(String url) {
+        String[] hostAndPort = url.substring("http://".length()).split(":");
+        return Node.builder().endpoint(new Endpoint("http", hostAndPort[0], Integer.parseInt(hostAndPort[1]))).build();
+    }
+
+    private NodeClient nodeClient(String url) {
+        return Stub.of(NodeClient.class)
+                .on("active", args -> {
+                    if (!reachable(url).peers) {
+                        return new NodeCollection(Collections.emptyList());
+                    }
+                    List<Node> peers = new ArrayList<>();
+                    nodes.keySet().forEach(peer -> peers.add(peer(peer)));
+                    return new NodeCollection(peers);
+                })
+                .on("experiences", args -> {
+                    reachable(url);
+                    return new NodeExperiencesResponse(experiences);
+                })
+                .on("info", args -> {
+                    FakeNode node = reachable(url);
+                    return Node.builder()
+                            .metaData(NodeMetaData.builder().version(node.version).networkId(node.networkId).build())
+                            .build();
+                })
+                .build();
+    }
+
+    private StatusClient statusClient(String url) {
+        return Stub.of(StatusClient.class)
+                .on("heartbeat", args -> {
+                    FakeNode node = reachable(url);
+                    now.addAndGet(node.latencyMillis * 1_000_000);
+                    return new Heartbeat(1, 2, "ok");
+                })
+                .build();
+    }
+
+    private FakeNode reachable(String url) {
+        FakeNode node = nodes.get(url);
+        if (node == null || !node.healthy) {
+            throw new IllegalStateException("connection refused: " + url);
+        }
+        return node;
+    }
+
+    private static class FakeNode {
+        private final long latencyMillis;
+        private final String version;
+        private long networkId = MAIN;
+        private boolean healthy = true;
+        private boolean peers = true;
+
+        private FakeNode(long latencyMillis, String version) {
+            this.latencyMillis = latencyMillis;
+            this.version = version;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.github.rosklyar.client.blockchain.domain.ScoreResponse;
 import com.github.rosklyar.client.blockchain.domain.block.Block;
 import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
 import com.github.rosklyar.client.blockchain.domain.block.BlocksAfterResponse;
+import com.github.rosklyar.client.nis.NisStandIn;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -15,15 +17,22 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class BlockchainClientTest {
 
+    private static final NisStandIn nis = NisStandIn.start();
+
     private final BlockchainClient blockchainClient = new DefaultNemClientFactory().createBlockchainClient("blockchainApi");
-    private final BlockchainClient simpleBlockchainClient = new DefaultNemClientFactory().simpleBlockchainClient("http://153.122.112.137:7890");
+    private final BlockchainClient simpleBlockchainClient = new DefaultNemClientFactory().simpleBlockchainClient(nis.url());
 
     @BeforeAll
     static void init() {
-        getConfigInstance().setProperty("blockchainApi.ribbon.listOfServers", "153.122.112.137:7890");
+        getConfigInstance().setProperty("blockchainApi.ribbon.listOfServers", nis.server());
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 20000);
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     void getChainHeight() {
         HeightResponse heightResponse = blockchainClient.height();
@@ -0,0 +1,141 @@
+package com.github.rosklyar.client.bulkhead;
+
+import com.github.rosklyar.client.account.FeignAccountClient;
+import com.github.rosklyar.client.account.domain.history.HistoryResponse;
+import com.github.rosklyar.client.json.JsonBytesDecoder;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import com.github.rosklyar.client.transaction.FeignTransactionClient;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transport.HttpTransportConfig;
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import feign.Client;
+import feign.Feign;
+import feign.FeignException;
+import feign.Response;
+import feign.jackson.JacksonEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadsTest {
+
+    private static final String HISTORY = "{\"data\":[{\"pageRank\":0.1,\"totalBalance\":100,\"vestedBalance\":50,\"unvestedBalance\":50,\"importance\":0.01,\"height\":10}]}";
+    private static final String ANNOUNCED = "{\"type\":1,\"code\":1,\"message\":\"SUCCESS\"}";
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    @Test
+    void outlastTransportTimeoutsWhenAnnouncing() {
+        HttpTransportConfig transport = HttpTransportConfig.builder().build();
+        int timeoutMillis = BulkheadPolicies.defaults().get("prepare").timeoutMillis;
+        assertTrue(timeoutMillis >= transport.connectTimeoutMillis + transport.readTimeoutMillis);
+    }
+
+    @Test
+    void keepAnnouncingWhileHistoryPoolIsFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Client client = (request, options) -> {
+            if (request.url().contains("/account/historical/get")) {
+                entered.countDown();
+                await(release);
+                return response(200, HISTORY);
+            }
+            return response(200, ANNOUNCED);
+        };
+        Map<String, BulkheadPolicy> policies = new HashMap<>();
+        policies.put("history", BulkheadPolicy.builder().threadPool(pool()).coreSize(1).timeoutMillis(5_000).build());
+        policies.put("prepare", BulkheadPolicy.builder().threadPool(pool()).coreSize(2).build());
+        Bulkheads bulkheads = new Bulkheads(policies);
+        FeignAccountClient accountClient = target(bulkheads, client, FeignAccountClient.class);
+        FeignTransactionClient transactionClient = target(bulkheads, client, FeignTransactionClient.class);
+
+        CompletableFuture<HistoryResponse> slow = CompletableFuture.supplyAsync(() -> accountClient.history("TA", 1, 10, 1));
+        entered.await();
+
+        assertThrows(HystrixRuntimeException.class, () -> accountClient.history("TB", 1, 10, 1));
+        assertEquals("SUCCESS", transactionClient.prepare(new RequestAnnounce("data", "signature")).message);
+        release.countDown();
+        assertEquals(1, slow.get().data.size());
+    }
+
+    @Test
+    void serveLastResultWhenCallFails() {
+        AtomicInteger calls = new AtomicInteger();
+        Client client = (request, options) -> calls.incrementAndGet() == 1 ? response(200, HISTORY) : response(503, "");
+        Map<String, BulkheadPolicy> policies = Collections.singletonMap("history",
+                BulkheadPolicy.builder().threadPool(pool()).staleFallback(true).build());
+        Bulkheads bulkheads = new Bulkheads(policies);
+        FeignAccountClient accountClient = target(bulkheads, client, FeignAccountClient.class);
+
+        HistoryResponse fresh = accountClient.history("TA", 1, 10, 1);
+        HistoryResponse stale = accountClient.history("TA", 1, 10, 1);
+
+        assertEquals(fresh, stale);
+        assertEquals(1, bulkheads.fallbacks("FeignAccountClient#history(String,long,long,int)"));
+        assertThrows(HystrixRuntimeException.class, () -> accountClient.history("TB", 1, 10, 1));
+    }
+
+    @Test
+    void propagateFailureWithoutFallback() {
+        Client client = (request, options) -> response(503, "");
+        Map<String, BulkheadPolicy> policies = Collections.singletonMap("history", BulkheadPolicy.builder().threadPool(pool()).build());
+        FeignAccountClient accountClient = target(new Bulkheads(policies), client, FeignAccountClient.class);
+
+        HystrixRuntimeException exception = assertThrows(HystrixRuntimeException.class, () -> accountClient.history("TA", 1, 10, 1));
+
+        assertTrue(exception.getCause() instanceof FeignException);
+    }
+
+    @Test
+    void timeOutPerMethod() {
+        CountDownLatch release = new CountDownLatch(1);
+        Client client = (request, options) -> {
+            await(release);
+            return response(200, HISTORY);
+        };
+        Map<String, BulkheadPolicy> policies = Collections.singletonMap("history",
+                BulkheadPolicy.builder().threadPool(pool()).timeoutMillis(100).build());
+        FeignAccountClient accountClient = target(new Bulkheads(policies), client, FeignAccountClient.class);
+
+        long start = System.nanoTime();
+        assertThrows(HystrixRuntimeException.class, () -> accountClient.history("TA", 1, 10, 1));
+        release.countDown();
+
+        assertTrue(System.nanoTime() - start < 900_000_000L);
+    }
+
+    private static <T> T target(Bulkheads bulkheads, Client client, Class<T> type) {
+        return Feign.builder()
+                .invocationHandlerFactory(bulkheads)
+                .client(client)
+                .encoder(new JacksonEncoder(NemObjectMapper.create()))
+                .decoder(new JsonBytesDecoder(NemObjectMapper.create()))
+                .target(type, "http://bulkhead-" + POOLS.incrementAndGet());
+    }
+
+    private static String pool() {
+        return "bulkhead-test-" + POOLS.incrementAndGet();
+    }
+
+    private static Response response(int status, String body) {
+        return Response.create(status, "", Collections.emptyMap(), body.getBytes(UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.rosklyar.client.cache;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.HeightResponse;
+import com.github.rosklyar.client.blockchain.domain.block.Block;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.mosaic.MosaicClient;
+import com.github.rosklyar.client.mosaic.domain.Namespace;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.rosklyar.client.cache.CachePolicy.ttl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+
+    private final AtomicLong head = new AtomicLong(1000);
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    @Test
+    void serveImmutableDataForever() {
+        ResponseCache cache = new ResponseCache(100, head::get);
+        MosaicClient mosaicClient = cache.wrap(MosaicClient.class, fake(MosaicClient.class));
+
+        mosaicClient.namespace("nem");
+        head.incrementAndGet();
+        mosaicClient.namespace("nem");
+        mosaicClient.namespace("other");
+
+        assertEquals(2, calls("namespace"));
+        assertEquals(1, cache.hits("namespace"));
+        assertEquals(2, cache.misses("namespace"));
+    }
+
+    @Test
+    void serveRecentBlocksOnlyUntilNextBlock() {
+        ResponseCache cache = new ResponseCache(100, head::get);
+        BlockchainClient blockchainClient = cache.wrap(BlockchainClient.class, fake(BlockchainClient.class));
+
+        blockchainClient.block(new BlockHeight(990));
+        blockchainClient.block(new BlockHeight(990));
+        head.incrementAndGet();
+        blockchainClient.block(new BlockHeight(990));
+
+        assertEquals(2, calls("block"));
+    }
+
+    @Test
+    void expireRecentBlocksAfterBlockInterval() {
+        AtomicLong nanos = new AtomicLong();
+        ResponseCache cache = new ResponseCache(100, CachePolicies.defaults(), head::get, nanos::get);
+        BlockchainClient blockchainClient = cache.wrap(BlockchainClient.class, fake(BlockchainClient.class));
+
+        blockchainClient.block(new BlockHeight(990));
+        blockchainClient.block(new BlockHeight(100));
+        nanos.addAndGet(SECONDS.toNanos(61));
+        blockchainClient.block(new BlockHeight(990));
+        blockchainClient.block(new BlockHeight(100));
+
+        assertEquals(3, calls("block"));
+    }
+
+    @Test
+    void serveFinalBlocksForever() {
+        ResponseCache cache = new ResponseCache(100, head::get);
+        BlockchainClient blockchainClient = cache.wrap(BlockchainClient.class, fake(BlockchainClient.class));
+
+        blockchainClient.block(new BlockHeight(100));
+        head.addAndGet(10);
+        blockchainClient.block(new BlockHeight(100));
+
+        assertEquals(1, calls("block"));
+    }
+
+    @Test
+    void skipBlockDependentCachingWhileHeightIsUnknown() {
+        head.set(0);
+        ResponseCache cache = new ResponseCache(100, head::get);
+        BlockchainClient blockchainClient = cache.wrap(BlockchainClient.class, fake(BlockchainClient.class));
+
+        blockchainClient.block(new BlockHeight(100));
+        blockchainClient.block(new BlockHeight(100));
+
+        assertEquals(2, calls("block"));
+    }
+
+    @Test
+    void expireAfterTimeToLive() throws InterruptedException {
+        Map<String, CachePolicy> policies = CachePolicies.defaults();
+        policies.put("height", ttl(50));
+        ResponseCache cache = new ResponseCache(100, policies, head::get);
+        BlockchainClient blockchainClient = cache.wrap(BlockchainClient.class, fake(BlockchainClient.class));
+
+        blockchainClient.height();
+        blockchainClient.height();
+        Thread.sleep(100);
+        blockchainClient.height();
+
+        assertEquals(2, calls("height"));
+    }
+
+    @Test
+    void bypassAndRefreshOnRequest() {
+        ResponseCache cache = new ResponseCache(100, head::get);
+        MosaicClient mosaicClient = cache.wrap(MosaicClient.class, fake(MosaicClient.class));
+
+        mosaicClient.namespace("nem");
+        ResponseCache.uncached(() -> mosaicClient.namespace("nem"));
+        mosaicClient.namespace("nem");
+
+        assertEquals(2, calls("namespace"));
+        assertEquals(1, cache.hits("namespace"));
+    }
+
+    @Test
+    void neverCacheMethodsWithoutPolicy() {
+        ResponseCache cache = new ResponseCache(100, new HashMap<>(), head::get);
+        MosaicClient mosaicClient = cache.wrap(MosaicClient.class, fake(MosaicClient.class));
+
+        mosaicClient.namespace("nem");
+        mosaicClient.namespace("nem");
+
+        assertEquals(2, calls("namespace"));
+    }
+
+    @Test
+    void neverCacheNullResults() {
+        ResponseCache cache = new ResponseCache(100, head::get);
+        MosaicClient mosaicClient = cache.wrap(MosaicClient.class, fake(MosaicClient.class));
+
+        mosaicClient.mosaics("nem", null, 100);
+        mosaicClient.mosaics("nem", null, 100);
+
+        assertEquals(2, calls("mosaics"));
+    }
+
+    private int calls(String method) {
+        AtomicInteger count = calls.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    private <T> T fake(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            calls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+            switch (method.getName()) {
+                case "namespace":
+                    return Namespace.builder().fqn((String) args[0]).build();
+                case "block":
+                    return Block.builder().height(((BlockHeight) args[0]).height).build();
+                case "height":
+                    return new HeightResponse(head.get());
+                default:
+                    return null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.rosklyar.client.coalesce;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.HeightResponse;
+import com.github.rosklyar.client.blockchain.domain.block.Block;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.fake.Stub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescerTest {
+
+    private static final int CALLERS = 10;
+
+    private final ExecutorService executor = newFixedThreadPool(CALLERS);
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shareOneCallBetweenConcurrentIdenticalCalls() throws Exception {
+        Coalescer<BlockchainClient> coalescer = Coalescer.of(BlockchainClient.class, blockchainClient(null));
+
+        List<Future<HeightResponse>> results = callConcurrently(() -> coalescer.client().height(), coalescer, "height");
+
+        HeightResponse first = results.get(0).get();
+        for (Future<HeightResponse> result : results) {
+            assertSame(first, result.get());
+        }
+        assertEquals(1, delegateCalls.get());
+        assertEquals(CALLERS, coalescer.calls("height"));
+        assertEquals(CALLERS - 1, coalescer.coalesced("height"));
+    }
+
+    @Test
+    void shareFailureBetweenConcurrentIdenticalCalls() throws Exception {
+        Coalescer<BlockchainClient> coalescer = Coalescer.of(BlockchainClient.class, blockchainClient(new IllegalStateException("node down")));
+
+        List<Future<HeightResponse>> results = callConcurrently(() -> coalescer.client().height(), coalescer, "height");
+
+        for (Future<HeightResponse> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, delegateCalls.get());
+    }
+
+    @Test
+    void keepCallsWithDifferentArgumentsApart() throws Exception {
+        Coalescer<BlockchainClient> coalescer = Coalescer.of(BlockchainClient.class, blockchainClient(null));
+        release.countDown();
+
+        Future<Block> first = executor.submit(() -> coalescer.client().block(new BlockHeight(1)));
+        Future<Block> second = executor.submit(() -> coalescer.client().block(new BlockHeight(2)));
+
+        assertEquals(1, first.get().height);
+        assertEquals(2, second.get().height);
+        assertEquals(2, delegateCalls.get());
+        assertEquals(0, coalescer.coalesced("block"));
+    }
+
+    @Test
+    void callDisabledMethodsDirectly() throws Exception {
+        Coalescer<BlockchainClient> coalescer = Coalescer.of(BlockchainClient.class, blockchainClient(null), "block");
+        release.countDown();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.client().height();
+        }
+
+        assertEquals(3, delegateCalls.get());
+        assertEquals(0, coalescer.calls("height"));
+    }
+
+    private <T> List<Future<T>> callConcurrently(Callable<T> call, Coalescer<?> coalescer, String method) throws InterruptedException {
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (coalescer.coalesced(method) < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private BlockchainClient blockchainClient(RuntimeException failure) {
+        return Stub.of(BlockchainClient.class)
+                .on("height", args -> {
+                    await(failure);
+                    return new HeightResponse(100);
+                })
+                .on("block", args -> {
+                    await(failure);
+                    return Block.builder().height(((BlockHeight) args[0]).height).build();
+                })
+                .build();
+    }
+
+    private void await(RuntimeException failure) throws InterruptedException {
+        delegateCalls.incrementAndGet();
+        release.await(5, SECONDS);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
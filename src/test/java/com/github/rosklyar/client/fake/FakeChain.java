@@ -0,0 +1,55 @@
+package com.github.rosklyar.client.fake;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.HeightResponse;
+import com.github.rosklyar.client.blockchain.domain.ScoreResponse;
+import com.github.rosklyar.client.blockchain.domain.block.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * In-memory {@link BlockchainClient} whose chain grows only when a test calls {@link #addBlock}.
+ */
+public class FakeChain implements BlockchainClient {
+
+    private final List<BlockInfo> blocks = new CopyOnWriteArrayList<>();
+
+    public void addBlock(long timeStamp, List<TransferInfo> txes) {
+        Block block = Block.builder().height(blocks.size() + 1).timeStamp(timeStamp).build();
+        blocks.add(BlockInfo.builder().block(block).txes(txes).build());
+    }
+
+    @Override
+    public HeightResponse height() {
+        return new HeightResponse(blocks.size());
+    }
+
+    @Override
+    public ScoreResponse score() {
+        throw new UnsupportedOperationException("score");
+    }
+
+    @Override
+    public Block lastBlock() {
+        if (blocks.isEmpty()) {
+            throw new IllegalStateException("empty chain");
+        }
+        return blocks.get(blocks.size() - 1).block;
+    }
+
+    @Override
+    public Block block(BlockHeight height) {
+        if (height.height < 1 || height.height > blocks.size()) {
+            throw new IllegalArgumentException("no block at height " + height.height);
+        }
+        return blocks.get((int) height.height - 1).block;
+    }
+
+    @Override
+    public BlocksAfterResponse blocksAfter(BlockHeight height) {
+        return new BlocksAfterResponse(blocks.stream().filter(blockInfo -> blockInfo.block.height > height.height).collect(toList()));
+    }
+}
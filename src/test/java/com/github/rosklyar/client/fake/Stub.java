@@ -0,0 +1,52 @@
+package com.github.rosklyar.client.fake;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a proxy of a client interface that answers only the methods a test stubs; any other call fails with
+ * {@link UnsupportedOperationException} so a test notices when the code under test starts using more of the client.
+ */
+public final class Stub<T> {
+
+    private final Class<T> type;
+    private final Map<String, Answer> answers = new HashMap<>();
+
+    private Stub(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> Stub<T> of(Class<T> type) {
+        return new Stub<>(type);
+    }
+
+    public Stub<T> on(String method, Answer answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    public T build() {
+        Map<String, Answer> answers = new HashMap<>(this.answers);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Stub(" + type.getSimpleName() + ")";
+            }
+            Answer answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return answer.answer(args == null ? new Object[0] : args);
+        }));
+    }
+
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.rosklyar.client.hedge;
+
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.HeightResponse;
+import com.github.rosklyar.client.fake.Stub;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgerTest {
+
+    private final AtomicLong primaryDelay = new AtomicLong();
+    private final AtomicInteger primaryCalls = new AtomicInteger();
+    private final AtomicInteger hedgeCalls = new AtomicInteger();
+
+    @Test
+    void hedgeSlowCallAfterP95() {
+        Hedger<BlockchainClient> hedger = hedger(new HedgeBudget(1, 10), node(1, primaryDelay, primaryCalls));
+        warmUp(hedger);
+
+        long hedged = hedger.hedged("height");
+        long wins = hedger.wins("height");
+
+        primaryDelay.set(2_000);
+        long start = System.nanoTime();
+        HeightResponse height = hedger.client().height();
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(2, height.height);
+        assertTrue(tookMillis < 1_000, "took " + tookMillis);
+        assertEquals(hedged + 1, hedger.hedged("height"));
+        assertEquals(wins + 1, hedger.wins("height"));
+    }
+
+    @Test
+    void countHedgeLosingToPrimaryAsWasted() {
+        AtomicLong hedgeDelay = new AtomicLong(2_000);
+        Hedger<BlockchainClient> hedger = Hedger.of(BlockchainClient.class, node(1, primaryDelay, primaryCalls), node(2, hedgeDelay, hedgeCalls), new HedgeBudget(1, 10), "height");
+        warmUp(hedger);
+        long wasted = hedger.wasted("height");
+
+        primaryDelay.set(100);
+        assertEquals(1, hedger.client().height().height);
+        assertEquals(wasted + 1, hedger.wasted("height"));
+    }
+
+    @Test
+    void stopHedgingWhenBudgetIsUsedUp() {
+        HedgeBudget budget = new HedgeBudget(0.05, 1);
+        Hedger<BlockchainClient> hedger = hedger(budget, node(1, primaryDelay, primaryCalls));
+        warmUp(hedger);
+        long hedged = hedger.hedged("height");
+        long granted = budget.granted();
+        long exhausted = budget.exhausted();
+
+        primaryDelay.set(50);
+        for (int i = 0; i < 3; i++) {
+            hedger.client().height();
+        }
+
+        // a burst of one token and 0.15 tokens earned cannot pay for more than one hedge
+        assertTrue(budget.granted() - granted <= 1);
+        assertEquals(3, budget.granted() - granted + budget.exhausted() - exhausted);
+        assertEquals(budget.granted() - granted, hedger.hedged("height") - hedged);
+    }
+
+    @Test
+    void notHedgeBeforeLatencyIsKnown() {
+        Hedger<BlockchainClient> hedger = hedger(new HedgeBudget(1, 10), node(1, primaryDelay, primaryCalls));
+
+        primaryDelay.set(50);
+        assertEquals(1, hedger.client().height().height);
+        assertEquals(0, hedger.hedged("height"));
+        assertEquals(0, hedgeCalls.get());
+    }
+
+    @Test
+    void runUnmeasuredCallsOnCallingThread() {
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        BlockchainClient primary = Stub.of(BlockchainClient.class)
+                .on("height", args -> {
+                    caller.set(Thread.currentThread());
+                    return new HeightResponse(1);
+                })
+                .build();
+
+        hedger(new HedgeBudget(1, 10), primary).client().height();
+
+        assertSame(Thread.currentThread(), caller.get());
+    }
+
+    @Test
+    void waitForGrantedHedgeWhenPrimaryFails() {
+        AtomicBoolean failing = new AtomicBoolean();
+        BlockchainClient primary = Stub.of(BlockchainClient.class)
+                .on("height", args -> {
+                    if (failing.get()) {
+                        Thread.sleep(20);
+                        throw new IllegalStateException("down");
+                    }
+                    return new HeightResponse(1);
+                })
+                .build();
+        AtomicLong hedgeDelay = new AtomicLong();
+        Hedger<BlockchainClient> hedger = Hedger.of(BlockchainClient.class, primary, node(2, hedgeDelay, hedgeCalls), new HedgeBudget(1, 10), "height");
+        warmUp(hedger);
+
+        long wins = hedger.wins("height");
+
+        failing.set(true);
+        hedgeDelay.set(100);
+        assertEquals(2, hedger.client().height().height);
+        assertEquals(wins + 1, hedger.wins("height"));
+    }
+
+    @Test
+    void failOnlyWhenAllAttemptsFail() {
+        BlockchainClient failing = (BlockchainClient) Proxy.newProxyInstance(BlockchainClient.class.getClassLoader(), new Class[]{BlockchainClient.class}, (proxy, method, args) -> {
+            throw new IllegalStateException("down");
+        });
+        Hedger<BlockchainClient> hedger = Hedger.of(BlockchainClient.class, failing, failing, new HedgeBudget(1, 10), "height");
+
+        assertThrows(IllegalStateException.class, () -> hedger.client().height());
+        assertEquals(1, hedger.calls("height"));
+    }
+
+    private Hedger<BlockchainClient> hedger(HedgeBudget budget, BlockchainClient primary) {
+        return Hedger.of(BlockchainClient.class, primary, node(2, new AtomicLong(), hedgeCalls), budget, "height");
+    }
+
+    private void warmUp(Hedger<BlockchainClient> hedger) {
+        for (int i = 0; i < 40; i++) {
+            hedger.client().height();
+        }
+        hedgeCalls.set(0);
+    }
+
+    private static BlockchainClient node(long height, AtomicLong delayMillis, AtomicInteger calls) {
+        return (BlockchainClient) Proxy.newProxyInstance(BlockchainClient.class.getClassLoader(), new Class[]{BlockchainClient.class}, (proxy, method, args) -> {
+            calls.incrementAndGet();
+            Thread.sleep(delayMillis.get());
+            return new HeightResponse(height);
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.rosklyar.client.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.account.domain.transaction.Transactions;
+import com.github.rosklyar.client.blockchain.domain.block.BlocksAfterResponse;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.jackson.JacksonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Decoding of recorded {@code /local/chain/blocks-after} and {@code /account/transfers/all} payloads through the
+ * Feign decoder, with the mapper every client used to create for itself, with {@link NemObjectMapper} and with
+ * {@link NemObjectMapper} behind {@link JsonBytesDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodingBenchmark {
+
+    @Param({"plain", "tuned", "tunedBytes"})
+    public String mapper;
+
+    private Decoder decoder;
+    private byte[] blocksAfter;
+    private byte[] allTransactions;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = "plain".equals(mapper) ?
+                new ObjectMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false) :
+                NemObjectMapper.create();
+        decoder = "tunedBytes".equals(mapper) ? new JsonBytesDecoder(objectMapper) : new JacksonDecoder(objectMapper);
+        blocksAfter = payload("/payloads/blocks-after.json");
+        allTransactions = payload("/payloads/all-transactions.json");
+    }
+
+    @Benchmark
+    public Object blocksAfter() throws IOException {
+        return decoder.decode(response(blocksAfter), BlocksAfterResponse.class);
+    }
+
+    @Benchmark
+    public Object allTransactions() throws IOException {
+        return decoder.decode(response(allTransactions), Transactions.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static Response response(byte[] body) {
+        return Response.create(200, "OK", Collections.emptyMap(), body);
+    }
+
+    private static byte[] payload(String resource) throws IOException {
+        try (InputStream in = DecodingBenchmark.class.getResourceAsStream(resource)) {
+            return Util.toByteArray(in);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.rosklyar.client.json;
+
+import com.github.rosklyar.client.account.domain.transaction.Transactions;
+import com.github.rosklyar.client.blockchain.domain.block.BlocksAfterResponse;
+import feign.Response;
+import feign.Util;
+import feign.jackson.JacksonDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonBytesDecoderTest {
+
+    private final JsonBytesDecoder decoder = new JsonBytesDecoder(NemObjectMapper.create());
+    private final JacksonDecoder jacksonDecoder = new JacksonDecoder(NemObjectMapper.create());
+
+    @Test
+    void decodeLikeJacksonDecoder() throws IOException {
+        byte[] blocks = payload("/payloads/blocks-after.json");
+        byte[] transactions = payload("/payloads/all-transactions.json");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(jacksonDecoder.decode(response(200, blocks), BlocksAfterResponse.class), decoder.decode(response(200, blocks), BlocksAfterResponse.class));
+            assertEquals(jacksonDecoder.decode(response(200, transactions), Transactions.class), decoder.decode(response(200, transactions), Transactions.class));
+        }
+    }
+
+    @Test
+    void decodeEmptyBodyToNull() throws IOException {
+        assertNull(decoder.decode(response(200, new byte[0]), Transactions.class));
+        assertNull(decoder.decode(Response.create(200, "OK", Collections.emptyMap(), (byte[]) null), Transactions.class));
+    }
+
+    @Test
+    void decodeNotFoundToEmptyValue() throws IOException {
+        Object decoded = decoder.decode(response(404, "{}".getBytes()), List.class);
+
+        assertTrue(((List<?>) decoded).isEmpty());
+    }
+
+    private static Response response(int status, byte[] body) {
+        return Response.create(status, "OK", Collections.emptyMap(), body);
+    }
+
+    private static byte[] payload(String resource) throws IOException {
+        try (InputStream in = JsonBytesDecoderTest.class.getResourceAsStream(resource)) {
+            return Util.toByteArray(in);
+        }
+    }
+}
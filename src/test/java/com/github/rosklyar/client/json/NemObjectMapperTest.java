@@ -0,0 +1,52 @@
+package com.github.rosklyar.client.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.account.domain.transaction.Transactions;
+import com.github.rosklyar.client.blockchain.domain.block.BlocksAfterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class NemObjectMapperTest {
+
+    private final ObjectMapper plain = new ObjectMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final ObjectMapper tuned = NemObjectMapper.create();
+
+    @Test
+    void decodeBlocksLikePlainMapper() throws IOException {
+        BlocksAfterResponse expected = read(plain, "/payloads/blocks-after.json", BlocksAfterResponse.class);
+        BlocksAfterResponse actual = read(tuned, "/payloads/blocks-after.json", BlocksAfterResponse.class);
+
+        assertEquals(10, actual.data.size());
+        assertNotNull(actual.data.get(0).txes.get(0).tx.otherTrans);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void decodeTransactionsLikePlainMapper() throws IOException {
+        Transactions expected = read(plain, "/payloads/all-transactions.json", Transactions.class);
+        Transactions actual = read(tuned, "/payloads/all-transactions.json", Transactions.class);
+
+        assertEquals(25, actual.data.size());
+        assertNotNull(actual.data.get(0).transaction.signatures.get(0).otherHash);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void encodeLikePlainMapper() throws IOException {
+        Transactions transactions = read(plain, "/payloads/all-transactions.json", Transactions.class);
+
+        assertEquals(transactions, tuned.readValue(tuned.writeValueAsBytes(transactions), Transactions.class));
+    }
+
+    private static <T> T read(ObjectMapper mapper, String resource, Class<T> type) throws IOException {
+        try (InputStream in = NemObjectMapperTest.class.getResourceAsStream(resource)) {
+            return mapper.readValue(in, type);
+        }
+    }
+}
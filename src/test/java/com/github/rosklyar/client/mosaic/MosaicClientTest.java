@@ -4,6 +4,8 @@ import com.github.rosklyar.client.DefaultNemClientFactory;
 import com.github.rosklyar.client.mosaic.domain.MosaicsMetaDataResponse;
 import com.github.rosklyar.client.mosaic.domain.Namespace;
 import com.github.rosklyar.client.mosaic.domain.NamespacesMetaDataResponse;
+import com.github.rosklyar.client.nis.NisStandIn;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -13,15 +15,22 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MosaicClientTest {
 
+    private static final NisStandIn nis = NisStandIn.start();
+
     private final MosaicClient mosaicClient = new DefaultNemClientFactory().createMosaicClient("mosaicApi");
-    private final MosaicClient simpleMosaicClient = new DefaultNemClientFactory().simpleMosaicClient("http://153.122.112.137:7890");
+    private final MosaicClient simpleMosaicClient = new DefaultNemClientFactory().simpleMosaicClient(nis.url());
 
     @BeforeAll
     static void init() {
-        getConfigInstance().setProperty("mosaicApi.ribbon.listOfServers", "153.122.112.137:7890");
+        getConfigInstance().setProperty("mosaicApi.ribbon.listOfServers", nis.server());
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 20000);
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     void getNamespaces() {
         NamespacesMetaDataResponse top10namespaces = mosaicClient.namespaces(null, 10);
@@ -34,8 +43,8 @@ class MosaicClientTest {
 
     @Test
     void getMosaics() {
-        MosaicsMetaDataResponse nemMosaics = mosaicClient.mosaics("evias", null, null);
-        assertEquals(nemMosaics, simpleMosaicClient.mosaics("evias", null, null));
+        MosaicsMetaDataResponse nemMosaics = mosaicClient.mosaics("stand-in", null, null);
+        assertEquals(nemMosaics, simpleMosaicClient.mosaics("stand-in", null, null));
         assertTrue(nemMosaics.data.size() > 0);
     }
 
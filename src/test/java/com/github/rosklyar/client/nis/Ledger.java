@@ -0,0 +1,268 @@
+package com.github.rosklyar.client.nis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.rosklyar.client.account.domain.Hash;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.utils.HexEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.rosklyar.crypto.Hashes.sha3_256;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * In-memory chain behind {@link NisStandIn}. Announced transactions wait until {@link #mine()} puts all of them into
+ * the next block, which also moves the network time on by one block interval. Transactions are decoded just far
+ * enough to be listed in blocks: the common header, plus recipient and amount of transfers.
+ * <p>
+ * Announces answer like NIS: {@code FAILURE_HASH_EXISTS} for a transaction seen before and
+ * {@code FAILURE_PAST_DEADLINE} once the network time has passed its deadline. Multisig announces also carry the hash
+ * of the inner transaction, which cosignatories sign.
+ */
+public class Ledger {
+
+    public static final int BLOCK_SECONDS = 60;
+
+    private static final int TRANSFER = 0x101;
+    private static final int MULTISIG = 0x1004;
+    private static final int HEADER_SIZE = 60;
+
+    private final long baseHeight;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Announced> pending = new LinkedHashMap<>();
+    private final Map<String, Long> confirmed = new HashMap<>();
+    private final List<Mined> blocks = new ArrayList<>();
+    private int time;
+    private int rejections;
+    private String rejection;
+
+    Ledger(long baseHeight, int baseTime, ObjectMapper objectMapper) {
+        this.baseHeight = baseHeight;
+        this.time = baseTime;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized long height() {
+        return baseHeight + blocks.size();
+    }
+
+    /**
+     * @return network time in seconds since the NEM epoch
+     */
+    public synchronized int time() {
+        return time;
+    }
+
+    public synchronized void advance(int seconds) {
+        time += seconds;
+    }
+
+    /**
+     * Answers the next {@code count} announces with {@code message}, such as
+     * {@code FAILURE_TRANSACTION_CACHE_TOO_FULL}, without accepting them.
+     */
+    public synchronized void rejectNext(int count, String message) {
+        this.rejections = count;
+        this.rejection = message;
+    }
+
+    public synchronized NemAnnounceResult announce(RequestAnnounce request) {
+        byte[] data = HexEncoder.getBytes(request.data);
+        if (data.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("transaction data too short: " + data.length + " bytes");
+        }
+        String hash = HexEncoder.getString(sha3_256(data));
+        if (rejections > 0) {
+            rejections--;
+            return failure(rejection);
+        }
+        if (pending.containsKey(hash) || confirmed.containsKey(hash)) {
+            return failure("FAILURE_HASH_EXISTS");
+        }
+        Announced announced = new Announced(hash, data, request.signature);
+        if (announced.deadline < time) {
+            return failure("FAILURE_PAST_DEADLINE");
+        }
+        pending.put(hash, announced);
+        return NemAnnounceResult.builder()
+                .type(1)
+                .code(1)
+                .message("SUCCESS")
+                .transactionHash(new Hash(hash))
+                .innerTransactionHash(announced.innerHash == null ? null : new Hash(announced.innerHash))
+                .build();
+    }
+
+    /**
+     * Puts every pending transaction that has not expired into a new block.
+     *
+     * @return the height of the new block
+     */
+    public synchronized long mine() {
+        time += BLOCK_SECONDS;
+        Mined block = new Mined(height() + 1, time);
+        for (Announced announced : pending.values()) {
+            if (announced.deadline >= time) {
+                block.transactions.add(announced);
+                confirmed.put(announced.hash, block.height);
+            }
+        }
+        pending.clear();
+        blocks.add(block);
+        return block.height;
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return height of the block including {@code hash}, or 0 while it is not in a block
+     */
+    public synchronized long confirmedAt(String hash) {
+        return confirmed.getOrDefault(hash.toLowerCase(), 0L);
+    }
+
+    synchronized ObjectNode block(long height) {
+        return height > baseHeight && height <= height() ? block(blocks.get((int) (height - baseHeight - 1))) : null;
+    }
+
+    /**
+     * @return up to ten mined blocks after {@code height}, or null for heights before the ledger started
+     */
+    synchronized ObjectNode blocksAfter(long height) {
+        if (height < baseHeight) {
+            return null;
+        }
+        ArrayNode data = objectMapper.createArrayNode();
+        for (long next = height + 1; next <= Math.min(height(), height + 10); next++) {
+            Mined mined = blocks.get((int) (next - baseHeight - 1));
+            ObjectNode blockInfo = data.addObject();
+            ObjectNode block = block(mined);
+            ArrayNode txes = blockInfo.putArray("txes");
+            mined.transactions.forEach(announced -> txes.addObject()
+                    .put("hash", announced.hash)
+                    .put("innerHash", announced.innerHash)
+                    .set("tx", announced.json(objectMapper)));
+            blockInfo.set("block", block);
+            blockInfo.put("hash", mined.hash());
+            blockInfo.put("difficulty", 100_000_000_000_000L);
+        }
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("data", data);
+        return response;
+    }
+
+    private ObjectNode block(Mined mined) {
+        ObjectNode block = objectMapper.createObjectNode()
+                .put("timeStamp", mined.timeStamp)
+                .put("signature", repeat("0", 128))
+                .put("type", 1)
+                .put("version", -1744830463)
+                .put("signer", repeat("0", 64))
+                .put("height", mined.height);
+        block.putObject("prevBlockHash").put("data", mined.height == baseHeight + 1 ? repeat("0", 64) : blocks.get((int) (mined.height - baseHeight - 2)).hash());
+        ArrayNode transactions = block.putArray("transactions");
+        mined.transactions.forEach(announced -> transactions.add(announced.json(objectMapper)));
+        return block;
+    }
+
+    private static NemAnnounceResult failure(String message) {
+        return NemAnnounceResult.builder()
+                .type(1)
+                .code(2)
+                .message(message)
+                .build();
+    }
+
+    private static String repeat(String value, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static class Announced {
+        private final String hash;
+        private final String signature;
+        private final int type;
+        private final int version;
+        private final int timeStamp;
+        private final String signer;
+        private final long fee;
+        private final int deadline;
+        private final String recipient;
+        private final long amount;
+        private final String innerHash;
+
+        private Announced(String hash, byte[] data, String signature) {
+            ByteBuffer buffer = ByteBuffer.wrap(data).order(LITTLE_ENDIAN);
+            this.hash = hash;
+            this.signature = signature;
+            this.type = buffer.getInt();
+            this.version = buffer.getInt();
+            this.timeStamp = buffer.getInt();
+            byte[] signerKey = new byte[buffer.getInt()];
+            buffer.get(signerKey);
+            this.signer = HexEncoder.getString(signerKey);
+            this.fee = buffer.getLong();
+            this.deadline = buffer.getInt();
+            if (type == TRANSFER && buffer.remaining() >= 4) {
+                byte[] address = new byte[buffer.getInt()];
+                buffer.get(address);
+                this.recipient = new String(address, US_ASCII);
+                this.amount = buffer.getLong();
+            } else {
+                this.recipient = null;
+                this.amount = 0;
+            }
+            if (type == MULTISIG && buffer.remaining() >= 4) {
+                byte[] inner = new byte[buffer.getInt()];
+                buffer.get(inner);
+                this.innerHash = HexEncoder.getString(sha3_256(inner));
+            } else {
+                this.innerHash = null;
+            }
+        }
+
+        private ObjectNode json(ObjectMapper objectMapper) {
+            ObjectNode tx = objectMapper.createObjectNode()
+                    .put("timeStamp", timeStamp)
+                    .put("fee", fee)
+                    .put("type", type)
+                    .put("deadline", deadline)
+                    .put("version", version)
+                    .put("signer", signer)
+                    .put("signature", signature);
+            if (recipient != null) {
+                tx.put("recipient", recipient).put("amount", amount);
+            }
+            return tx;
+        }
+    }
+
+    private static class Mined {
+        private final long height;
+        private final int timeStamp;
+        private final List<Announced> transactions = new ArrayList<>();
+
+        private Mined(long height, int timeStamp) {
+            this.height = height;
+            this.timeStamp = timeStamp;
+        }
+
+        private String hash() {
+            return HexEncoder.getString(sha3_256(ByteBuffer.allocate(8).putLong(height).array()));
+        }
+    }
+}
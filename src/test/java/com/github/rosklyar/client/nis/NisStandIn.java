@@ -0,0 +1,331 @@
+package com.github.rosklyar.client.nis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+/**
+ * NIS stand-in on a local port for offline tests and benchmarks. GET endpoints of all {@code Feign*Client}s are
+ * answered from fixtures under {@code /nis} on the classpath (the transfer pages, paged by {@code id} like NIS, and
+ * {@code blocks-after} reuse {@code /payloads}), while announces, chain height and blocks past the fixtures come from
+ * an in-memory {@link Ledger}.
+ * <p>
+ * Every request can be delayed by a fixed latency plus uniform jitter, and failed with an HTTP status or a reset
+ * connection ({@link #RESET}), either for the next few requests or at a random rate. The randomness is seeded, so a
+ * single-threaded run behaves the same every time. Counting requests per path shows what caching, coalescing or
+ * retries actually sent.
+ * <pre>
+ * try (NisStandIn nis = NisStandIn.start()) {
+ *     nis.latency(20, 5);
+ *     nis.failRate(0.05, 503);
+ *     AccountClient accountClient = new DefaultNemClientFactory().simpleAccountClient(nis.url());
+ * }
+ * </pre>
+ */
+public class NisStandIn implements Closeable {
+
+    /**
+     * Status closing the connection without a response.
+     */
+    public static final int RESET = -1;
+    public static final long HEIGHT = 1_700_000;
+    public static final int TIME = 110_000_000;
+
+    private static final Map<String, String> SHARED_FIXTURES = new HashMap<>();
+
+    static {
+        SHARED_FIXTURES.put("/local/chain/blocks-after", "/payloads/blocks-after.json");
+        for (String direction : new String[]{"all", "incoming", "outgoing"}) {
+            SHARED_FIXTURES.put("/account/transfers/" + direction, "/payloads/all-transactions.json");
+            SHARED_FIXTURES.put("/local/account/transfers/" + direction, "/payloads/all-transactions.json");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "nis-stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ObjectMapper objectMapper = NemObjectMapper.create();
+    private final Ledger ledger = new Ledger(HEIGHT, TIME, objectMapper);
+    private final Map<String, byte[]> fixtures = new ConcurrentHashMap<>();
+    private final Map<String, Long> pathLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Random random;
+
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double failRate;
+    private volatile int failRateStatus;
+    private int failures;
+    private int failStatus;
+
+    private NisStandIn(long seed) throws IOException {
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1_000);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static NisStandIn start() {
+        return start(42);
+    }
+
+    public static NisStandIn start(long seed) {
+        try {
+            return new NisStandIn(seed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + port();
+    }
+
+    /**
+     * @return {@code host:port} as Ribbon's {@code listOfServers} expects it
+     */
+    public String server() {
+        return "127.0.0.1:" + port();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public Ledger ledger() {
+        return ledger;
+    }
+
+    public NisStandIn latency(long millis) {
+        return latency(millis, 0);
+    }
+
+    public NisStandIn latency(long millis, long jitterMillis) {
+        this.latencyMillis = millis;
+        this.jitterMillis = jitterMillis;
+        return this;
+    }
+
+    /**
+     * Delays requests to {@code path} by {@code millis} instead of the latency of all requests.
+     */
+    public NisStandIn latency(String path, long millis) {
+        pathLatencies.put(path, millis);
+        return this;
+    }
+
+    public synchronized NisStandIn failNext(int count, int status) {
+        this.failures = count;
+        this.failStatus = status;
+        return this;
+    }
+
+    public NisStandIn failRate(double rate, int status) {
+        this.failRateStatus = status;
+        this.failRate = rate;
+        return this;
+    }
+
+    /**
+     * Answers {@code path} with {@code json} instead of its fixture.
+     */
+    public NisStandIn fixture(String path, String json) {
+        fixtures.put(path, json.getBytes(UTF_8));
+        return this;
+    }
+
+    public long requests(String path) {
+        LongAdder count = requests.get(path);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> requests() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        requests.forEach((path, count) -> snapshot.put(path, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, key -> new LongAdder()).increment();
+            delay(path);
+            int fault = fault();
+            if (fault == RESET) {
+                return;
+            }
+            if (fault > 0) {
+                respond(exchange, fault, error(fault, "injected failure"));
+                return;
+            }
+            byte[] body = Util.toByteArray(exchange.getRequestBody());
+            byte[] response = route(path, exchange.getRequestURI().getQuery(), body);
+            if (response == null) {
+                respond(exchange, 404, error(404, "no fixture for " + path));
+            } else {
+                respond(exchange, 200, response);
+            }
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, error(400, e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] route(String path, String query, byte[] body) throws IOException {
+        byte[] override = fixtures.get(path);
+        if (override != null) {
+            return override;
+        }
+        switch (path) {
+            case "/transaction/announce":
+                JsonNode announce = objectMapper.readTree(body);
+                return json(ledger.announce(new RequestAnnounce(announce.path("data").asText(), announce.path("signature").asText())));
+            case "/chain/height":
+            case "/node/active-peers/max-chain-height":
+                return json(objectMapper.createObjectNode().put("height", ledger.height()));
+            case "/chain/last-block":
+                return block(ledger.height());
+            case "/block/at/public":
+                return block(objectMapper.readTree(body).path("height").asLong());
+            case "/local/chain/blocks-after":
+                ObjectNode blocks = ledger.blocksAfter(objectMapper.readTree(body).path("height").asLong());
+                return blocks == null ? resource(path) : json(blocks);
+            case "/node/extended-info":
+                ObjectNode extendedInfo = (ObjectNode) objectMapper.readTree(resource(path));
+                ((ObjectNode) extendedInfo.get("nisInfo")).put("currentTime", ledger.time());
+                return json(extendedInfo);
+            case "/account/transfers/incoming":
+            case "/account/transfers/outgoing":
+            case "/account/transfers/all":
+                return transfersBefore(resource(path), query);
+            default:
+                return resource(path);
+        }
+    }
+
+    /**
+     * Keeps the transfers older than the {@code id} of the query, the way NIS pages transfers.
+     */
+    private byte[] transfersBefore(byte[] page, String query) throws IOException {
+        Long id = null;
+        for (String parameter : query == null ? new String[0] : query.split("&")) {
+            if (parameter.startsWith("id=")) {
+                id = Long.valueOf(parameter.substring(3));
+            }
+        }
+        if (id == null) {
+            return page;
+        }
+        ObjectNode transfers = (ObjectNode) objectMapper.readTree(page);
+        ArrayNode before = transfers.putArray("data");
+        for (JsonNode transfer : objectMapper.readTree(page).path("data")) {
+            if (transfer.path("meta").path("id").asLong() < id) {
+                before.add(transfer);
+            }
+        }
+        return json(transfers);
+    }
+
+    private byte[] block(long height) throws IOException {
+        ObjectNode block = ledger.block(height);
+        if (block != null) {
+            return json(block);
+        }
+        JsonNode fixture = objectMapper.readTree(resource("/chain/last-block"));
+        return json(((ObjectNode) fixture).put("height", height));
+    }
+
+    private byte[] resource(String path) throws IOException {
+        String resource = SHARED_FIXTURES.getOrDefault(path, "/nis" + path + ".json");
+        try (InputStream in = NisStandIn.class.getResourceAsStream(resource)) {
+            return in == null ? null : Util.toByteArray(in);
+        }
+    }
+
+    private void delay(String path) {
+        long millis = pathLatencies.getOrDefault(path, latencyMillis);
+        if (jitterMillis > 0) {
+            synchronized (random) {
+                millis += (long) (random.nextDouble() * jitterMillis);
+            }
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int fault() {
+        synchronized (this) {
+            if (failures > 0) {
+                failures--;
+                return failStatus;
+            }
+        }
+        if (failRate > 0) {
+            synchronized (random) {
+                if (random.nextDouble() < failRate) {
+                    return failRateStatus;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private byte[] error(int status, String message) throws IOException {
+        return json(objectMapper.createObjectNode()
+                .put("timeStamp", ledger.time())
+                .put("error", status == 404 ? "Not Found" : "Error")
+                .put("message", message)
+                .put("status", status));
+    }
+
+    private byte[] json(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.rosklyar.client.nis;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.blockchain.domain.block.BlockInfo;
+import com.github.rosklyar.client.blockchain.domain.block.BlocksAfterResponse;
+import com.github.rosklyar.client.mosaic.MosaicClient;
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.retry.Retries;
+import com.github.rosklyar.client.retry.RetryPolicy;
+import com.github.rosklyar.client.status.StatusClient;
+import com.github.rosklyar.client.stream.StreamingClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transport.HttpTransport;
+import com.github.rosklyar.crypto.KeyPair;
+import feign.RetryableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static com.netflix.config.ConfigurationManager.getConfigInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NisStandInTest {
+
+    private static final String ADDRESS = "TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65";
+    private static final String RECIPIENT = "TBCI2A67UQZAKCR6NS4JWAEICEIGEIM72G3MVW5S";
+
+    private final NisStandIn nis = NisStandIn.start();
+    private final DefaultNemClientFactory factory = new DefaultNemClientFactory();
+
+    @AfterEach
+    void stop() {
+        nis.close();
+    }
+
+    @Test
+    void serveEveryReadEndpointFromFixtures() {
+        StatusClient statusClient = factory.simpleStatusClient(nis.url());
+        assertEquals(1, statusClient.heartbeat().code);
+        assertEquals(6, statusClient.status().code);
+
+        NodeClient nodeClient = factory.simpleNodeClient(nis.url());
+        assertEquals("127.0.0.1", nodeClient.info().endpoint.host);
+        assertEquals(nodeClient.info(), nodeClient.extendedInfo().node);
+        assertEquals(nodeClient.peersList().active, nodeClient.active().data);
+        assertFalse(nodeClient.activeBroadcasts().data.isEmpty());
+        assertEquals(NisStandIn.HEIGHT, nodeClient.maxChainHeight().height);
+        assertFalse(nodeClient.experiences().data.isEmpty());
+
+        AccountClient accountClient = factory.simpleAccountClient(nis.url());
+        assertEquals(ADDRESS, accountClient.getFromAddress(ADDRESS).account.address);
+        assertEquals(accountClient.getFromAddress(ADDRESS), accountClient.getFromPublicKey("key"));
+        assertNotNull(accountClient.getForwarded(ADDRESS).meta);
+        assertNotNull(accountClient.getForwardedFromPublicKey("key").meta);
+        assertNotNull(accountClient.status(ADDRESS).status);
+        assertFalse(accountClient.allTransactions(ADDRESS).data.isEmpty());
+        assertFalse(accountClient.incomingTransactions(ADDRESS, 9_000_000).data.isEmpty());
+        assertFalse(accountClient.outgoingTransactions(ADDRESS).data.isEmpty());
+        assertFalse(accountClient.unconfirmedTransactions(ADDRESS).data.isEmpty());
+        assertFalse(accountClient.harvests(ADDRESS, "hash").data.isEmpty());
+        assertFalse(accountClient.importances().data.isEmpty());
+        assertFalse(accountClient.namespaces(ADDRESS, null, null, null).data.isEmpty());
+        assertFalse(accountClient.mosaics(ADDRESS, null, null).data.isEmpty());
+        assertFalse(accountClient.ownedMosaics(ADDRESS).data.isEmpty());
+        assertEquals(4, accountClient.unlockedInfo().maxUnlocked);
+        assertFalse(accountClient.history(ADDRESS, 1, 2, 1).data.isEmpty());
+
+        MosaicClient mosaicClient = factory.simpleMosaicClient(nis.url());
+        assertEquals(10, mosaicClient.namespaces(null, 10).data.size());
+        assertEquals("stand-in", mosaicClient.namespace("stand-in").fqn);
+        assertFalse(mosaicClient.mosaics("stand-in", null, null).data.isEmpty());
+
+        BlockchainClient blockchainClient = factory.simpleBlockchainClient(nis.url());
+        assertEquals(NisStandIn.HEIGHT, blockchainClient.height().height);
+        assertNotNull(blockchainClient.score().score);
+        assertEquals(blockchainClient.lastBlock(), blockchainClient.block(new BlockHeight(NisStandIn.HEIGHT)));
+        assertFalse(blockchainClient.blocksAfter(new BlockHeight(1)).data.isEmpty());
+
+        StreamingClient streamingClient = factory.simpleStreamingClient(nis.url());
+        try (Stream<?> importances = streamingClient.importances()) {
+            assertEquals(2, importances.count());
+        }
+    }
+
+    @Test
+    void announceTransfersIntoTheLedger() {
+        TransactionClient transactionClient = factory.simpleTransactionClient(nis.url(), TEST);
+        SignedTransaction transaction = transactionClient.signTransferNem(KeyPair.random().getPrivateKey().toString(), RECIPIENT, 1_000_000, "stand-in", 3600);
+
+        assertTrue(transactionClient.announce(transaction).succeeded());
+        assertTrue(transactionClient.announce(transaction).alreadyKnown());
+        assertEquals(1, nis.ledger().pendingCount());
+
+        long height = nis.ledger().mine();
+        BlockchainClient blockchainClient = factory.simpleBlockchainClient(nis.url());
+        BlocksAfterResponse blocks = blockchainClient.blocksAfter(new BlockHeight(NisStandIn.HEIGHT));
+        BlockInfo mined = blocks.data.get(0);
+
+        assertEquals(height, blockchainClient.height().height);
+        assertEquals(height, mined.block.height);
+        assertEquals(transaction.hash, mined.txes.get(0).hash);
+        assertEquals(RECIPIENT, mined.txes.get(0).tx.recipient);
+        assertEquals(1_000_000, mined.txes.get(0).tx.amount);
+        assertEquals(height, nis.ledger().confirmedAt(transaction.hash));
+        assertEquals(mined.block, blockchainClient.block(new BlockHeight(height)));
+    }
+
+    @Test
+    void rejectExpiredTransactions() {
+        TransactionClient transactionClient = factory.simpleTransactionClient(nis.url(), TEST);
+        SignedTransaction transaction = transactionClient.signTransferNem(KeyPair.random().getPrivateKey().toString(), RECIPIENT, 1, null, 60);
+
+        nis.ledger().advance(3600);
+        NemAnnounceResult result = transactionClient.announce(transaction);
+
+        assertEquals("FAILURE_PAST_DEADLINE", result.message);
+        assertEquals(0, nis.ledger().pendingCount());
+    }
+
+    @Test
+    void injectFailuresAndLatency() throws IOException {
+        try (HttpTransport transport = new HttpTransport()) {
+            BlockchainClient retrying = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build()).simpleBlockchainClient(nis.url());
+            nis.failNext(2, 503).latency("/chain/height", 50);
+
+            long start = System.nanoTime();
+            assertEquals(NisStandIn.HEIGHT, retrying.height().height);
+            assertTrue(System.nanoTime() - start >= 150_000_000);
+            assertEquals(3, nis.requests("/chain/height"));
+
+            Retries noRetries = new Retries(RetryPolicy.builder().maxAttempts(1).build());
+            BlockchainClient once = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).retries(noRetries).build())
+                    .simpleBlockchainClient(nis.url());
+            nis.failNext(1, NisStandIn.RESET);
+            assertThrows(RetryableException.class, once::height);
+            assertEquals(4, nis.requests("/chain/height"));
+        }
+    }
+
+    @Test
+    void serveRibbonClients() {
+        getConfigInstance().setProperty("standInApi.ribbon.listOfServers", nis.server());
+        nis.failRate(1, 500);
+
+        assertThrows(RuntimeException.class, () -> factory.createStatusClient("standInApi").heartbeat());
+
+        nis.failRate(0, 500);
+        assertEquals(1, factory.createStatusClient("standInApi").heartbeat().code);
+    }
+}
@@ -2,7 +2,9 @@ package com.github.rosklyar.client.node;
 
 import com.github.rosklyar.client.DefaultNemClientFactory;
 import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.nis.NisStandIn;
 import com.github.rosklyar.client.node.domain.*;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -12,22 +14,28 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class NodeClientTest {
 
-    private static String IP = "153.122.112.137";
+    private static final NisStandIn nis = NisStandIn.start();
+
     private final NodeClient nodeClient = new DefaultNemClientFactory().createNodeClient("nodeApi");
-    private final NodeClient simpleNodeClient = new DefaultNemClientFactory().simpleNodeClient("http://" + IP + ":7890");
+    private final NodeClient simpleNodeClient = new DefaultNemClientFactory().simpleNodeClient(nis.url());
 
     private final String privateKey = "0476fd96242ac5ef6cb1b268887254c1a3089759556beb1ce660c0cb2c42bb27";
 
     @BeforeAll
     static void init() {
-        getConfigInstance().setProperty("nodeApi.ribbon.listOfServers", IP + ":7890");
+        getConfigInstance().setProperty("nodeApi.ribbon.listOfServers", nis.server());
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 20000);
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     void getNodeInfo() {
         Node info = nodeClient.info();
-        assertEquals(IP, info.endpoint.host);
+        assertEquals("127.0.0.1", info.endpoint.host);
 
         ExtendedNodeInfo extendedNodeInfo = nodeClient.extendedInfo();
         assertEquals(info, extendedNodeInfo.node);
@@ -0,0 +1,128 @@
+package com.github.rosklyar.client.retry;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetriesTest {
+
+    private static final Request HEIGHT = Request.create("GET", "http://127.0.0.1:7890/chain/height", emptyMap(), null, UTF_8);
+    private static final Request ANNOUNCE = Request.create("POST", "http://127.0.0.1:7890/transaction/announce", emptyMap(), new byte[0], UTF_8);
+    private static final Request.Options OPTIONS = new Request.Options();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void retryGetUntilItSucceeds() throws IOException {
+        Retries retries = new Retries(policy(3, 10));
+        Client client = retries.client(failing(2));
+
+        assertEquals(200, client.execute(HEIGHT, OPTIONS).status());
+        assertEquals(3, calls.get());
+        assertEquals(3, retries.attempts("/chain/height"));
+        assertEquals(2, retries.retries("/chain/height"));
+    }
+
+    @Test
+    void giveUpAfterMaxAttempts() {
+        Retries retries = new Retries(policy(3, 10));
+        Client client = retries.client(failing(5));
+
+        assertThrows(ConnectException.class, () -> client.execute(HEIGHT, OPTIONS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void neverRetryPosts() {
+        Retries retries = new Retries(policy(3, 10));
+        Client client = retries.client(failing(1));
+
+        assertThrows(ConnectException.class, () -> client.execute(ANNOUNCE, OPTIONS));
+        assertEquals(1, calls.get());
+        assertEquals(0, retries.attempts("/transaction/announce"));
+    }
+
+    @Test
+    void retryUnavailableButNotServerErrors() throws IOException {
+        Retries retries = new Retries(policy(3, 10));
+        AtomicInteger statuses = new AtomicInteger();
+        Client client = retries.client((request, options) -> {
+            calls.incrementAndGet();
+            return Response.create(statuses.getAndIncrement() == 0 ? 503 : 500, "", emptyMap(), "{}", UTF_8);
+        });
+
+        assertEquals(500, client.execute(HEIGHT, OPTIONS).status());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void stopRetryingWhenBudgetIsUsedUp() {
+        Retries retries = new Retries(policy(3, 2));
+        Client client = retries.client(failing(Integer.MAX_VALUE));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ConnectException.class, () -> client.execute(HEIGHT, OPTIONS));
+        }
+
+        assertEquals(2, retries.budget().granted());
+        assertEquals(2, retries.exhausted("/chain/height"));
+        assertEquals(5, retries.attempts("/chain/height"));
+    }
+
+    @Test
+    void keepJitteredDelaysWithinBounds() {
+        Retries retries = new Retries(RetryPolicy.builder().baseDelayMillis(10).maxDelayMillis(100).build());
+
+        long delay = 0;
+        for (int i = 0; i < 50; i++) {
+            long previous = delay;
+            delay = retries.nextDelayMillis(previous);
+            assertTrue(delay >= 10 && delay <= Math.min(100, Math.max(10, previous) * 3), previous + " -> " + delay);
+        }
+    }
+
+    @Test
+    void spreadFirstRetries() {
+        Retries retries = new Retries(RetryPolicy.builder().baseDelayMillis(10).maxDelayMillis(100).build());
+
+        Set<Long> firstDelays = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            long delay = retries.nextDelayMillis(0);
+            assertTrue(delay >= 10 && delay <= 30, Long.toString(delay));
+            firstDelays.add(delay);
+        }
+        assertTrue(firstDelays.size() > 5, firstDelays.toString());
+    }
+
+    private static RetryPolicy policy(int maxAttempts, int budgetBurst) {
+        return RetryPolicy.builder()
+                .maxAttempts(maxAttempts)
+                .baseDelayMillis(1)
+                .maxDelayMillis(5)
+                .budgetPercent(0)
+                .budgetBurst(budgetBurst)
+                .build();
+    }
+
+    private Client failing(int failures) {
+        return (request, options) -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw new ConnectException("refused");
+            }
+            return Response.create(200, "OK", emptyMap(), "{\"height\":1}", UTF_8);
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.rosklyar.client.status;
 
 import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.nis.NisStandIn;
 import com.github.rosklyar.client.status.domain.Heartbeat;
 import com.github.rosklyar.client.status.domain.Status;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -11,15 +13,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class StatusClientTest {
 
+    private static final NisStandIn nis = NisStandIn.start();
+
     private final StatusClient statusClient = new DefaultNemClientFactory().createStatusClient("statusApi");
-    private final StatusClient simpleStatusClient = new DefaultNemClientFactory().simpleStatusClient("http://153.122.112.137:7890");
+    private final StatusClient simpleStatusClient = new DefaultNemClientFactory().simpleStatusClient(nis.url());
 
     @BeforeAll
     static void init() {
-        getConfigInstance().setProperty("statusApi.ribbon.listOfServers", "153.122.112.137:7890");
+        getConfigInstance().setProperty("statusApi.ribbon.listOfServers", nis.server());
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 20000);
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     void returnHeartbeatForNode() {
         Heartbeat heartbeat = new Heartbeat(1, 2, "ok");
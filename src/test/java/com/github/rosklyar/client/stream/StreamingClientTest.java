@@ -0,0 +1,155 @@
+package com.github.rosklyar.client.stream;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.account.domain.importance.ImportanceInfo;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.blockchain.domain.block.BlockInfo;
+import com.github.rosklyar.client.fake.Stub;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingClientTest {
+
+    private final CountDownLatch firstConsumed = new CountDownLatch(1);
+    private HttpServer server;
+    private StreamingClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/account/importances", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("{\"data\":[{\"address\":\"A\",\"importance\":{\"isSet\":1,\"score\":0.5,\"ev\":0.1,\"height\":10}}".getBytes(UTF_8));
+                out.flush();
+                // the rest of the body is only sent once the client has processed the first element
+                firstConsumed.await(5, SECONDS);
+                out.write(",{\"address\":\"B\",\"importance\":{\"isSet\":0}}],\"ignored\":{\"data\":[1]}}".getBytes(UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.createContext("/local/chain/blocks-after", exchange -> respond(exchange, 200, resource("/payloads/blocks-after.json")));
+        server.createContext("/node/peer-list/all", exchange -> respond(exchange, 200, (
+                "{\"inactive\":[{\"endpoint\":{\"protocol\":\"http\",\"port\":7890,\"host\":\"a\"}}]," +
+                "\"active\":[{\"endpoint\":{\"protocol\":\"http\",\"port\":7890,\"host\":\"b\"}},{\"endpoint\":{\"protocol\":\"http\",\"port\":7890,\"host\":\"c\"}}]," +
+                "\"busy\":[],\"failure\":[]}").getBytes(UTF_8)));
+        server.createContext("/account/transfers/all", exchange -> respond(exchange, 500, "{\"error\":\"boom\"}".getBytes(UTF_8)));
+        server.start();
+        client = new DefaultNemClientFactory().simpleStreamingClient("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void handOutElementsBeforeBodyIsComplete() {
+        try (Stream<ImportanceInfo> importances = client.importances()) {
+            Iterator<ImportanceInfo> iterator = importances.iterator();
+
+            assertEquals("A", iterator.next().address);
+            firstConsumed.countDown();
+            assertEquals("B", iterator.next().address);
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    void streamBlocks() {
+        try (Stream<BlockInfo> blocks = client.blocksAfter(new BlockHeight(1699999))) {
+            List<Long> heights = blocks.map(blockInfo -> blockInfo.block.height).collect(toList());
+
+            assertEquals(10, heights.size());
+            assertEquals(1700000L, (long) heights.get(0));
+        }
+    }
+
+    @Test
+    void handPeersToCallbackWithTheirList() {
+        List<String> peers = new ArrayList<>();
+
+        client.peersList((list, node) -> peers.add(list + ":" + node.endpoint.host));
+
+        assertEquals(3, peers.size());
+        assertTrue(peers.contains("inactive:a"));
+        assertTrue(peers.contains("active:c"));
+    }
+
+    @Test
+    void failOnErrorStatus() {
+        FeignException error = assertThrows(FeignException.class, () -> client.allTransactions("NADDRESS"));
+        assertEquals(500, error.status());
+        assertTrue(error.getMessage().contains("boom"), error.getMessage());
+    }
+
+    @Test
+    void reportErrorBodyOfUnbufferedResponse() {
+        InputStream body = new FilterInputStream(new ByteArrayInputStream("{\"error\":\"boom\"}".getBytes(UTF_8))) {
+            private boolean closed;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (closed) {
+                    throw new IOException("stream closed");
+                }
+                return super.read(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+        FeignStreamingClient feign = Stub.of(FeignStreamingClient.class)
+                .on("importances", args -> Response.create(500, "Server Error", Collections.emptyMap(), body, null))
+                .build();
+        StreamingClient unbuffered = new StreamingClient(feign, NemObjectMapper.create());
+
+        FeignException error = assertThrows(FeignException.class, unbuffered::importances);
+        assertTrue(error.getMessage().contains("boom"), error.getMessage());
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = StreamingClientTest.class.getResourceAsStream(name)) {
+            return Util.toByteArray(in);
+        }
+    }
+}
@@ -2,13 +2,15 @@ package com.github.rosklyar.client.transaction;
 
 import com.github.rosklyar.client.DefaultNemClientFactory;
 import com.github.rosklyar.client.mosaic.domain.Levy;
+import com.github.rosklyar.client.nis.NisStandIn;
 import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicProperties;
 import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
 import com.github.rosklyar.client.transaction.domain.mosaic.SupplyType;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
@@ -18,24 +20,26 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.netflix.config.ConfigurationManager.getConfigInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@Disabled
 class TransactionClientTest {
 
+    private static final NisStandIn nis = NisStandIn.start();
+
     private static TransactionClient transactionClient;
-    private static TransactionClient simpleTransactionClient = new DefaultNemClientFactory().simpleTransactionClient("http://153.122.112.137:7890", TEST);
+    private static TransactionClient simpleTransactionClient = new DefaultNemClientFactory().simpleTransactionClient(nis.url(), TEST);
 
     @BeforeAll
     static void init() {
         String transactionClientConfigurationPrefix = "transactionApi";
-        String accountClientConfigurationPrefix = "accountApi";
-        String mosaicClientConfigurationPrefix = "mosaicApi";
-        String nodeClientConfigurationPrefix = "nodeApi";
+        String accountClientConfigurationPrefix = "transactionAccountApi";
+        String mosaicClientConfigurationPrefix = "transactionMosaicApi";
+        String nodeClientConfigurationPrefix = "transactionNodeApi";
 
-        getConfigInstance().setProperty(transactionClientConfigurationPrefix + ".ribbon.listOfServers", "153.122.112.137:7890");
-        getConfigInstance().setProperty(accountClientConfigurationPrefix + ".ribbon.listOfServers", "153.122.112.137:7890");
-        getConfigInstance().setProperty(mosaicClientConfigurationPrefix + ".ribbon.listOfServers", "153.122.112.137:7890");
-        getConfigInstance().setProperty(nodeClientConfigurationPrefix + ".ribbon.listOfServers", "153.122.112.137:7890");
+        getConfigInstance().setProperty(transactionClientConfigurationPrefix + ".ribbon.listOfServers", nis.server());
+        getConfigInstance().setProperty(accountClientConfigurationPrefix + ".ribbon.listOfServers", nis.server());
+        getConfigInstance().setProperty(mosaicClientConfigurationPrefix + ".ribbon.listOfServers", nis.server());
+        getConfigInstance().setProperty(nodeClientConfigurationPrefix + ".ribbon.listOfServers", nis.server());
 
         getConfigInstance().setProperty("hystrix.command.default.execution.isolation.thread.timeoutInMilliseconds", 30000);
 
@@ -49,6 +53,11 @@ class TransactionClientTest {
         );
     }
 
+    @AfterAll
+    static void stop() {
+        nis.close();
+    }
+
     @Test
     void makeNemTransfer() {
         NemAnnounceResult nemAnnounceResult = simpleTransactionClient.transferNem(
@@ -61,10 +70,38 @@ class TransactionClientTest {
         assertEquals(1, nemAnnounceResult.code);
     }
 
+    @Test
+    void answerDuplicateAndExpiredAnnouncesLikeNis() {
+        SignedTransaction transaction = simpleTransactionClient.signTransferNem(
+                "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54",
+                "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE",
+                2000000L,
+                "duplicate",
+                3600
+        );
+        NemAnnounceResult first = simpleTransactionClient.announce(transaction);
+        assertEquals(1, first.code);
+        assertEquals(transaction.hash, first.transactionHash.data);
+
+        NemAnnounceResult duplicate = simpleTransactionClient.announce(transaction);
+        assertEquals("FAILURE_HASH_EXISTS", duplicate.message);
+        assertTrue(duplicate.alreadyKnown());
+
+        SignedTransaction expiring = simpleTransactionClient.signTransferNem(
+                "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54",
+                "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE",
+                3000000L,
+                "expiring",
+                60
+        );
+        nis.ledger().advance(120);
+        assertEquals("FAILURE_PAST_DEADLINE", simpleTransactionClient.announce(expiring).message);
+    }
+
     @Test
     void makeMosaicTransfer() {
         MosaicTransfer mosaicTransfer = MosaicTransfer.builder()
-                .mosaicId(new MosaicId("library", "testcoin"))
+                .mosaicId(new MosaicId("stand-in", "coin"))
                 .quantity(3000)
                 .build();
 
@@ -106,7 +143,7 @@ class TransactionClientTest {
     @Test
     void multisigMosaicTransfer() {
         MosaicTransfer mosaicTransfer = MosaicTransfer.builder()
-                .mosaicId(new MosaicId("library", "testcoin"))
+                .mosaicId(new MosaicId("stand-in", "coin"))
                 .quantity(3000)
                 .build();
 
@@ -268,7 +305,7 @@ class TransactionClientTest {
     void createMosaic() {
         Levy levy = Levy.builder()
                 .fee(1000)
-                .mosaicId(new MosaicId("library", "testcoin"))
+                .mosaicId(new MosaicId("stand-in", "coin"))
                 .recipient("TCHCCSUCSBE2OSYXLISPYGOVLOVZYCYYI5V73K4Y")
                 .type(ABSOLUTE.type)
                 .build();
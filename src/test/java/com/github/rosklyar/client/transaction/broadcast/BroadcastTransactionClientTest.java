@@ -0,0 +1,129 @@
+package com.github.rosklyar.client.transaction.broadcast;
+
+import com.github.rosklyar.client.transaction.FeignTransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastTransactionClientTest {
+
+    private static final RequestAnnounce REQUEST = new RequestAnnounce("00", "11");
+    private static final NemAnnounceResult SUCCESS = NemAnnounceResult.builder().type(1).code(1).message("SUCCESS").build();
+    private static final NemAnnounceResult INSUFFICIENT_BALANCE = NemAnnounceResult.builder().type(1).code(5).message("FAILURE_INSUFFICIENT_BALANCE").build();
+
+    private final List<BroadcastOutcome> outcomes = new CopyOnWriteArrayList<>();
+
+    @Test
+    void returnFirstSuccessAndCancelStalledNode() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        nodes.put("stalled", request -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("interrupted");
+        });
+        nodes.put("fast", request -> SUCCESS);
+        BroadcastTransactionClient client = new BroadcastTransactionClient(nodes, 2, 100, outcomes::add);
+
+        assertEquals(SUCCESS, client.prepare(REQUEST));
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertTrue(waitForOutcomes(2));
+        assertEquals("fast", outcomes.get(0).node);
+        assertTrue(outcomes.get(1).cancelled);
+        assertEquals("stalled", outcomes.get(1).node);
+    }
+
+    @Test
+    void preferRejectionOverErrorWhenNoNodeAccepts() {
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        nodes.put("down", request -> {
+            throw new IllegalStateException("connection refused");
+        });
+        nodes.put("strict", request -> INSUFFICIENT_BALANCE);
+        BroadcastTransactionClient client = new BroadcastTransactionClient(nodes, 2, 100, outcomes::add);
+
+        assertEquals(INSUFFICIENT_BALANCE, client.prepare(REQUEST));
+        assertEquals(2, outcomes.size());
+    }
+
+    @Test
+    void skipFailingNodeWhenFanoutIsSmaller() {
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        nodes.put("down", request -> {
+            throw new IllegalStateException("connection refused");
+        });
+        nodes.put("up", request -> SUCCESS);
+        BroadcastTransactionClient client = new BroadcastTransactionClient(nodes, 1, 100, outcomes::add);
+
+        assertThrows(IllegalStateException.class, () -> client.prepare(REQUEST));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(SUCCESS, client.prepare(REQUEST));
+        }
+        assertEquals(1, outcomes.stream().filter(outcome -> outcome.node.equals("down")).count());
+    }
+
+    @Test
+    void announceWithoutDiagnosticsListener() {
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        nodes.put("strict", request -> INSUFFICIENT_BALANCE);
+        nodes.put("up", request -> SUCCESS);
+
+        assertEquals(SUCCESS, new BroadcastTransactionClient(nodes, 2, 100).prepare(REQUEST));
+    }
+
+    @Test
+    void rejectBroadcastWithoutNodes() {
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        assertThrows(IllegalArgumentException.class, () -> new BroadcastTransactionClient(nodes, 1, 100));
+
+        nodes.put("up", request -> SUCCESS);
+        assertThrows(IllegalArgumentException.class, () -> new BroadcastTransactionClient(nodes, 0, 100));
+    }
+
+    @Test
+    void interruptStalledNodeOnClose() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Map<String, FeignTransactionClient> nodes = new LinkedHashMap<>();
+        nodes.put("fast", request -> SUCCESS);
+        nodes.put("stalled", request -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new IllegalStateException("interrupted");
+        });
+        BroadcastTransactionClient client = new BroadcastTransactionClient(nodes, 2, 60_000, outcomes::add);
+        assertEquals(SUCCESS, client.prepare(REQUEST));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        client.close();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> client.prepare(REQUEST));
+    }
+
+    private boolean waitForOutcomes(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && outcomes.size() < expected; i++) {
+            Thread.sleep(50);
+        }
+        return outcomes.size() >= expected;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.rosklyar.client.transaction.confirmation;
+
+import com.github.rosklyar.client.blockchain.domain.block.TransferInfo;
+import com.github.rosklyar.client.fake.FakeChain;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationTrackerTest {
+
+    private final FakeChain chain = new FakeChain();
+    private final ConfirmationTracker tracker = new ConfirmationTracker(chain, 1000);
+
+    @Test
+    void completeWhenHashOrInnerHashIsIncluded() throws Exception {
+        chain.addBlock(1000, emptyList());
+        CompletableFuture<Confirmation> outer = tracker.track("AA", 5000);
+        CompletableFuture<Confirmation> inner = tracker.track("bb", 5000);
+        tracker.poll();
+
+        chain.addBlock(1060, asList(new TransferInfo(null, "aa", null), new TransferInfo(null, "cc", "BB")));
+        tracker.poll();
+
+        assertEquals(new Confirmation("aa", 2, 1), outer.get());
+        assertEquals(new Confirmation("bb", 2, 1), inner.get());
+        assertEquals(0, tracker.pendingCount());
+    }
+
+    @Test
+    void waitForRequiredDepth() throws Exception {
+        chain.addBlock(1000, emptyList());
+        tracker.poll();
+        CompletableFuture<Confirmation> confirmation = tracker.track("aa", 5000, 3);
+
+        chain.addBlock(1060, asList(new TransferInfo(null, "aa", null)));
+        tracker.poll();
+        assertFalse(confirmation.isDone());
+
+        chain.addBlock(1120, emptyList());
+        chain.addBlock(1180, emptyList());
+        tracker.poll();
+        assertEquals(new Confirmation("aa", 2, 3), confirmation.get());
+    }
+
+    @Test
+    void expireWhenNewerBlockPassesDeadline() {
+        chain.addBlock(1000, emptyList());
+        tracker.poll();
+        CompletableFuture<Confirmation> confirmation = tracker.track("aa", 1100);
+
+        chain.addBlock(1060, emptyList());
+        tracker.poll();
+        assertFalse(confirmation.isDone());
+
+        chain.addBlock(1120, emptyList());
+        tracker.poll();
+        ExecutionException exception = assertThrows(ExecutionException.class, confirmation::get);
+        assertTrue(exception.getCause() instanceof TransactionExpiredException);
+    }
+
+    @Test
+    void cancelUntrackedTransaction() {
+        chain.addBlock(1000, emptyList());
+        tracker.poll();
+        CompletableFuture<Confirmation> pending = tracker.track("aa", 1100);
+        CompletableFuture<Confirmation> included = tracker.track("bb", 5000, 3);
+        chain.addBlock(1060, asList(new TransferInfo(null, "bb", null)));
+        tracker.poll();
+
+        tracker.untrack("AA");
+        tracker.untrack("bb");
+
+        assertTrue(pending.isCancelled());
+        assertTrue(included.isCancelled());
+        assertEquals(0, tracker.pendingCount());
+        chain.addBlock(1120, emptyList());
+        tracker.poll();
+        assertTrue(pending.isCancelled());
+    }
+}
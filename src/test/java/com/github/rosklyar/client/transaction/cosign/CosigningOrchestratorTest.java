@@ -0,0 +1,124 @@
+package com.github.rosklyar.client.transaction.cosign;
+
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.account.domain.Signature;
+import com.github.rosklyar.client.account.domain.transaction.TransactionData;
+import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactionMetaData;
+import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactionMetaDataPair;
+import com.github.rosklyar.client.account.domain.transaction.UnconfirmedTransactions;
+import com.github.rosklyar.client.fake.Stub;
+import com.github.rosklyar.client.transaction.SecureTransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.encode.ByteArrayTransactionEncoder;
+import com.github.rosklyar.client.transaction.encode.DefaultByteSerializer;
+import com.github.rosklyar.client.transaction.encode.DefaultHexConverter;
+import com.github.rosklyar.client.transaction.encode.DefaultSigner;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
+import com.github.rosklyar.utils.AddressEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static com.github.rosklyar.client.transaction.TransactionType.MULTISIG_TRANSACTION;
+import static com.github.rosklyar.client.transaction.TransactionType.TRANSFER_NEM;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CosigningOrchestratorTest {
+
+    private static final String COSIGNATORY_KEY = "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54";
+    private static final String INITIATOR = "0d81da60546ccb7b54b59ac8c1e8d2d0008c20bf76770a75b7bd5a853c26797b";
+    private static final String MULTISIG = "5f5f2bce1a0911aeec9a594a9f8fc4a80cfa193f4525120f53360389074b9a51";
+    private static final String MULTISIG_ADDRESS = "TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65";
+    private static final String INNER_HASH = "6a7d1e3b8f5d3a2c4e9f0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6f7a8b9c0d1e";
+
+    private final String cosignatory = new DefaultSigner(COSIGNATORY_KEY).publicKey();
+    private final String cosignatoryAddress = AddressEncoder.fromPublicKey(TEST.code, cosignatory);
+    private final Map<String, List<UnconfirmedTransactionMetaDataPair>> unconfirmed = new ConcurrentHashMap<>();
+    private final List<RequestAnnounce> announced = Collections.synchronizedList(new ArrayList<>());
+    private final CosigningOrchestrator orchestrator = new CosigningOrchestrator(
+            accountClient(),
+            new SecureTransactionClient(
+                    TEST,
+                    requestAnnounce -> {
+                        announced.add(requestAnnounce);
+                        return NemAnnounceResult.builder().type(1).code(1).message("SUCCESS").build();
+                    },
+                    new ByteArrayTransactionEncoder(new DefaultByteSerializer(new DefaultHexConverter()), new DefaultHexConverter()),
+                    new DefaultHexConverter(),
+                    new DefaultVersionProvider(),
+                    new DefaultFeeCalculator(null, null),
+                    () -> 1000
+            ),
+            TEST,
+            CosigningPolicy.ALWAYS,
+            4,
+            3600
+    ).watch(COSIGNATORY_KEY);
+
+    @Test
+    void cosignPendingMultisigTransactionOnce() {
+        unconfirmed.put(cosignatoryAddress, singletonList(multisig(INNER_HASH, emptyList())));
+
+        orchestrator.poll();
+        orchestrator.poll();
+
+        assertEquals(1, announced.size());
+        assertEquals(1, orchestrator.cosigned());
+        String data = announced.get(0).data;
+        assertTrue(data.contains(INNER_HASH));
+        assertTrue(data.contains(new DefaultHexConverter().getString(MULTISIG_ADDRESS.getBytes(UTF_8))));
+    }
+
+    @Test
+    void skipTransactionsAlreadySignedOrNotMultisig() {
+        Signature existing = Signature.builder().signer(cosignatory).build();
+        unconfirmed.put(cosignatoryAddress, new ArrayList<>(singletonList(multisig(INNER_HASH, singletonList(existing)))));
+        unconfirmed.get(cosignatoryAddress).add(new UnconfirmedTransactionMetaDataPair(
+                new UnconfirmedTransactionMetaData(null),
+                TransactionData.builder().type(TRANSFER_NEM.type).signer(INITIATOR).build()));
+
+        orchestrator.poll();
+
+        assertEquals(0, announced.size());
+    }
+
+    @Test
+    void respectPolicy() {
+        CosigningOrchestrator rejecting = new CosigningOrchestrator(accountClient(), null, TEST, (publicKey, transaction) -> false, 1, 3600)
+                .watch(COSIGNATORY_KEY);
+        unconfirmed.put(cosignatoryAddress, singletonList(multisig(INNER_HASH, emptyList())));
+
+        rejecting.poll();
+
+        assertEquals(0, rejecting.cosigned());
+        assertEquals(0, rejecting.failures());
+    }
+
+    private UnconfirmedTransactionMetaDataPair multisig(String innerHash, List<Signature> signatures) {
+        return new UnconfirmedTransactionMetaDataPair(
+                new UnconfirmedTransactionMetaData(innerHash),
+                TransactionData.builder()
+                        .type(MULTISIG_TRANSACTION.type)
+                        .signer(INITIATOR)
+                        .signatures(signatures)
+                        .otherTrans(TransactionData.builder().type(TRANSFER_NEM.type).signer(MULTISIG).build())
+                        .build());
+    }
+
+    private AccountClient accountClient() {
+        return Stub.of(AccountClient.class)
+                .on("unconfirmedTransactions", args -> new UnconfirmedTransactions(unconfirmed.getOrDefault((String) args[0], emptyList())))
+                .build();
+    }
+}
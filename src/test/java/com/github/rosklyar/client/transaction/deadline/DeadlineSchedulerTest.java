@@ -0,0 +1,114 @@
+package com.github.rosklyar.client.transaction.deadline;
+
+import com.github.rosklyar.client.blockchain.domain.block.TransferInfo;
+import com.github.rosklyar.client.fake.FakeChain;
+import com.github.rosklyar.client.node.NetworkClock;
+import com.github.rosklyar.client.transaction.AnnounceRejectedException;
+import com.github.rosklyar.client.transaction.SecureTransactionClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.confirmation.Confirmation;
+import com.github.rosklyar.client.transaction.confirmation.ConfirmationTracker;
+import com.github.rosklyar.client.transaction.confirmation.TransactionExpiredException;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transaction.encode.ByteArrayTransactionEncoder;
+import com.github.rosklyar.client.transaction.encode.DefaultByteSerializer;
+import com.github.rosklyar.client.transaction.encode.DefaultHexConverter;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineSchedulerTest {
+
+    private static final String PRIVATE_KEY = "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54";
+    private static final String RECIPIENT = "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE";
+
+    private final FakeChain chain = new FakeChain();
+    private final ConfirmationTracker tracker = new ConfirmationTracker(chain, 1000);
+    private final List<SignedTransaction> signed = new ArrayList<>();
+    private final AtomicReference<String> announceMessage = new AtomicReference<>("SUCCESS");
+    private int networkTime = 1000;
+    private final NetworkClock clock = () -> networkTime;
+    private final TransactionClient transactionClient = new SecureTransactionClient(
+            TEST,
+            requestAnnounce -> NemAnnounceResult.builder().type(1).code("SUCCESS".equals(announceMessage.get()) ? 1 : 5).message(announceMessage.get()).build(),
+            new ByteArrayTransactionEncoder(new DefaultByteSerializer(new DefaultHexConverter()), new DefaultHexConverter()),
+            new DefaultHexConverter(),
+            new DefaultVersionProvider(),
+            new DefaultFeeCalculator(null, null),
+            clock
+    );
+
+    @Test
+    void reSignTransactionThatExpiredUnconfirmed() throws Exception {
+        DeadlineScheduler scheduler = new DeadlineScheduler(transactionClient, tracker, clock, 3, 5);
+        chain.addBlock(1000, emptyList());
+        tracker.poll();
+
+        CompletableFuture<Confirmation> confirmation = scheduler.submit(this::sign);
+        assertEquals(1100, signed.get(0).deadline);
+
+        networkTime = 1110;
+        scheduler.tick();
+        assertEquals(1, signed.size());
+
+        chain.addBlock(1108, emptyList());
+        tracker.poll();
+        networkTime = 1120;
+        scheduler.tick();
+        assertEquals(2, signed.size());
+        assertEquals(1220, signed.get(1).deadline);
+        assertEquals(1, scheduler.resigned());
+
+        chain.addBlock(1170, singletonList(new TransferInfo(null, signed.get(1).hash, null)));
+        tracker.poll();
+        assertEquals(signed.get(1).hash, confirmation.get().hash);
+    }
+
+    @Test
+    void failAfterMaxAttempts() {
+        DeadlineScheduler scheduler = new DeadlineScheduler(transactionClient, tracker, clock, 1, 0);
+        chain.addBlock(1000, emptyList());
+        tracker.poll();
+
+        CompletableFuture<Confirmation> confirmation = scheduler.submit(this::sign);
+        networkTime = 1110;
+        chain.addBlock(1105, emptyList());
+        tracker.poll();
+        scheduler.tick();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, confirmation::get);
+        assertTrue(exception.getCause() instanceof TransactionExpiredException);
+        assertEquals(1, scheduler.exhausted());
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void failImmediatelyWhenNodeRejectsTransaction() {
+        DeadlineScheduler scheduler = new DeadlineScheduler(transactionClient, tracker, clock, 3, 0);
+        announceMessage.set("FAILURE_INSUFFICIENT_BALANCE");
+
+        CompletableFuture<Confirmation> confirmation = scheduler.submit(this::sign);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, confirmation::get);
+        assertTrue(exception.getCause() instanceof AnnounceRejectedException);
+        assertEquals(0, tracker.pendingCount());
+    }
+
+    private SignedTransaction sign() {
+        SignedTransaction transaction = transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT, 1000000, "", 100);
+        signed.add(transaction);
+        return transaction;
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.rosklyar.client.transaction.idempotency;
+
+import com.github.rosklyar.client.transaction.SecureTransactionClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transaction.encode.ByteArrayTransactionEncoder;
+import com.github.rosklyar.client.transaction.encode.DefaultByteSerializer;
+import com.github.rosklyar.client.transaction.encode.DefaultHexConverter;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentTransferClientTest {
+
+    private static final String PRIVATE_KEY = "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54";
+    private static final String RECIPIENT = "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE";
+
+    private final List<RequestAnnounce> announced = new CopyOnWriteArrayList<>();
+    private final AtomicInteger networkTime = new AtomicInteger(1000);
+    private final TransactionClient transactionClient = new SecureTransactionClient(
+            TEST,
+            requestAnnounce -> {
+                announced.add(requestAnnounce);
+                return NemAnnounceResult.builder().type(1).code(1).message("SUCCESS").build();
+            },
+            new ByteArrayTransactionEncoder(new DefaultByteSerializer(new DefaultHexConverter()), new DefaultHexConverter()),
+            new DefaultHexConverter(),
+            new DefaultVersionProvider(),
+            new DefaultFeeCalculator(null, null),
+            networkTime::incrementAndGet
+    );
+    private Path storePath;
+
+    @BeforeEach
+    void init() throws IOException {
+        storePath = Files.createTempFile("idempotency", ".store");
+    }
+
+    @Test
+    void retryAnnouncesSameBytes() throws IOException {
+        try (IdempotencyStore store = new IdempotencyStore(storePath, false)) {
+            IdempotentTransferClient client = new IdempotentTransferClient(transactionClient, store);
+
+            client.transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "salary", "invoice-1", 3600);
+            client.transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "salary", "invoice-1", 3600);
+            client.transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "salary", "invoice-2", 3600);
+
+            assertEquals(3, announced.size());
+            assertEquals(announced.get(0), announced.get(1));
+            assertNotEquals(announced.get(0), announced.get(2));
+            assertEquals(1, client.reused());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void survivesRestartAndTornRecord() throws IOException {
+        try (IdempotencyStore store = new IdempotencyStore(storePath, true)) {
+            new IdempotentTransferClient(transactionClient, store).transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "", "invoice-1", 3600);
+        }
+        Files.write(storePath, new byte[]{0, 0, 1, 0, 42}, APPEND);
+
+        try (IdempotencyStore store = new IdempotencyStore(storePath, false)) {
+            IdempotentTransferClient client = new IdempotentTransferClient(transactionClient, store);
+            client.transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "", "invoice-1", 3600);
+            client.transferNem(PRIVATE_KEY, RECIPIENT, 1_000_000, "", "invoice-2", 3600);
+
+            assertEquals(announced.get(0), announced.get(1));
+            assertEquals(1, client.reused());
+        }
+        try (IdempotencyStore store = new IdempotencyStore(storePath, false)) {
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void indexManyEntries() throws IOException {
+        SignedTransaction transaction = transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT, 1, "", 3600);
+        try (IdempotencyStore store = new IdempotencyStore(storePath, false, 16)) {
+            for (int i = 0; i < 20_000; i++) {
+                assertNull(store.putIfAbsent(key("ref-" + i), transaction));
+            }
+            assertEquals(transaction, store.get(key("ref-12345")));
+            assertNull(store.get(key("ref-20000")));
+        }
+        try (IdempotencyStore store = new IdempotencyStore(storePath, false)) {
+            assertEquals(20_000, store.size());
+            assertEquals(transaction, store.putIfAbsent(key("ref-0"), transaction));
+        }
+    }
+
+    private static IdempotencyKey key(String reference) {
+        return IdempotencyKey.transfer("aa", RECIPIENT, 1, null, "", reference);
+    }
+}
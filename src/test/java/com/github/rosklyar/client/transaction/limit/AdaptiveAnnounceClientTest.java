@@ -0,0 +1,97 @@
+package com.github.rosklyar.client.transaction.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rosklyar.client.json.NemObjectMapper;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveAnnounceClientTest {
+
+    private static final String NODE = "127.0.0.1:7890";
+    private static final Request ANNOUNCE = Request.create("POST", "http://" + NODE + "/transaction/announce", emptyMap(), new byte[0], UTF_8);
+    private static final Request.Options OPTIONS = new Request.Options();
+    private static final ObjectMapper OBJECT_MAPPER = NemObjectMapper.create();
+
+    private final AnnounceLimiter limiter = new AnnounceLimiter(4, 1, 100, 0.5, 1000, 50);
+
+    @Test
+    void shrinkOnOverloadAndKeepResponseBody() throws IOException {
+        Client client = new AdaptiveAnnounceClient(respond(200, "{\"type\":1,\"code\":5,\"message\":\"FAILURE_TRANSACTION_CACHE_TOO_FULL\"}"), limiter, OBJECT_MAPPER);
+
+        Response response = client.execute(ANNOUNCE, OPTIONS);
+
+        assertEquals(2, limiter.node(NODE).limit());
+        assertEquals(1, limiter.node(NODE).drops());
+        assertEquals(0, limiter.node(NODE).inFlight());
+        assertTrue(new String(Util.toByteArray(response.body().asInputStream()), UTF_8).contains("CACHE_TOO_FULL"));
+
+        new AdaptiveAnnounceClient(respond(503, ""), limiter, OBJECT_MAPPER).execute(ANNOUNCE, OPTIONS);
+        assertEquals(1, limiter.node(NODE).limit());
+    }
+
+    @Test
+    void growWhileLimitIsUsed() throws Exception {
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        Client client = new AdaptiveAnnounceClient((request, options) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return Response.create(200, "OK", emptyMap(), "{\"type\":1,\"code\":1,\"message\":\"SUCCESS\"}", UTF_8);
+        }, limiter, OBJECT_MAPPER);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] calls = new Future<?>[4];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = executor.submit(() -> client.execute(ANNOUNCE, OPTIONS));
+            }
+            started.await();
+            assertEquals(4, limiter.node(NODE).inFlight());
+            assertThrows(AnnounceThrottledException.class, () -> client.execute(ANNOUNCE, OPTIONS));
+
+            release.countDown();
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4, limiter.limits().get(NODE).intValue());
+        assertEquals(0, limiter.node(NODE).inFlight());
+    }
+
+    @Test
+    void dropOnIoErrorAndBypassOtherRequests() throws IOException {
+        Client failing = (request, options) -> {
+            throw new IOException("connection reset");
+        };
+        assertThrows(IOException.class, () -> new AdaptiveAnnounceClient(failing, limiter, OBJECT_MAPPER).execute(ANNOUNCE, OPTIONS));
+        assertEquals(2, limiter.node(NODE).limit());
+
+        Request height = Request.create("GET", "http://" + NODE + "/chain/height", emptyMap(), null, UTF_8);
+        new AdaptiveAnnounceClient(respond(503, ""), limiter, OBJECT_MAPPER).execute(height, OPTIONS);
+        assertEquals(2, limiter.node(NODE).limit());
+    }
+
+    private static Client respond(int status, String body) {
+        return (request, options) -> Response.create(status, "", emptyMap(), body, UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.rosklyar.client.transaction.payout;
+
+import com.github.rosklyar.client.blockchain.domain.block.TransferInfo;
+import com.github.rosklyar.client.fake.FakeChain;
+import com.github.rosklyar.client.fake.Stub;
+import com.github.rosklyar.client.node.NodeClient;
+import com.github.rosklyar.client.node.domain.ExtendedNodeInfo;
+import com.github.rosklyar.client.node.domain.NisInfo;
+import com.github.rosklyar.client.transaction.SecureTransactionClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.confirmation.ConfirmationTracker;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.RequestAnnounce;
+import com.github.rosklyar.client.transaction.domain.SignedTransaction;
+import com.github.rosklyar.client.transaction.encode.ByteArrayTransactionEncoder;
+import com.github.rosklyar.client.transaction.encode.DefaultByteSerializer;
+import com.github.rosklyar.client.transaction.encode.DefaultHexConverter;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static com.github.rosklyar.crypto.Hashes.sha3_256;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PayoutEngineTest {
+
+    private static final int NOW = 100000;
+    private static final String PRIVATE_KEY = "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54";
+    private static final String PAYMENTS = "# recipient,amount,message\n" +
+            "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE,1000000,first\n" +
+            "TDIOE7BZR4J3DXNJ4SL6WOE4HM3QUI3PVUWW3YI3,2000000\n" +
+            "\n" +
+            "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE,3000000,third, with comma\n";
+
+    private final List<RequestAnnounce> announced = new CopyOnWriteArrayList<>();
+    private final FakeChain chain = new FakeChain();
+    private final DefaultHexConverter hexConverter = new DefaultHexConverter();
+    private String announceMessage = "SUCCESS";
+    private volatile boolean include = true;
+    private TransactionClient transactionClient;
+    private Path journalPath;
+
+    @BeforeEach
+    void init() throws IOException {
+        journalPath = Files.createTempFile("payout", ".journal");
+        chain.addBlock(NOW, emptyList());
+        transactionClient = new SecureTransactionClient(
+                TEST,
+                requestAnnounce -> {
+                    announced.add(requestAnnounce);
+                    if ("SUCCESS".equals(announceMessage)) {
+                        mine(requestAnnounce);
+                    }
+                    return NemAnnounceResult.builder().type(1).code("SUCCESS".equals(announceMessage) ? 1 : 5).message(announceMessage).build();
+                },
+                new ByteArrayTransactionEncoder(new DefaultByteSerializer(new DefaultHexConverter()), new DefaultHexConverter()),
+                new DefaultHexConverter(),
+                new DefaultVersionProvider(),
+                new DefaultFeeCalculator(null, null),
+                Stub.of(NodeClient.class)
+                        .on("extendedInfo", args -> new ExtendedNodeInfo(null, NisInfo.builder().currentTime(NOW).build()))
+                        .build()
+        );
+    }
+
+    @Test
+    void skipOnlyConfirmedPayments() throws IOException {
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            include = false;
+            PayoutReport first = run(journal, 2, null, PAYMENTS);
+            assertEquals(new PayoutReport(3, 0, 0, 0, 0, 0), first);
+            assertEquals(3, announced.size());
+
+            include = true;
+            PayoutReport confirmed = run(journal, 2, null, PAYMENTS);
+            assertEquals(new PayoutReport(3, 0, 0, 0, 0, 3), confirmed);
+            assertEquals(new HashSet<>(announced.subList(0, 3)), new HashSet<>(announced.subList(3, 6)));
+            assertEquals(3, journal.replay().completed.cardinality());
+
+            PayoutReport again = run(journal, 2, null, PAYMENTS);
+            assertEquals(new PayoutReport(0, 0, 0, 3, 0, 0), again);
+            assertEquals(6, announced.size());
+        }
+    }
+
+    @Test
+    void skipPaymentsConfirmedBeforeResume() throws IOException {
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            include = false;
+            run(journal, 2, null, PAYMENTS);
+
+            PayoutReport resumed = run(journal, 2, hash -> true, PAYMENTS);
+            assertEquals(new PayoutReport(0, 0, 0, 3, 0, 0), resumed);
+            assertEquals(3, announced.size());
+            assertEquals(3, journal.replay().completed.cardinality());
+        }
+    }
+
+    @Test
+    void signRejectedPaymentAnew() throws IOException {
+        SignedTransaction rejected = transactionClient.signTransferNem(PRIVATE_KEY, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE", 1000000, "rejected", 3600);
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            journal.prepared(0, rejected);
+            journal.announced(0, NemAnnounceResult.builder().type(1).code(5).message("FAILURE_INSUFFICIENT_BALANCE").build());
+
+            PayoutReport report = run(journal, 1, null, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE,1000000,first");
+
+            assertEquals(new PayoutReport(1, 0, 0, 0, 0, 1), report);
+            assertEquals(1, announced.size());
+            assertNotEquals(rejected.requestAnnounce, announced.get(0));
+        }
+    }
+
+    @Test
+    void resumeJournaledPaymentWithSameSignedBytes() throws IOException {
+        SignedTransaction journaled = transactionClient.signTransferNem(PRIVATE_KEY, "TDIOE7BZR4J3DXNJ4SL6WOE4HM3QUI3PVUWW3YI3", 2000000, "", 3600);
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            journal.prepared(1, journaled);
+        }
+        Files.write(journalPath, "P 2 torn".getBytes(), APPEND);
+
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            include = false;
+            PayoutReport report = run(journal, 1, null, PAYMENTS);
+            assertEquals(new PayoutReport(3, 0, 0, 0, 0, 0), report);
+            assertEquals(journaled.requestAnnounce, announced.get(1));
+            assertEquals(3, journal.replay().pendingCount());
+            assertEquals(journaled, journal.replay().pending(1));
+        }
+    }
+
+    @Test
+    void leaveExpiredPaymentUnresolvedWithoutConfirmationCheck() throws IOException {
+        SignedTransaction journaled = transactionClient.signTransferNem(PRIVATE_KEY, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE", 1000000, "first", 3600);
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            journal.prepared(0, journaled);
+            announceMessage = "FAILURE_PAST_DEADLINE";
+            PayoutReport report = run(journal, 1, null, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE,1000000,first");
+            assertEquals(new PayoutReport(0, 0, 0, 0, 1, 0), report);
+            assertEquals(journaled, journal.replay().pending(0));
+        }
+    }
+
+    @Test
+    void reSignExpiredPaymentThatNeverConfirmed() throws IOException {
+        SignedTransaction journaled = transactionClient.signTransferNem(PRIVATE_KEY, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE", 1000000, "first", 3600);
+        try (PayoutJournal journal = new PayoutJournal(journalPath, false)) {
+            journal.prepared(0, journaled);
+            announceMessage = "FAILURE_PAST_DEADLINE";
+            PayoutReport report = run(journal, 1, hash -> false, "TD4F657BT4MDBAJXMOZR37MN5T2CRXQW66MPSONE,1000000,first");
+            assertEquals(new PayoutReport(0, 1, 0, 0, 0, 0), report);
+            assertEquals(2, announced.size());
+        }
+    }
+
+    /**
+     * Runs the engine like a fresh process would, with a tracker that starts at the current end of the chain.
+     */
+    private PayoutReport run(PayoutJournal journal, int maxConcurrency, Predicate<String> confirmed, String payments) {
+        try (ConfirmationTracker confirmationTracker = new ConfirmationTracker(chain, 5)) {
+            confirmationTracker.poll();
+            confirmationTracker.start();
+            return new PayoutEngine(transactionClient, journal, maxConcurrency, confirmationTracker, confirmed)
+                    .run(PRIVATE_KEY, new CsvPaymentReader(new StringReader(payments)), 3600);
+        }
+    }
+
+    /**
+     * Includes an announced transaction in the next block, or lets the next block pass every deadline.
+     */
+    private void mine(RequestAnnounce requestAnnounce) {
+        synchronized (chain) {
+            if (include) {
+                String hash = hexConverter.getString(sha3_256(hexConverter.getBytes(requestAnnounce.data)));
+                chain.addBlock(NOW, singletonList(new TransferInfo(null, hash, null)));
+            } else {
+                chain.addBlock(NOW + 100_000, emptyList());
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.rosklyar.client.transaction.preflight;
+
+import com.github.rosklyar.client.account.AccountClient;
+import com.github.rosklyar.client.account.domain.AccountInfo;
+import com.github.rosklyar.client.account.domain.AccountMetaDataPair;
+import com.github.rosklyar.client.account.domain.mosaic.OwnedMosaic;
+import com.github.rosklyar.client.account.domain.mosaic.OwnedMosaicsResponse;
+import com.github.rosklyar.client.fake.Stub;
+import com.github.rosklyar.client.node.NetworkClock;
+import com.github.rosklyar.client.transaction.SecureTransactionClient;
+import com.github.rosklyar.client.transaction.TransactionClient;
+import com.github.rosklyar.client.transaction.domain.NemAnnounceResult;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicId;
+import com.github.rosklyar.client.transaction.domain.mosaic.MosaicTransfer;
+import com.github.rosklyar.client.transaction.encode.ByteArrayTransactionEncoder;
+import com.github.rosklyar.client.transaction.encode.DefaultByteSerializer;
+import com.github.rosklyar.client.transaction.encode.DefaultHexConverter;
+import com.github.rosklyar.client.transaction.fee.DefaultFeeCalculator;
+import com.github.rosklyar.client.transaction.version.DefaultVersionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.rosklyar.client.DefaultNemClientFactory.TEST;
+import static com.github.rosklyar.client.transaction.preflight.PreflightRule.*;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PreflightValidatorTest {
+
+    private static final String PRIVATE_KEY = "fcf0dadc958510dca65651df81aa22c82b2bfe5b29bf8dfb92816bc5f1f11a54";
+    private static final String RECIPIENT_ADDRESS = "TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65";
+    private static final MosaicId TOKEN = new MosaicId("rosklyar", "token");
+
+    private final AtomicInteger announced = new AtomicInteger();
+    private final AtomicInteger accountLookups = new AtomicInteger();
+    private volatile String announceMessage = "SUCCESS";
+    private volatile int now = 1000;
+    private final NetworkClock clock = () -> now;
+    private final PreflightValidator validator = new PreflightValidator(TEST, clock, new AccountBalanceCache(accountClient(), 60_000), 10_000_000);
+    private final TransactionClient transactionClient = new SecureTransactionClient(
+            TEST,
+            requestAnnounce -> {
+                announced.incrementAndGet();
+                if ("THROW".equals(announceMessage)) {
+                    throw new IllegalStateException("connection reset");
+                }
+                return NemAnnounceResult.builder().type(1).code("SUCCESS".equals(announceMessage) ? 1 : 5).message(announceMessage).build();
+            },
+            new ByteArrayTransactionEncoder(new DefaultByteSerializer(new DefaultHexConverter()), new DefaultHexConverter()),
+            new DefaultHexConverter(),
+            new DefaultVersionProvider(),
+            new DefaultFeeCalculator(null, null),
+            clock,
+            validator
+    );
+
+    @Test
+    void rejectBadRecipientChecksumWithoutAnnouncing() {
+        PreflightException exception = assertThrows(PreflightException.class,
+                () -> transactionClient.transferNem(PRIVATE_KEY, "TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG66", 1_000_000, "", 3600));
+
+        assertEquals(RECIPIENT, exception.rule);
+        assertEquals(0, announced.get());
+        assertEquals(1, validator.failed(RECIPIENT));
+        assertEquals(0, validator.checked(BALANCE));
+    }
+
+    @Test
+    void rejectDeadlineInThePastOrTooFarAhead() {
+        assertEquals(DEADLINE, assertThrows(PreflightException.class, () -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 1_000_000, "", -10)).rule);
+        assertEquals(DEADLINE, assertThrows(PreflightException.class, () -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 1_000_000, "", 2 * 24 * 3600)).rule);
+        assertEquals(2, validator.failed(DEADLINE));
+    }
+
+    @Test
+    void debitCachedBalanceAcrossBurst() {
+        transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+        transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+
+        PreflightException exception = assertThrows(PreflightException.class,
+                () -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600));
+
+        assertEquals(BALANCE, exception.rule);
+        assertEquals(2, announced.get());
+        assertEquals(1, accountLookups.get());
+        assertEquals(3, validator.checked(BALANCE));
+    }
+
+    @Test
+    void releaseReservationWhenNodeDoesNotTakeTransaction() {
+        announceMessage = "FAILURE_INSUFFICIENT_BALANCE";
+        transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+        announceMessage = "THROW";
+        assertThrows(IllegalStateException.class, () -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600));
+
+        announceMessage = "SUCCESS";
+        transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+        transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+
+        assertEquals(BALANCE, assertThrows(PreflightException.class,
+                () -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600)).rule);
+        assertEquals(4, announced.get());
+    }
+
+    @Test
+    void releaseReservationOfTransactionSignedButNeverAnnouncedAfterItsDeadline() {
+        transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 60);
+        transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_001, "", 60);
+        assertEquals(BALANCE, assertThrows(PreflightException.class,
+                () -> transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_002, "", 60)).rule);
+
+        now += 100;
+        transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600);
+        transactionClient.signTransferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_001, "", 3600);
+
+        assertEquals(1, validator.failed(BALANCE));
+        assertEquals(0, announced.get());
+    }
+
+    @Test
+    void reserveBalanceOnceUnderConcurrentTransfers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> transfers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                transfers.add(executor.submit(() -> transactionClient.transferNem(PRIVATE_KEY, RECIPIENT_ADDRESS, 40_000_000, "", 3600)));
+            }
+            for (Future<?> transfer : transfers) {
+                try {
+                    transfer.get();
+                } catch (ExecutionException e) {
+                    assertEquals(BALANCE, ((PreflightException) e.getCause()).rule);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, announced.get());
+        assertEquals(1, accountLookups.get());
+    }
+
+    @Test
+    void rejectMissingMosaicHoldings() {
+        MosaicTransfer token = MosaicTransfer.builder().mosaicId(TOKEN).quantity(30).build();
+
+        validator.validate(check().mosaics(singletonList(token)).build());
+        validator.validate(check().mosaics(singletonList(token)).build());
+        PreflightException exception = assertThrows(PreflightException.class, () -> validator.validate(check().mosaics(singletonList(token)).build()));
+
+        assertEquals(MOSAIC_BALANCE, exception.rule);
+    }
+
+    @Test
+    void rejectNonCanonicalSignatureAndFee() {
+        String nonCanonical = repeat("00", 32) + repeat("ff", 32);
+
+        assertEquals(SIGNATURE, assertThrows(PreflightException.class, () -> validator.validate(check().signature(nonCanonical).build())).rule);
+        assertEquals(FEE, assertThrows(PreflightException.class, () -> validator.validate(check().fee(0).build())).rule);
+        assertEquals(FEE, assertThrows(PreflightException.class, () -> validator.validate(check().minimumFee(100_000).build())).rule);
+        assertEquals(FEE, assertThrows(PreflightException.class, () -> validator.validate(check().fee(20_000_000).build())).rule);
+    }
+
+    private PreflightCheck.PreflightCheckBuilder check() {
+        return PreflightCheck.builder()
+                .account(RECIPIENT_ADDRESS)
+                .fee(50_000)
+                .minimumFee(50_000)
+                .timeStamp(1000)
+                .deadline(4600)
+                .signature(repeat("01", 64));
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private AccountClient accountClient() {
+        return Stub.of(AccountClient.class)
+                .on("getFromAddress", args -> {
+                    accountLookups.incrementAndGet();
+                    return new AccountMetaDataPair(AccountInfo.builder().address((String) args[0]).balance(100_000_000).build(), null);
+                })
+                .on("ownedMosaics", args -> new OwnedMosaicsResponse(singletonList(new OwnedMosaic(TOKEN, 70))))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.rosklyar.client.transaction.queue;
+
+import com.github.rosklyar.client.transaction.TransactionClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import static com.github.rosklyar.client.transaction.queue.Lane.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundTransactionQueueTest {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final List<Lane> dispatched = new CopyOnWriteArrayList<>();
+    private final OutboundTransactionQueue queue = new OutboundTransactionQueue(null, 1, 20);
+
+    @AfterEach
+    void close() {
+        queue.close();
+    }
+
+    @Test
+    void dispatchUrgentLaneByWeight() throws Exception {
+        blockWorker();
+        CompletableFuture<?> last = null;
+        for (int i = 0; i < 10; i++) {
+            last = queue.submit(BULK, record(BULK));
+        }
+        for (int i = 0; i < 10; i++) {
+            queue.submit(URGENT, record(URGENT));
+        }
+        gate.countDown();
+        last.get();
+
+        assertEquals(20, dispatched.size());
+        assertEquals(8, dispatched.subList(0, 9).stream().filter(URGENT::equals).count());
+        assertEquals(URGENT, dispatched.get(0));
+        assertEquals(BULK, dispatched.get(19));
+        assertEquals(10, queue.dispatched(URGENT));
+        assertEquals(10, queue.waitTime(BULK).count());
+    }
+
+    @Test
+    void rejectProducersOfFullLaneOnly() throws Exception {
+        OutboundTransactionQueue small = new OutboundTransactionQueue(null, 1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        small.submit(NORMAL, client -> {
+            started.countDown();
+            await(gate);
+            return null;
+        });
+        started.await();
+        small.submit(BULK, record(BULK));
+        small.submit(BULK, record(BULK));
+
+        assertThrows(QueueFullException.class, () -> small.offer(BULK, record(BULK), 10, MILLISECONDS));
+        CompletableFuture<Object> urgent = small.offer(URGENT, record(URGENT), 10, MILLISECONDS);
+        assertEquals(2, small.depth(BULK));
+        assertEquals(1, small.rejected(BULK));
+
+        gate.countDown();
+        urgent.get();
+        assertEquals(URGENT, dispatched.get(0));
+        small.close();
+    }
+
+    @Test
+    void failFutureWhenCallFails() {
+        CompletableFuture<Object> failed = queue.submit(NORMAL, client -> {
+            throw new IllegalStateException("node down");
+        });
+
+        Exception exception = assertThrows(Exception.class, failed::get);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    private void blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        queue.submit(NORMAL, client -> {
+            started.countDown();
+            await(gate);
+            return null;
+        });
+        started.await();
+    }
+
+    private <T> Function<TransactionClient, T> record(Lane lane) {
+        return client -> {
+            dispatched.add(lane);
+            return null;
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
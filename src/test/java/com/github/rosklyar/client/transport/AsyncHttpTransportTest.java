@@ -0,0 +1,119 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.status.StatusClient;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncHttpTransportTest {
+
+    private HttpServer server;
+    private AsyncHttpTransport transport;
+    private String url;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1000);
+        server.setExecutor(newFixedThreadPool(16));
+        server.createContext("/heartbeat", exchange -> {
+            byte[] body = "{\"code\":1,\"type\":2,\"message\":\"ok\"}".getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/stall", exchange -> {
+            try {
+                release.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        transport = new AsyncHttpTransport(HttpTransportConfig.builder().maxConnectionsPerHost(16).build(), 2);
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        release.countDown();
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void keepThousandRequestsOutstandingWithoutThreadPerRequest() {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        Request request = Request.create("GET", url + "/heartbeat", Collections.emptyMap(), null, UTF_8);
+
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            responses.add(transport.execute(request));
+        }
+        int threadsWhileOutstanding = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        responses.forEach(response -> assertEquals(200, response.join().status()));
+        assertTrue(threadsWhileOutstanding - threadsBefore < 50);
+        assertTrue(transport.availableConnections() <= 16);
+    }
+
+    @Test
+    void serveFeignClients() {
+        StatusClient statusClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build()).simpleStatusClient(url);
+
+        assertEquals(1, statusClient.heartbeat().code);
+        assertEquals(0, transport.leasedConnections());
+    }
+
+    @Test
+    void cancelRequestWhenCallerIsInterrupted() throws Exception {
+        Request request = Request.create("GET", url + "/stall", Collections.emptyMap(), null, UTF_8);
+        CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            try {
+                transport.client().execute(request, transport.options());
+                thrown.complete(null);
+            } catch (Throwable e) {
+                thrown.complete(e);
+            }
+        });
+        caller.start();
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (transport.leasedConnections() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        caller.interrupt();
+
+        assertTrue(thrown.get(5, SECONDS) instanceof InterruptedIOException);
+        release.countDown();
+        while (transport.leasedConnections() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, transport.leasedConnections());
+    }
+}
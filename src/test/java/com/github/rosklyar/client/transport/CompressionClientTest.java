@@ -0,0 +1,116 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.account.domain.importance.ImportanceInfo;
+import com.github.rosklyar.client.blockchain.BlockchainClient;
+import com.github.rosklyar.client.blockchain.domain.block.BlockHeight;
+import com.github.rosklyar.client.metrics.CompressionMetrics;
+import com.github.rosklyar.client.stream.StreamingClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionClientTest {
+
+    private HttpServer server;
+    private HttpTransport transport;
+    private String url;
+    private byte[] blocks;
+
+    @BeforeEach
+    void start() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/payloads/blocks-after.json")) {
+            blocks = Util.toByteArray(in);
+        }
+        StringBuilder importances = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 1000; i++) {
+            importances.append(i == 0 ? "" : ",").append("{\"address\":\"NADDRESS").append(i).append("\",\"importance\":{\"isSet\":0}}");
+        }
+        byte[] importancesBody = importances.append("]}").toString().getBytes(UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/local/chain/blocks-after", exchange -> respond(exchange, blocks));
+        server.createContext("/deflate/account/importances", exchange -> respond(exchange, importancesBody));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+        transport = new HttpTransport();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void inflateGzipResponses() {
+        BlockchainClient blockchainClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build()).simpleBlockchainClient(url);
+
+        assertEquals(10, blockchainClient.blocksAfter(new BlockHeight(1)).data.size());
+
+        CompressionMetrics.Endpoint endpoint = transport.compression().endpoint("POST /local/chain/blocks-after");
+        assertEquals(1, endpoint.compressed());
+        assertEquals(blocks.length, endpoint.decodedBytes());
+        assertTrue(endpoint.ratio() > 1.5);
+    }
+
+    @Test
+    void inflateDeflateResponsesWhileStreaming() {
+        StreamingClient streamingClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build()).simpleStreamingClient(url + "/deflate");
+
+        try (Stream<ImportanceInfo> importances = streamingClient.importances()) {
+            List<String> addresses = importances.map(info -> info.address).collect(toList());
+            assertEquals(1000, addresses.size());
+            assertEquals("NADDRESS999", addresses.get(999));
+        }
+
+        CompressionMetrics.Endpoint endpoint = transport.compression().endpoint("GET /deflate/account/importances");
+        assertEquals(1, endpoint.compressed());
+        assertTrue(endpoint.ratio() > 5);
+    }
+
+    @Test
+    void passThroughUncompressedResponses() {
+        HttpTransport uncompressed = new HttpTransport(HttpTransportConfig.builder().compression(false).build());
+        BlockchainClient blockchainClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(uncompressed).build()).simpleBlockchainClient(url);
+
+        assertEquals(10, blockchainClient.blocksAfter(new BlockHeight(1)).data.size());
+        assertTrue(uncompressed.compression().ratios().isEmpty());
+    }
+
+    // compresses only when asked to, like NIS behind a compressing proxy
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean deflate = exchange.getRequestURI().getPath().startsWith("/deflate");
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (accepted == null || !accepted.contains(deflate ? "deflate" : "gzip")) {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Encoding", deflate ? "deflate" : "gzip");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = deflate ? new DeflaterOutputStream(exchange.getResponseBody()) : new GZIPOutputStream(exchange.getResponseBody())) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.status.StatusClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpTransportTest {
+
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private HttpTransport transport;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/heartbeat", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"code\":1,\"type\":2,\"message\":\"ok\"}".getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        transport = new HttpTransport(HttpTransportConfig.builder().maxConnectionsPerHost(4).build());
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void reuseConnectionsAcrossClients() {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        DefaultNemClientFactory factory = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build());
+        StatusClient first = factory.simpleStatusClient(url);
+        StatusClient second = factory.simpleStatusClient(url);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, first.heartbeat().code);
+            assertEquals(1, second.heartbeat().code);
+        }
+
+        assertEquals(1, connections.size());
+        assertEquals(0, transport.leasedConnections());
+        assertEquals(1, transport.availableConnections());
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.rosklyar.client.transport;
+
+import com.github.rosklyar.client.DefaultNemClientFactory;
+import com.github.rosklyar.client.NemClientFactoryConfig;
+import com.github.rosklyar.client.status.StatusClient;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.HotspotThreadProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Time to complete a burst of {@code requests} heartbeats against a local stub answering after 20ms, through the
+ * blocking pooled transport (one caller thread per outstanding request) and through the NIO transport (all requests
+ * outstanding from one thread). The stub runs in the same JVM on 200 threads. The main method adds the GC profiler
+ * for allocation and the thread profiler for the threads each transport starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int STUB_LATENCY_MILLIS = 20;
+    private static final HttpTransportConfig CONFIG = HttpTransportConfig.builder()
+            .maxConnections(200)
+            .maxConnectionsPerHost(200)
+            .poolTimeoutMillis(600_000)
+            .readTimeoutMillis(600_000)
+            .build();
+
+    @Param({"1000", "10000"})
+    public int requests;
+
+    private ExecutorService stubThreads;
+    private HttpServer server;
+    private HttpTransport transport;
+    private AsyncHttpTransport asyncTransport;
+    private StatusClient statusClient;
+    private Request heartbeat;
+
+    @Setup
+    public void setUp() throws IOException {
+        stubThreads = newFixedThreadPool(200);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10_000);
+        server.setExecutor(stubThreads);
+        server.createContext("/heartbeat", exchange -> {
+            try {
+                Thread.sleep(STUB_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"code\":1,\"type\":2,\"message\":\"ok\"}".getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        transport = new HttpTransport(CONFIG);
+        statusClient = new DefaultNemClientFactory(NemClientFactoryConfig.builder().transport(transport).build()).simpleStatusClient(url);
+        asyncTransport = new AsyncHttpTransport(CONFIG, Runtime.getRuntime().availableProcessors());
+        heartbeat = Request.create("GET", url + "/heartbeat", Collections.emptyMap(), null, UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        transport.close();
+        asyncTransport.close();
+        server.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public void blocking() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    statusClient.heartbeat();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+    }
+
+    @Benchmark
+    public void nonBlocking() {
+        List<CompletableFuture<Response>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(asyncTransport.execute(heartbeat));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .addProfiler(HotspotThreadProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.rosklyar.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AddressEncoderTest {
+
+    private static final int TEST_NETWORK = 0x98;
+
+    @Test
+    void encodeAddressFromPublicKey() {
+        assertEquals("TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65", AddressEncoder.fromPublicKey(TEST_NETWORK, "5f5f2bce1a0911aeec9a594a9f8fc4a80cfa193f4525120f53360389074b9a51"));
+        assertEquals("TBNDMABIECCN6EQY5WVNJZMCXAUVTN7RKGZH4CP4", AddressEncoder.fromPublicKey(TEST_NETWORK, "0d81da60546ccb7b54b59ac8c1e8d2d0008c20bf76770a75b7bd5a853c26797b"));
+    }
+
+    @Test
+    void validateChecksumAndNetwork() {
+        assertTrue(AddressEncoder.isValid("TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65", TEST_NETWORK));
+        assertTrue(AddressEncoder.isValid("TAVNDW-BJFJHZ-YD3YYW-JPDQ34-5ZAZIY-EB2LJX-SG65", TEST_NETWORK));
+        assertFalse(AddressEncoder.isValid("TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG66", TEST_NETWORK));
+        assertFalse(AddressEncoder.isValid("TAVNDWBJFJHZYD3YYWJPDQ345ZAZIYEB2LJXSG65", 0x68));
+        assertFalse(AddressEncoder.isValid("TAVNDWBJ", TEST_NETWORK));
+    }
+}